@@ -0,0 +1,30 @@
+package com.weighlanka.reactive;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Read-only WebFlux variant of the service-record API, for A/B load tests against
+ * the blocking backend. The backend's application.properties comes along with its
+ * jar, so both connect to the same database; the "reactive" profile
+ * (application-reactive.properties) switches the web stack and port.
+ */
+@SpringBootApplication
+public class ReactiveBackendApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveBackendApplication.class)
+                .profiles(PROFILE)
+                .run(args);
+    }
+
+    // Netty even when Tomcat is on the classpath too (the load test runs both stacks in one JVM)
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
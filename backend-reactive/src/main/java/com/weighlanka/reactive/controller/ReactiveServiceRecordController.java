@@ -0,0 +1,89 @@
+package com.weighlanka.reactive.controller;
+
+import com.weighlanka.backend.dto.ServiceTableRow;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.reactive.service.ReactiveServiceRecordService;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read endpoints of the blocking ServiceRecordController with the same paths,
+ * parameters and response bodies, so one load test can run against either.
+ */
+@RestController
+@RequestMapping("/api/service-records")
+@CrossOrigin(origins = "*", exposedHeaders = {"X-Total-Count"})
+public class ReactiveServiceRecordController {
+
+    private static final String TOTAL_COUNT = "X-Total-Count";
+
+    private final ReactiveServiceRecordService service;
+
+    public ReactiveServiceRecordController(ReactiveServiceRecordService service) {
+        this.service = service;
+    }
+
+    // GET ALL – optional paging (page/size) and sort; keyset paging and projections are blocking-only
+    @GetMapping
+    public Mono<ResponseEntity<Flux<ServiceRecord>>> getAllRecords(
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "fields", required = false) List<String> fields,
+            Sort sort) {
+        if (after != null || fields != null) {
+            throw new IllegalArgumentException("after and fields are not supported by the reactive API");
+        }
+        Flux<ServiceRecord> records = service.listRecords(page, size, sort);
+        return service.countRecords()
+                .map(total -> ResponseEntity.ok().header(TOTAL_COUNT, Long.toString(total)).body(records));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ServiceRecord> getRecordById(@PathVariable String id) {
+        return service.getRecordById(id);
+    }
+
+    @GetMapping("/customer/{customerId}")
+    public Flux<ServiceRecord> getByCustomer(@PathVariable String customerId) {
+        return service.getRecordsByCustomer(customerId);
+    }
+
+    @GetMapping("/machine/{machineId}")
+    public Flux<ServiceRecord> getByMachine(@PathVariable String machineId) {
+        return service.getRecordsByMachine(machineId);
+    }
+
+    // Excel-style table for one date
+    @GetMapping("/report")
+    public Flux<ServiceTableRow> getDailyReport(
+            @RequestParam("date")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return service.getDailyReport(date);
+    }
+
+    // Excel-style table for a date range as NDJSON – each row is written as it is
+    // pulled from the cursor, at the pace the client reads
+    @GetMapping(value = "/report/range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ServiceTableRow> getRangeReport(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "technician", required = false) String technician,
+            @RequestParam(value = "location", required = false) String location) {
+
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' must not be before 'from'");
+        }
+        return service.streamReport(from, to, technician, location);
+    }
+}
@@ -0,0 +1,12 @@
+package com.weighlanka.reactive.repository;
+
+import com.weighlanka.backend.model.ServiceRecord;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveServiceRecordRepository extends ReactiveMongoRepository<ServiceRecord, String> {
+
+    Flux<ServiceRecord> findByCustomerId(String customerId);
+
+    Flux<ServiceRecord> findByMachineId(String machineId);
+}
@@ -0,0 +1,13 @@
+package com.weighlanka.reactive.repository;
+
+import com.weighlanka.backend.model.ServiceReportRow;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+public interface ReactiveServiceReportRowRepository extends ReactiveMongoRepository<ServiceReportRow, String> {
+
+    // Daily report – one indexed read, in NO order
+    Flux<ServiceReportRow> findByServiceDateOrderByVisitNoAsc(LocalDate serviceDate);
+}
@@ -0,0 +1,122 @@
+package com.weighlanka.reactive.service;
+
+import com.weighlanka.backend.dto.ServiceTableRow;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.model.ServiceReportRow;
+import com.weighlanka.reactive.repository.ReactiveServiceRecordRepository;
+import com.weighlanka.reactive.repository.ReactiveServiceReportRowRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Reactive counterpart of the read side of ServiceRecordServiceImpl: same queries,
+ * same read model, but every result is a Flux pulled from the Mongo cursor on demand,
+ * so a slow client slows the cursor down instead of filling memory.
+ * Writes stay on the blocking backend, which keeps the read model, machine due dates
+ * and search index in step.
+ */
+@Service
+public class ReactiveServiceRecordService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveServiceRecordRepository repository;
+    private final ReactiveServiceReportRowRepository reportRowRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final int reportBatchSize;
+
+    public ReactiveServiceRecordService(ReactiveServiceRecordRepository repository,
+                                        ReactiveServiceReportRowRepository reportRowRepository,
+                                        ReactiveMongoTemplate mongoTemplate,
+                                        @Value("${weighlanka.report.batch-size:500}") int reportBatchSize) {
+        this.repository = repository;
+        this.reportRowRepository = reportRowRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.reportBatchSize = reportBatchSize;
+    }
+
+    public Mono<ServiceRecord> getRecordById(String id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Service Record not found")));
+    }
+
+    /** Unpaged when both page and size are null, like the blocking list endpoint. */
+    public Flux<ServiceRecord> listRecords(Integer page, Integer size, Sort sort) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(ServiceRecord.class);
+        sort.forEach(order -> {
+            if (entity.getPersistentProperty(order.getProperty()) == null) {
+                throw new IllegalArgumentException("Unknown field: " + order.getProperty());
+            }
+        });
+
+        Query query = new Query();
+        if (page != null || size != null) {
+            int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+            if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+            }
+            int pageNo = page == null ? 0 : page;
+            if (pageNo < 0) {
+                throw new IllegalArgumentException("page must not be negative");
+            }
+            // _id as tie-breaker keeps pages stable when the sort key repeats
+            query.with(PageRequest.of(pageNo, pageSize, sort.and(Sort.by("_id"))));
+        } else {
+            query.with(sort);
+        }
+        return mongoTemplate.find(query, ServiceRecord.class);
+    }
+
+    /** Collection metadata count, as in the blocking X-Total-Count header. */
+    public Mono<Long> countRecords() {
+        return mongoTemplate.estimatedCount(ServiceRecord.class);
+    }
+
+    public Flux<ServiceRecord> getRecordsByCustomer(String customerId) {
+        return repository.findByCustomerId(customerId);
+    }
+
+    public Flux<ServiceRecord> getRecordsByMachine(String machineId) {
+        return repository.findByMachineId(machineId);
+    }
+
+    /** Daily report from the service_report_rows read model. */
+    public Flux<ServiceTableRow> getDailyReport(LocalDate date) {
+        return reportRowRepository.findByServiceDateOrderByVisitNoAsc(date).map(ServiceReportRow::toTableRow);
+    }
+
+    /**
+     * Every service between {@code from} and {@code to} (inclusive), optionally narrowed
+     * to one technician and/or customer location. The driver fetches the next cursor
+     * batch only once downstream has asked for more rows.
+     */
+    public Flux<ServiceTableRow> streamReport(LocalDate from, LocalDate to,
+                                              String technician, String location) {
+        Criteria criteria = Criteria.where("serviceDate").gte(from).lte(to);
+
+        if (technician != null && !technician.isBlank()) {
+            criteria = criteria.and("servicedBy").is(technician);
+        }
+        if (location != null && !location.isBlank()) {
+            criteria = criteria.and("location").is(location);
+        }
+
+        Query query = Query.query(criteria)
+                .with(Sort.by("serviceDate", "visitNo"))
+                .cursorBatchSize(reportBatchSize);
+
+        return mongoTemplate.find(query, ServiceReportRow.class).map(ServiceReportRow::toTableRow);
+    }
+}
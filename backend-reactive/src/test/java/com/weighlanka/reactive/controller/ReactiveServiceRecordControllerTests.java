@@ -0,0 +1,84 @@
+package com.weighlanka.reactive.controller;
+
+import com.weighlanka.backend.dto.ServiceTableRow;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.reactive.service.ReactiveServiceRecordService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveServiceRecordController.class)
+class ReactiveServiceRecordControllerTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @MockitoBean
+    private ReactiveServiceRecordService service;
+
+    @Test
+    void rangeReportIsStreamedAsOneJsonRowPerLine() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 31);
+        when(service.streamReport(from, to, null, null)).thenReturn(Flux.just(row(from, 1), row(from, 2), row(to, 1)));
+
+        String body = client.get().uri("/api/service-records/report/range?from=2024-01-01&to=2024-01-31")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(body.lines()).hasSize(3);
+        assertThat(body.lines().findFirst().orElseThrow()).contains("\"date\":\"2024-01-01\"", "\"invoiceNo\":\"INV-1\"");
+    }
+
+    @Test
+    void rangeReportRejectsReversedRange() {
+        client.get().uri("/api/service-records/report/range?from=2024-02-01&to=2024-01-01")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void listSendsTotalCountHeaderAndBindsPagingAndSort() {
+        ServiceRecord record = new ServiceRecord();
+        record.setId("r1");
+        when(service.listRecords(eq(2), eq(10), any(Sort.class))).thenReturn(Flux.just(record));
+        when(service.countRecords()).thenReturn(Mono.just(125L));
+
+        client.get().uri("/api/service-records?page=2&size=10&sort=serviceDate,desc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Total-Count", "125")
+                .expectBody().jsonPath("$[0].id").isEqualTo("r1");
+    }
+
+    @Test
+    void badListParametersAreBadRequests() {
+        client.get().uri("/api/service-records?after=abc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("after and fields are not supported by the reactive API");
+    }
+
+    private static ServiceTableRow row(LocalDate date, int no) {
+        return new ServiceTableRow(date, no, "INV-" + no, "Perera Stores, Galle", "Galle", "0771234567",
+                "DS-100", "SN" + no, "30kg", null, null, "Nimal");
+    }
+}
@@ -0,0 +1,16 @@
+package com.weighlanka.backend.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine caches for rarely changing entities. Size, TTL and stats are set by
+ * spring.cache.caffeine.spec in application.properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CUSTOMERS = "customers";
+    public static final String MACHINES = "machines";
+}
@@ -0,0 +1,170 @@
+package com.weighlanka.backend.config;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Startup self-check: runs explain() for every derived finder of every Mongo
+ * repository (findByX, countByX, ...) and reports finders whose winning plan
+ * is a collection scan.
+ * <p>
+ * weighlanka.mongo.query-plan-check = warn (default) | fail | off
+ */
+@Component
+public class QueryPlanVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanVerifier.class);
+
+    private final ApplicationContext applicationContext;
+    private final MongoTemplate mongoTemplate;
+    private final String mode;
+
+    public QueryPlanVerifier(ApplicationContext applicationContext,
+                             MongoTemplate mongoTemplate,
+                             @Value("${weighlanka.mongo.query-plan-check:warn}") String mode) {
+        this.applicationContext = applicationContext;
+        this.mongoTemplate = mongoTemplate;
+        this.mode = mode;
+    }
+
+    @Order(2)   // after MongoIndexInitializer
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if ("off".equalsIgnoreCase(mode)) {
+            return;
+        }
+
+        List<String> collectionScans = new ArrayList<>();
+        Repositories repositories = new Repositories(applicationContext);
+
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation info = repositories.getRequiredRepositoryInformation(domainType);
+            MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                    .getPersistentEntity(domainType);
+            if (entity == null) {
+                continue;
+            }
+
+            for (Method method : info.getQueryMethods()) {
+                PartTree tree;
+                try {
+                    tree = new PartTree(method.getName(), domainType);
+                } catch (RuntimeException e) {
+                    continue;   // not a derived query (e.g. @Query)
+                }
+                if (!tree.getParts().iterator().hasNext()) {
+                    continue;   // no filter – a scan is expected
+                }
+
+                String finder = info.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                Document plan;
+                try {
+                    plan = explain(entity, tree);
+                } catch (RuntimeException e) {
+                    if ("fail".equalsIgnoreCase(mode)) {
+                        throw e;
+                    }
+                    log.warn("Could not explain finder={} error={}", finder, e.getMessage());
+                    continue;
+                }
+
+                if (containsStage(plan, "COLLSCAN")) {
+                    collectionScans.add(finder);
+                    log.warn("COLLSCAN finder={} plan={}", finder, plan.toJson());
+                } else {
+                    log.debug("Index used finder={}", finder);
+                }
+            }
+        }
+
+        if (!collectionScans.isEmpty() && "fail".equalsIgnoreCase(mode)) {
+            throw new IllegalStateException("Finders without a usable index: " + collectionScans);
+        }
+    }
+
+    private Document explain(MongoPersistentEntity<?> entity, PartTree tree) {
+        Query query = new Query();
+        for (Part part : tree.getParts()) {
+            query.addCriteria(criteriaFor(part));
+        }
+        query.with(tree.getSort());
+
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        Document filter = mapper.getMappedObject(query.getQueryObject(), entity);
+        Document sort = mapper.getMappedSort(query.getSortObject(), entity);
+
+        Document explained = mongoTemplate.getCollection(entity.getCollection())
+                .find(filter)
+                .sort(sort)
+                .explain();
+
+        Object planner = explained.get("queryPlanner");
+        return planner instanceof Document doc && doc.get("winningPlan") instanceof Document winning
+                ? winning
+                : explained;
+    }
+
+    // A criteria of the right shape with a sample value of the property's type
+    private Criteria criteriaFor(Part part) {
+        PropertyPath path = part.getProperty();
+        Criteria criteria = Criteria.where(path.toDotPath());
+        Object sample = sampleValue(path.getLeafType());
+
+        return switch (part.getType()) {
+            case BETWEEN -> criteria.gte(sample).lte(sample);
+            case GREATER_THAN, AFTER -> criteria.gt(sample);
+            case GREATER_THAN_EQUAL -> criteria.gte(sample);
+            case LESS_THAN, BEFORE -> criteria.lt(sample);
+            case LESS_THAN_EQUAL -> criteria.lte(sample);
+            case IN -> criteria.in(sample);
+            case STARTING_WITH -> criteria.regex("^" + sample);
+            default -> criteria.is(sample);
+        };
+    }
+
+    private Object sampleValue(Class<?> type) {
+        if (type == LocalDate.class) return LocalDate.now();
+        if (type == LocalDateTime.class) return LocalDateTime.now();
+        if (type == ObjectId.class) return new ObjectId();
+        if (type == Boolean.class || type == boolean.class) return Boolean.TRUE;
+        if (Number.class.isAssignableFrom(type) || type.isPrimitive()) return 0;
+        return "sample";
+    }
+
+    private boolean containsStage(Object node, String stage) {
+        if (node instanceof Document doc) {
+            if (stage.equals(doc.get("stage"))) {
+                return true;
+            }
+            return doc.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+}
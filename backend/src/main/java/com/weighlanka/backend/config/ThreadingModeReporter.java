@@ -0,0 +1,34 @@
+package com.weighlanka.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs which threads serve requests, and warns when virtual threads were asked for
+ * on a JVM that cannot provide them (Spring Boot silently stays on platform threads).
+ */
+@Component
+public class ThreadingModeReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    private final boolean virtualRequested;
+
+    public ThreadingModeReporter(@Value("${spring.threads.virtual.enabled:false}") boolean virtualRequested) {
+        this.virtualRequested = virtualRequested;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int java = Runtime.version().feature();
+        if (virtualRequested && java < 21) {
+            log.warn("Virtual threads need Java 21 – running on platform threads java={}", java);
+        } else {
+            log.info("Request threads mode={} java={}", virtualRequested ? "virtual" : "platform", java);
+        }
+    }
+}
@@ -3,11 +3,15 @@ package com.weighlanka.backend.controller;
 import com.weighlanka.backend.dto.AdminLoginRequest;
 import com.weighlanka.backend.dto.ResetPasswordRequest;
 import com.weighlanka.backend.service.AdminService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -18,6 +22,9 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody AdminLoginRequest request) {
         boolean ok = adminService.validateLogin(request.getUsername(), request.getPassword());
@@ -39,4 +46,23 @@ public class AdminController {
         adminService.resetPassword(request.getPassword());
         return ResponseEntity.ok(Map.of("message", "Password updated successfully"));
     }
+
+    // NEW – hit / miss / eviction counters per cache, used to size the caches
+    @GetMapping("/cache-stats")
+    public Map<String, Object> cacheStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (!(cacheManager.getCache(name) instanceof CaffeineCache cache)) continue;
+
+            CacheStats stats = cache.getNativeCache().stats();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", cache.getNativeCache().estimatedSize());
+            entry.put("hits", stats.hitCount());
+            entry.put("misses", stats.missCount());
+            entry.put("hitRate", stats.hitRate());
+            entry.put("evictions", stats.evictionCount());
+            result.put(name, entry);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,21 @@
+package com.weighlanka.backend.controller;
+
+import com.weighlanka.backend.service.InvalidRequestException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    // Bad query parameters (unknown field, invalid cursor, page size ...) – thrown on purpose
+    // by our own validation only, so internal IllegalArgumentExceptions stay 500s
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<?> badRequest(InvalidRequestException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("message", e.getMessage()));
+    }
+}
@@ -1,30 +1,43 @@
 package com.weighlanka.backend.controller;
 
+import com.weighlanka.backend.dto.CustomerOverview;
+import com.weighlanka.backend.dto.ListQuery;
 import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.service.CustomerOverviewService;
 import com.weighlanka.backend.service.CustomerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/customers")
-@CrossOrigin(origins = "*")  // Allow frontend access
+@CrossOrigin(origins = "*", exposedHeaders = {"X-Total-Count", "X-Next-Cursor"})  // Allow frontend access
 public class CustomerController {
 
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private CustomerOverviewService overviewService;
+
     // CREATE
     @PostMapping
     public Customer addCustomer(@RequestBody Customer customer) {
         return customerService.addCustomer(customer);
     }
 
-    // GET ALL
+    // GET ALL – optional paging (page/size or after), sort and fields projection
     @GetMapping
-    public List<Customer> getAllCustomers() {
-        return customerService.getAllCustomers();
+    public ResponseEntity<List<?>> getAllCustomers(
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "fields", required = false) List<String> fields,
+            Sort sort) {
+        return ListResponses.ok(customerService.listCustomers(new ListQuery(page, size, after, sort, fields)));
     }
 
     // GET ONE
@@ -33,6 +46,13 @@ public class CustomerController {
         return customerService.getCustomerById(id);
     }
 
+    // NEW – customer, its machines and their latest services in one response
+    @GetMapping("/{id}/overview")
+    public CustomerOverview getCustomerOverview(@PathVariable String id,
+                                                @RequestParam(value = "historyDepth", required = false) Integer historyDepth) {
+        return overviewService.getOverview(id, historyDepth);
+    }
+
     // UPDATE
     @PutMapping("/{id}")
     public Customer updateCustomer(@PathVariable String id, @RequestBody Customer customer) {
@@ -0,0 +1,26 @@
+package com.weighlanka.backend.controller;
+
+import com.weighlanka.backend.dto.DashboardSummary;
+import com.weighlanka.backend.service.DashboardService;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    // NEW – totals, overdue / upcoming counts, services per month and the two short lists
+    @GetMapping("/summary")
+    public DashboardSummary summary() {
+        return dashboardService.getSummary();
+    }
+}
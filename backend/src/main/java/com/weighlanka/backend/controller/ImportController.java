@@ -0,0 +1,34 @@
+package com.weighlanka.backend.controller;
+
+import com.weighlanka.backend.dto.ImportResult;
+import com.weighlanka.backend.service.ServiceSheetImportService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/import")
+@CrossOrigin(origins = "*")
+public class ImportController {
+
+    private final ServiceSheetImportService importService;
+
+    public ImportController(ServiceSheetImportService importService) {
+        this.importService = importService;
+    }
+
+    // NEW – legacy Excel / CSV service sheets (same columns as the report table)
+    @PostMapping(value = "/service-sheet", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportResult importServiceSheet(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return importService.importSheet(file.getOriginalFilename(), in);
+        }
+    }
+}
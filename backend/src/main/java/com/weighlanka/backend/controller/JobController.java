@@ -0,0 +1,31 @@
+package com.weighlanka.backend.controller;
+
+import com.weighlanka.backend.model.JobRun;
+import com.weighlanka.backend.scheduler.JobRunner;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/jobs")
+@CrossOrigin(origins = "*")
+public class JobController {
+
+    private final JobRunner jobRunner;
+
+    public JobController(JobRunner jobRunner) {
+        this.jobRunner = jobRunner;
+    }
+
+    // NEW – scheduled job history (which instance ran what, when, with which counts)
+    @GetMapping("/runs")
+    public List<JobRun> runs(
+            @RequestParam(value = "job", required = false) String job,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return jobRunner.recentRuns(job, limit);
+    }
+}
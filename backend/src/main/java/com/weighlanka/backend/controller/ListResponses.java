@@ -0,0 +1,27 @@
+package com.weighlanka.backend.controller;
+
+import com.weighlanka.backend.dto.ListPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Body stays a plain JSON array; counts and cursors travel in headers.
+ */
+final class ListResponses {
+
+    static final String TOTAL_COUNT = "X-Total-Count";
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    private ListResponses() {
+    }
+
+    static ResponseEntity<List<?>> ok(ListPage page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .header(TOTAL_COUNT, Long.toString(page.getTotalCount()));
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR, page.getNextCursor());
+        }
+        return builder.body(page.getItems());
+    }
+}
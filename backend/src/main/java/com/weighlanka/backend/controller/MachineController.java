@@ -1,20 +1,30 @@
 package com.weighlanka.backend.controller;
 
+import com.weighlanka.backend.dto.DueMachineGroup;
+import com.weighlanka.backend.dto.ListQuery;
 import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.service.MachineDueDateService;
 import com.weighlanka.backend.service.MachineService;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/machines")
-@CrossOrigin("*")
+@CrossOrigin(origins = "*", exposedHeaders = {"X-Total-Count", "X-Next-Cursor"})
 public class MachineController {
 
     private final MachineService machineService;
+    private final MachineDueDateService dueDateService;
 
-    public MachineController(MachineService machineService) {
+    public MachineController(MachineService machineService, MachineDueDateService dueDateService) {
         this.machineService = machineService;
+        this.dueDateService = dueDateService;
     }
 
     @PostMapping
@@ -22,9 +32,39 @@ public class MachineController {
         return machineService.createMachine(machine);
     }
 
+    // GET ALL – optional paging (page/size or after), sort and fields projection
     @GetMapping
-    public List<Machine> getAllMachines() {
-        return machineService.getAllMachines();
+    public ResponseEntity<List<?>> getAllMachines(
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "fields", required = false) List<String> fields,
+            Sort sort) {
+        return ListResponses.ok(machineService.listMachines(new ListQuery(page, size, after, sort, fields)));
+    }
+
+    // NEW – machines due in the next `days` days (from today unless `from` is given)
+    @GetMapping("/due")
+    public List<Machine> getDueMachines(
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "days", defaultValue = "14") int days) {
+        return dueDateService.findDue(from == null ? LocalDate.now() : from, days);
+    }
+
+    // NEW – same, grouped by customer location for route planning
+    @GetMapping("/due/by-location")
+    public List<DueMachineGroup> getDueMachinesByLocation(
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "days", defaultValue = "14") int days) {
+        return dueDateService.findDueByLocation(from == null ? LocalDate.now() : from, days);
+    }
+
+    // NEW – recompute last/next service dates from service records
+    @PostMapping("/service-dates/resync")
+    public Map<String, Long> resyncServiceDates() {
+        return Map.of("machines", dueDateService.resync());
     }
 
     @GetMapping("/{id}")
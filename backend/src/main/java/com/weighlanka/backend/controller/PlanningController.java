@@ -0,0 +1,28 @@
+package com.weighlanka.backend.controller;
+
+import com.weighlanka.backend.dto.DayPlanRequest;
+import com.weighlanka.backend.dto.DayPlanResult;
+import com.weighlanka.backend.planning.DayPlanService;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/planning")
+@CrossOrigin(origins = "*")
+public class PlanningController {
+
+    private final DayPlanService dayPlanService;
+
+    public PlanningController(DayPlanService dayPlanService) {
+        this.dayPlanService = dayPlanService;
+    }
+
+    // NEW – per-technician day plans for the machines due in a window
+    @PostMapping("/day-plans")
+    public DayPlanResult planDays(@RequestBody DayPlanRequest request) {
+        return dayPlanService.plan(request);
+    }
+}
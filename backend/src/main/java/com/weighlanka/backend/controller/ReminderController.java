@@ -0,0 +1,31 @@
+package com.weighlanka.backend.controller;
+
+import com.weighlanka.backend.dto.ReminderStatusPage;
+import com.weighlanka.backend.service.ReminderStatusService;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/reminders")
+@CrossOrigin(origins = "*")
+public class ReminderController {
+
+    private final ReminderStatusService reminderStatusService;
+
+    public ReminderController(ReminderStatusService reminderStatusService) {
+        this.reminderStatusService = reminderStatusService;
+    }
+
+    // NEW – overdue / urgent / due-soon machines, joined with customer and latest invoice, paged
+    @GetMapping("/status")
+    public ReminderStatusPage status(
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        return reminderStatusService.getStatus(status, q, page, size);
+    }
+}
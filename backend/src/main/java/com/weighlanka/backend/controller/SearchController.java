@@ -0,0 +1,38 @@
+package com.weighlanka.backend.controller;
+
+import com.weighlanka.backend.dto.SearchResult;
+import com.weighlanka.backend.search.SearchIndex;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private final SearchIndex searchIndex;
+
+    public SearchController(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    // NEW – prefix search over customers (name, phone, location) and machines (serial, reg no, id no)
+    @GetMapping
+    public SearchResult search(
+            @RequestParam("q") String q,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return searchIndex.search(q, type, page, size);
+    }
+
+    // NEW – add missing search entries and drop orphaned ones now (also done at startup)
+    @PostMapping("/rebuild")
+    public void rebuild() {
+        searchIndex.rebuild();
+    }
+}
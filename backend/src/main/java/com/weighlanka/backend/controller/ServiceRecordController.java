@@ -1,23 +1,55 @@
 package com.weighlanka.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.weighlanka.backend.dto.BatchResult;
+import com.weighlanka.backend.dto.ListQuery;
 import com.weighlanka.backend.dto.ServiceTableRow;
 import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.service.ReportExportService;
+import com.weighlanka.backend.service.ServiceRecordBatchService;
 import com.weighlanka.backend.service.ServiceRecordService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.data.domain.Sort;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/service-records")
-@CrossOrigin("*")
+@CrossOrigin(origins = "*", exposedHeaders = {"X-Total-Count", "X-Next-Cursor"})
 public class ServiceRecordController {
 
+    private static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
     private final ServiceRecordService service;
+    private final ReportExportService exportService;
+    private final ServiceRecordBatchService batchService;
+    private final ObjectWriter rowWriter;
 
-    public ServiceRecordController(ServiceRecordService service) {
+    public ServiceRecordController(ServiceRecordService service,
+                                   ReportExportService exportService,
+                                   ServiceRecordBatchService batchService,
+                                   ObjectMapper objectMapper) {
         this.service = service;
+        this.exportService = exportService;
+        this.batchService = batchService;
+        this.rowWriter = objectMapper.writerFor(ServiceTableRow.class);
     }
 
     @PostMapping
@@ -25,9 +57,15 @@ public class ServiceRecordController {
         return service.createRecord(record);
     }
 
+    // GET ALL – optional paging (page/size or after), sort and fields projection
     @GetMapping
-    public List<ServiceRecord> getAllRecords() {
-        return service.getAllRecords();
+    public ResponseEntity<List<?>> getAllRecords(
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "fields", required = false) List<String> fields,
+            Sort sort) {
+        return ListResponses.ok(service.listRecords(new ListQuery(page, size, after, sort, fields)));
     }
 
     @GetMapping("/{id}")
@@ -45,6 +83,7 @@ public class ServiceRecordController {
         return service.getRecordsByMachine(machineId);
     }
 
+    // Partial update – null fields keep the stored value (so they cannot be cleared here)
     @PutMapping("/{id}")
     public ServiceRecord updateRecord(
             @PathVariable String id,
@@ -58,6 +97,22 @@ public class ServiceRecordController {
         service.deleteRecord(id);
     }
 
+    // NEW – batch create / update / delete, one bulk write each, per-item status in the body
+    @PostMapping("/batch")
+    public BatchResult createRecords(@RequestBody List<ServiceRecord> records) {
+        return batchService.createRecords(records);
+    }
+
+    @PutMapping("/batch")
+    public BatchResult updateRecords(@RequestBody List<ServiceRecord> records) {
+        return batchService.updateRecords(records);
+    }
+
+    @DeleteMapping("/batch")
+    public BatchResult deleteRecords(@RequestBody List<String> ids) {
+        return batchService.deleteRecords(ids);
+    }
+
     // NEW – Excel-style table for one date
     @GetMapping("/report")
     public List<ServiceTableRow> getDailyReport(
@@ -65,4 +120,81 @@ public class ServiceRecordController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         return service.getDailyReport(date);
     }
+
+    // NEW – Excel-style table for a date range, streamed as NDJSON (one row per line)
+    @GetMapping(value = "/report/range", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> getRangeReport(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "technician", required = false) String technician,
+            @RequestParam(value = "location", required = false) String location) {
+
+        checkRange(from, to);
+
+        StreamingResponseBody body = out -> {
+            try (Stream<ServiceTableRow> rows = service.streamReport(from, to, technician, location)) {
+                rows.forEach(row -> writeLine(out, row));
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    // NEW – recompute the report read model (e.g. after fixing data directly in Mongo)
+    @PostMapping("/report/rebuild")
+    public Map<String, Long> rebuildReport() {
+        return Map.of("rows", service.rebuildReport());
+    }
+
+    // NEW – download the range report as .xlsx or .csv (format=xlsx|csv)
+    @GetMapping("/report/export")
+    public ResponseEntity<StreamingResponseBody> exportReport(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "format", defaultValue = "xlsx") String format,
+            @RequestParam(value = "technician", required = false) String technician,
+            @RequestParam(value = "location", required = false) String location) {
+
+        checkRange(from, to);
+
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"xlsx".equalsIgnoreCase(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be 'xlsx' or 'csv'");
+        }
+
+        StreamingResponseBody body = out -> {
+            try (Stream<ServiceTableRow> rows = service.streamReport(from, to, technician, location)) {
+                if (csv) {
+                    exportService.writeCsv(rows, out);
+                } else {
+                    exportService.writeXlsx(rows, out);
+                }
+            }
+        };
+
+        String fileName = "service-report_" + from + "_" + to + (csv ? ".csv" : ".xlsx");
+
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : XLSX)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' must not be before 'from'");
+        }
+    }
+
+    private void writeLine(OutputStream out, ServiceTableRow row) {
+        try {
+            out.write(rowWriter.writeValueAsBytes(row));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
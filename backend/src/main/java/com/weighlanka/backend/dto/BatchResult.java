@@ -0,0 +1,33 @@
+package com.weighlanka.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batch create / update / delete – one item per request entry, in order.
+ */
+@Data
+public class BatchResult {
+
+    private int succeeded;
+    private int failed;
+    private List<Item> items = new ArrayList<>();
+
+    public void add(Item item) {
+        items.add(item);
+        if (item.getStatus() < 300) succeeded++;
+        else failed++;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Item {
+        private int index;        // position in the request body
+        private String id;
+        private int status;       // HTTP-style: 200, 201, 400, 404, 500
+        private String message;
+    }
+}
@@ -0,0 +1,28 @@
+package com.weighlanka.backend.dto;
+
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A customer with all of its machines and each machine's latest services (newest first).
+ */
+@Data
+@AllArgsConstructor
+public class CustomerOverview {
+
+    private Customer customer;
+    private int historyDepth;
+    private List<MachineHistory> machines;
+
+    @Data
+    @AllArgsConstructor
+    public static class MachineHistory {
+        private Machine machine;
+        private List<ServiceRecord> recentServices;   // at most historyDepth
+    }
+}
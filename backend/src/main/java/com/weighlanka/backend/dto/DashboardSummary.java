@@ -0,0 +1,71 @@
+package com.weighlanka.backend.dto;
+
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything the dashboard shows, in one response.
+ */
+@Data
+public class DashboardSummary {
+
+    private long customers;
+    private long machines;
+    private long serviceRecords;
+    private long overdue;             // machines whose nextServiceDate is before today
+    private long upcoming;            // machines due today .. today + upcomingDays
+    private int upcomingDays;
+
+    private List<MonthCount> servicesPerMonth = new ArrayList<>();   // oldest month first
+    private List<Item> overdueServices = new ArrayList<>();          // one per machine, most recently due first
+    private List<Item> recentServices = new ArrayList<>();           // newest first
+
+    @Data
+    @AllArgsConstructor
+    public static class MonthCount {
+        private String month;          // yyyy-MM
+        private long count;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Item {
+        private String id;
+        private LocalDate serviceDate;
+        private LocalDate nextServiceDate;
+        private String customerName;
+        private String machineLabel;   // model, else serial number
+        private String technicianName;
+        private String invoiceNo;
+
+        public static Item of(ServiceRecord record, Customer customer, Machine machine) {
+            return new Item(
+                    record.getId(),
+                    record.getServiceDate(),
+                    record.getNextServiceDate(),
+                    customer == null ? null : customer.getCustomerName(),
+                    machine == null ? null : machine.getModel() != null ? machine.getModel() : machine.getSerialNumber(),
+                    record.getTechnicianName(),
+                    record.getInvoiceNo());
+        }
+
+        // An overdue machine, with its latest service record (null if it has none)
+        public static Item of(Machine machine, ServiceRecord latest, Customer customer) {
+            return new Item(
+                    latest == null ? machine.getId() : latest.getId(),
+                    machine.getLastServiceDate(),
+                    machine.getNextServiceDate(),
+                    customer == null ? null : customer.getCustomerName(),
+                    machine.getModel() != null ? machine.getModel() : machine.getSerialNumber(),
+                    latest == null ? null : latest.getTechnicianName(),
+                    latest == null ? null : latest.getInvoiceNo());
+        }
+    }
+}
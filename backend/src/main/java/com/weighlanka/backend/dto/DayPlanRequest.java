@@ -0,0 +1,21 @@
+package com.weighlanka.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Input for the technician day planner. Everything but the technicians has a default.
+ */
+@Data
+public class DayPlanRequest {
+
+    private List<String> technicians;   // one plan line per technician per day
+    private LocalDate dueFrom;          // due window start – default today
+    private Integer dueDays;            // due window length – default 14
+    private LocalDate startDate;        // first working day of the plan – default dueFrom
+    private Integer planDays;           // working days to fill – default 5 (Sundays skipped)
+    private Integer visitsPerDay;       // machines one technician services in a day – default 8
+    private String depot;               // town every day starts and ends in – default from config
+}
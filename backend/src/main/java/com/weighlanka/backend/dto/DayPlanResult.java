@@ -0,0 +1,47 @@
+package com.weighlanka.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Technician day plans: each day is a round trip from the depot through its stops.
+ * Machines that could not be planned are listed with the reason.
+ */
+@Data
+public class DayPlanResult {
+
+    private String depot;
+    private int plannedMachines;
+    private double totalKm;
+    private List<DayPlan> days = new ArrayList<>();
+    private List<Skipped> skipped = new ArrayList<>();
+    private long elapsedMs;
+
+    @Data
+    @AllArgsConstructor
+    public static class DayPlan {
+        private String technician;
+        private LocalDate date;
+        private double km;                // including the drive back to the depot
+        private List<Stop> stops;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Stop {
+        private String location;
+        private double kmFromPrevious;
+        private List<DueMachineGroup.Item> machines;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Skipped {
+        private DueMachineGroup.Item machine;
+        private String reason;
+    }
+}
@@ -0,0 +1,53 @@
+package com.weighlanka.backend.dto;
+
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Machines due for service in one customer location ("" = location not set).
+ */
+@Data
+@AllArgsConstructor
+public class DueMachineGroup {
+
+    private String location;
+    private int count;
+    private List<Item> machines;
+
+    public void add(Item item) {
+        machines.add(item);
+        count++;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Item {
+        private String machineId;
+        private String customerId;
+        private String customerName;
+        private String phone;
+        private String model;
+        private String serialNumber;
+        private String regNo;
+        private LocalDate lastServiceDate;
+        private LocalDate nextServiceDate;
+
+        public static Item of(Machine machine, Customer customer) {
+            return new Item(
+                    machine.getId(),
+                    machine.getCustomerId(),
+                    customer == null ? null : customer.getCustomerName(),
+                    customer == null ? null : customer.getPhone(),
+                    machine.getModel(),
+                    machine.getSerialNumber(),
+                    machine.getRegNo(),
+                    machine.getLastServiceDate(),
+                    machine.getNextServiceDate());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.weighlanka.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a sheet import. Only the first errors are listed; errorCount has them all.
+ */
+@Data
+public class ImportResult {
+
+    private long rowsRead;
+    private long recordsImported;
+    private long recordsSkipped;       // already stored (same machine, date and invoice no)
+    private long customersCreated;
+    private long machinesCreated;
+    private long errorCount;
+    private List<RowError> errors = new ArrayList<>();
+    private long elapsedMs;
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;          // row number as shown in Excel
+        private String message;
+    }
+}
@@ -0,0 +1,15 @@
+package com.weighlanka.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ListPage {
+
+    private List<?> items;      // entities, or maps when a projection was requested
+    private long totalCount;    // estimated collection size
+    private String nextCursor;  // pass as ?after= to get the next page (null on last page)
+}
@@ -0,0 +1,26 @@
+package com.weighlanka.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Paging / sorting / projection options of a list endpoint.
+ * With no page, size or after the whole collection is returned (old behaviour).
+ */
+@Data
+@AllArgsConstructor
+public class ListQuery {
+
+    private Integer page;        // offset paging (0-based)
+    private Integer size;        // page size
+    private String after;        // keyset paging: return ids greater than this one
+    private Sort sort;           // e.g. sort=customerName,desc
+    private List<String> fields; // projection, e.g. fields=customerName,phone
+
+    public boolean isPaged() {
+        return page != null || size != null || after != null;
+    }
+}
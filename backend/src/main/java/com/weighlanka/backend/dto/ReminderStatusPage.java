@@ -0,0 +1,43 @@
+package com.weighlanka.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of reminder rows (one per machine, from its latest service). Counts
+ * cover every due machine; total counts the rows matching the status / search filter.
+ */
+@Data
+public class ReminderStatusPage {
+
+    private LocalDate today;
+    private Map<String, Long> counts = new LinkedHashMap<>();   // overdue, urgent, dueSoon
+    private int total;
+    private int page;
+    private int size;
+    private List<Row> rows = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class Row {
+        private String machineId;
+        private String recordId;          // latest service record of the machine
+        private String invoiceNo;
+        private String customerId;
+        private String customerName;
+        private String phone;
+        private String model;
+        private String serialNumber;
+        private String capacity;
+        private LocalDate lastServiceDate;
+        private LocalDate nextServiceDate;
+        private String status;            // overdue | urgent | dueSoon
+        private long daysUntilDue;        // negative when overdue
+    }
+}
@@ -0,0 +1,13 @@
+package com.weighlanka.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RenderedEmail {
+
+    private String subject;
+    private String text;   // plain-text part
+    private String html;   // HTML part (null when the template has none)
+}
@@ -0,0 +1,32 @@
+package com.weighlanka.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of ranked search hits; total counts every match.
+ */
+@Data
+public class SearchResult {
+
+    private String query;
+    private int total;
+    private int page;
+    private int size;
+    private List<Hit> hits = new ArrayList<>();
+    private long elapsedMicros;
+
+    @Data
+    @AllArgsConstructor
+    public static class Hit {
+        private String type;         // "customer" | "machine"
+        private String id;
+        private String label;        // customer name / machine serial (reg no when no serial)
+        private String detail;       // phone · location / model · reg no · id no
+        private String customerId;   // the customer itself, or the machine's owner
+        private int score;
+    }
+}
@@ -1,6 +1,7 @@
 package com.weighlanka.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "admins")
@@ -9,7 +10,9 @@ public class Admin {
     @Id
     private String id;
 
+    @Indexed(unique = true)
     private String username;
+
     private String passwordHash;
 
     public Admin() {
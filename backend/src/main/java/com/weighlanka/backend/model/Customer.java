@@ -2,6 +2,7 @@ package com.weighlanka.backend.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -17,5 +18,9 @@ public class Customer {
     private String email;
 
     // NEW FIELD – for Excel LOCATION column
+    @Indexed                   // range report / planning filter on location
     private String location;   // e.g. "Embilipitiya"
+
+    // Reminder email language: "en" (default), "si" or "ta"
+    private String preferredLanguage;
 }
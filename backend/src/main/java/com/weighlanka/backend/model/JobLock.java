@@ -0,0 +1,23 @@
+package com.weighlanka.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Lease on a scheduled job across backend instances. The job name is the id, so
+ * there is one document per job; whoever moves lockedUntil into the future runs it.
+ */
+@Data
+@Document(collection = "job_locks")
+public class JobLock {
+
+    @Id
+    private String name;
+
+    private Instant lockedUntil;    // free once this has passed
+    private Instant lockedAt;
+    private String lockedBy;        // instance id (pid@host)
+}
@@ -0,0 +1,38 @@
+package com.weighlanka.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One execution of a scheduled job on the instance that held its lock.
+ * Kept for 30 days (TTL index on startedAt).
+ */
+@Data
+@Document(collection = "job_runs")
+@CompoundIndex(name = "job_startedAt", def = "{'job': 1, 'startedAt': -1}")
+public class JobRun {
+
+    public enum Status { RUNNING, SUCCEEDED, FAILED }
+
+    @Id
+    private String id;
+
+    private String job;
+    private String instance;
+    private Status status;
+
+    @Indexed(expireAfter = "30d")
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long durationMs;
+
+    private Map<String, Long> counts = new LinkedHashMap<>();   // e.g. queued, sent, failed
+    private String error;
+}
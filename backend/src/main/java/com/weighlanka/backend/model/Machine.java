@@ -2,6 +2,7 @@ package com.weighlanka.backend.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
@@ -13,6 +14,7 @@ public class Machine {
     @Id
     private String id;
 
+    @Indexed
     private String customerId;      // FK → Customer
 
     private String model;
@@ -20,7 +22,10 @@ public class Machine {
     private LocalDate installedDate;
     private String warranty;
 
+    // kept in step with the newest service record (MachineDueDateService)
     private LocalDate lastServiceDate;
+
+    @Indexed                          // due-date range queries / planning
     private LocalDate nextServiceDate;
 
     // NEW FIELDS – for Excel table
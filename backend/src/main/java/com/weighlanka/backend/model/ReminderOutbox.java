@@ -0,0 +1,38 @@
+package com.weighlanka.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One pending / delivered reminder email. (serviceRecordId, dueDate) is unique,
+ * so enqueueing the same due record twice never produces a second email.
+ */
+@Data
+@Document(collection = "reminder_outbox")
+@CompoundIndex(name = "serviceRecord_dueDate", def = "{'serviceRecordId': 1, 'dueDate': 1}", unique = true)
+@CompoundIndex(name = "status_nextAttemptAt", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class ReminderOutbox {
+
+    public enum Status { PENDING, SENDING, SENT, SKIPPED, FAILED }
+
+    @Id
+    private String id;
+
+    private String serviceRecordId;
+    private LocalDate dueDate;
+
+    private Status status;
+    private int attempts;           // claims so far, including ones whose node died mid-send
+    private String lastError;
+
+    private Instant createdAt;
+    private Instant nextAttemptAt;  // PENDING: not before this time
+    private Instant lockedUntil;    // SENDING: lease held by lockedBy
+    private String lockedBy;
+    private Instant sentAt;
+}
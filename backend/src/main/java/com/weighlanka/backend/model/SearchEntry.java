@@ -0,0 +1,31 @@
+package com.weighlanka.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search document of one customer or machine, kept by SearchIndex.
+ */
+@Data
+@Document(collection = "search_entries")
+// Anchored prefix regex per query word (multikey range scan), optionally per type
+@CompoundIndex(name = "words_type", def = "{'words': 1, 'type': 1}")
+public class SearchEntry {
+
+    @Id
+    private String id;                      // "{type}:{refId}"
+
+    private String type;                    // "customer" | "machine"
+    private String refId;                   // customer / machine id
+    private String label;
+    private String detail;
+    private String customerId;              // the customer itself, or the machine's owner
+
+    private List<String> words;             // lower-case tokens
+    private Map<String, Integer> weights;   // token → field weight, for ranking
+}
@@ -2,12 +2,19 @@ package com.weighlanka.backend.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 
 @Data
 @Document(collection = "service_records")
+// Per-customer / per-machine history, newest first
+@CompoundIndex(name = "customer_serviceDate", def = "{'customerId': 1, 'serviceDate': -1}")
+@CompoundIndex(name = "machine_serviceDate", def = "{'machineId': 1, 'serviceDate': -1}")
+// Daily and range reports (sorted by date, then NO)
+@CompoundIndex(name = "serviceDate_visitNo", def = "{'serviceDate': 1, 'visitNo': 1}")
 public class ServiceRecord {
 
     @Id
@@ -17,13 +24,16 @@ public class ServiceRecord {
     private String machineId;
 
     private LocalDate serviceDate;
+
+    @Indexed                          // reminders look up by due date
     private LocalDate nextServiceDate;
 
     private String technicianName;
     private String remarks;
-    private double serviceCost;
+    private Double serviceCost;       // null = not sent (partial updates leave it alone)
 
     // NEW FIELDS – for Excel table
     private Integer visitNo;   // NO column
+    @Indexed                   // reminders page search (anchored prefix)
     private String invoiceNo;  // INV NO column
 }
@@ -0,0 +1,72 @@
+package com.weighlanka.backend.model;
+
+import com.weighlanka.backend.dto.ServiceTableRow;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Read model for the service report: one document per service record with the
+ * customer and machine columns copied in, so reports are a single indexed read
+ * instead of a three-collection join. Kept up to date by ServiceReportProjection.
+ */
+@Data
+@Document(collection = "service_report_rows")
+// Daily and range reports (sorted by date, then NO)
+@CompoundIndex(name = "serviceDate_visitNo", def = "{'serviceDate': 1, 'visitNo': 1}")
+public class ServiceReportRow {
+
+    @Id
+    private String id;               // same as the ServiceRecord id
+
+    @Indexed                         // fan-out when a customer changes
+    private String customerId;
+    @Indexed                         // fan-out when a machine changes
+    private String machineId;
+
+    private LocalDate serviceDate;   // DATE
+    private Integer visitNo;         // NO
+    private String invoiceNo;        // INV NO
+    private String nameAndAddress;   // NAME & ADDRESS
+    private String location;         // LOCATION
+    private String tel;              // TEL
+    private String model;            // MODEL
+    private String serialNo;         // SERIAL NO
+    private String cap;              // CAP
+    private String regNo;            // REG NO
+    private String idNo;             // ID NO
+    private String servicedBy;       // Serviced By
+
+    private Instant syncedAt;        // last time the row was (re)written from its sources
+
+    public static ServiceReportRow of(ServiceRecord record, ServiceTableRow table, Instant syncedAt) {
+        ServiceReportRow row = new ServiceReportRow();
+        row.setId(record.getId());
+        row.setCustomerId(record.getCustomerId());
+        row.setMachineId(record.getMachineId());
+        row.setServiceDate(table.getDate());
+        row.setVisitNo(table.getNo());
+        row.setInvoiceNo(table.getInvoiceNo());
+        row.setNameAndAddress(table.getNameAndAddress());
+        row.setLocation(table.getLocation());
+        row.setTel(table.getTel());
+        row.setModel(table.getModel());
+        row.setSerialNo(table.getSerialNo());
+        row.setCap(table.getCap());
+        row.setRegNo(table.getRegNo());
+        row.setIdNo(table.getIdNo());
+        row.setServicedBy(table.getServicedBy());
+        row.setSyncedAt(syncedAt);
+        return row;
+    }
+
+    public ServiceTableRow toTableRow() {
+        return new ServiceTableRow(serviceDate, visitNo, invoiceNo, nameAndAddress, location, tel,
+                model, serialNo, cap, regNo, idNo, servicedBy);
+    }
+}
@@ -0,0 +1,154 @@
+package com.weighlanka.backend.planning;
+
+import com.weighlanka.backend.dto.DayPlanRequest;
+import com.weighlanka.backend.dto.DayPlanResult;
+import com.weighlanka.backend.dto.DueMachineGroup;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.service.BulkLookupService;
+import com.weighlanka.backend.service.InvalidRequestException;
+import com.weighlanka.backend.service.MachineDueDateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the machines due in a window into per-technician day plans:
+ * <ol>
+ *   <li>due machines (indexed machine query) are matched to towns through their customer's location</li>
+ *   <li>the most urgent ones that fit (technicians × days × visits per day) are kept</li>
+ *   <li>they are swept into days around the depot and each day is routed as a round trip</li>
+ *   <li>the most urgent days are handed out first, round-robin over the technicians</li>
+ * </ol>
+ */
+@Service
+public class DayPlanService {
+
+    private static final Logger log = LoggerFactory.getLogger(DayPlanService.class);
+
+    private static final int MAX_PLAN_DAYS = 31;
+    private static final int MAX_VISITS_PER_DAY = 50;
+
+    private final MachineDueDateService dueDateService;
+    private final BulkLookupService lookupService;
+    private final LocationDirectory locations;
+    private final RoutePlanner planner;
+    private final String defaultDepot;
+
+    public DayPlanService(MachineDueDateService dueDateService,
+                          BulkLookupService lookupService,
+                          LocationDirectory locations,
+                          RoutePlanner planner,
+                          @Value("${weighlanka.planning.depot:Colombo}") String defaultDepot) {
+        this.dueDateService = dueDateService;
+        this.lookupService = lookupService;
+        this.locations = locations;
+        this.planner = planner;
+        this.defaultDepot = defaultDepot;
+    }
+
+    public DayPlanResult plan(DayPlanRequest request) {
+        long start = System.nanoTime();
+
+        // ----- Validate / defaults -----
+        List<String> technicians = request.getTechnicians() == null ? List.of() : new ArrayList<>(
+                new LinkedHashSet<>(request.getTechnicians().stream()
+                        .filter(t -> t != null && !t.isBlank()).map(String::strip).toList()));
+        if (technicians.isEmpty()) {
+            throw new InvalidRequestException("At least one technician is required");
+        }
+        LocalDate dueFrom = request.getDueFrom() != null ? request.getDueFrom() : LocalDate.now();
+        int dueDays = request.getDueDays() != null ? request.getDueDays() : 14;
+        LocalDate startDate = request.getStartDate() != null ? request.getStartDate() : dueFrom;
+        int planDays = between("planDays", request.getPlanDays(), 5, MAX_PLAN_DAYS);
+        int visitsPerDay = between("visitsPerDay", request.getVisitsPerDay(), 8, MAX_VISITS_PER_DAY);
+        String depotName = request.getDepot() != null && !request.getDepot().isBlank() ? request.getDepot() : defaultDepot;
+        int depot = locations.indexOf(depotName);
+        if (depot < 0) {
+            throw new InvalidRequestException("Unknown depot: " + depotName);
+        }
+
+        DayPlanResult result = new DayPlanResult();
+        result.setDepot(locations.name(depot));
+
+        // ----- Due machines → visits (soonest due first) -----
+        List<Machine> machines = dueDateService.findDue(dueFrom, dueDays);
+        Map<String, Customer> customers = lookupService.customersById(
+                machines.stream().map(Machine::getCustomerId).distinct().toList());
+
+        int capacity = technicians.size() * planDays * visitsPerDay;
+        List<RoutePlanner.Visit<DueMachineGroup.Item>> visits = new ArrayList<>();
+        for (Machine machine : machines) {
+            Customer customer = customers.get(machine.getCustomerId());
+            DueMachineGroup.Item item = DueMachineGroup.Item.of(machine, customer);
+            String town = customer == null ? null : customer.getLocation();
+            int location = locations.indexOf(town);
+            if (location < 0) {
+                result.getSkipped().add(new DayPlanResult.Skipped(item,
+                        town == null || town.isBlank() ? "No customer location" : "Unknown location: " + town));
+            } else if (visits.size() == capacity) {
+                result.getSkipped().add(new DayPlanResult.Skipped(item, "Over capacity"));
+            } else {
+                visits.add(new RoutePlanner.Visit<>(location, machine.getNextServiceDate(), item));
+            }
+        }
+
+        // ----- Cluster, route, hand out -----
+        List<List<RoutePlanner.Visit<DueMachineGroup.Item>>> clusters = planner.cluster(depot, visits, visitsPerDay);
+        clusters.sort(Comparator.comparing(day -> day.stream().map(RoutePlanner.Visit::due).min(Comparator.naturalOrder()).orElseThrow()));
+
+        List<LocalDate> workingDays = workingDays(startDate, planDays);
+        for (int i = 0; i < clusters.size(); i++) {
+            RoutePlanner.Route<DueMachineGroup.Item> route = planner.route(depot, clusters.get(i));
+            List<DayPlanResult.Stop> stops = route.stops().stream()
+                    .map(stop -> new DayPlanResult.Stop(locations.name(stop.location()), round(stop.kmFromPrevious()),
+                            stop.visits().stream().map(RoutePlanner.Visit::item).toList()))
+                    .toList();
+            result.getDays().add(new DayPlanResult.DayPlan(technicians.get(i % technicians.size()),
+                    workingDays.get(i / technicians.size()), round(route.km()), stops));
+            result.setTotalKm(result.getTotalKm() + route.km());
+        }
+        result.getDays().sort(Comparator.comparing(DayPlanResult.DayPlan::getDate)
+                .thenComparing(DayPlanResult.DayPlan::getTechnician));
+
+        result.setPlannedMachines(visits.size());
+        result.setTotalKm(round(result.getTotalKm()));
+        result.setElapsedMs((System.nanoTime() - start) / 1_000_000);
+        log.info("Day plan built depot={} technicians={} due={} planned={} skipped={} days={} km={} in {} ms",
+                result.getDepot(), technicians.size(), machines.size(), visits.size(), result.getSkipped().size(),
+                result.getDays().size(), result.getTotalKm(), result.getElapsedMs());
+        return result;
+    }
+
+    // Working days from start, Sundays off
+    private static List<LocalDate> workingDays(LocalDate start, int count) {
+        List<LocalDate> days = new ArrayList<>(count);
+        for (LocalDate day = start; days.size() < count; day = day.plusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    private static int between(String name, Integer value, int fallback, int max) {
+        int v = value == null ? fallback : value;
+        if (v < 1 || v > max) {
+            throw new InvalidRequestException(name + " must be between 1 and " + max);
+        }
+        return v;
+    }
+
+    private static double round(double km) {
+        return Math.round(km * 10) / 10.0;
+    }
+}
@@ -0,0 +1,114 @@
+package com.weighlanka.backend.planning;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Known towns and the driving distance between every pair of them.
+ * <p>
+ * Coordinates come from a local CSV (name,latitude,longitude – default
+ * classpath:planning/locations.csv). The distance table is built once at startup:
+ * great-circle distance times a road factor, so lookups during planning are an
+ * array read.
+ */
+@Component
+public class LocationDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationDirectory.class);
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<double[]> coordinates = new ArrayList<>();    // {lat, lon} in degrees
+    private final Map<String, Integer> indexByName = new HashMap<>();
+    private final double[][] km;
+
+    public LocationDirectory(@Value("${weighlanka.planning.locations:classpath:planning/locations.csv}") Resource source,
+                             @Value("${weighlanka.planning.road-factor:1.3}") double roadFactor) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("name,")) {
+                    continue;
+                }
+                String[] parts = line.split(",");
+                if (parts.length < 3) {
+                    throw new IllegalStateException("Bad location line: " + line);
+                }
+                indexByName.put(key(parts[0]), names.size());
+                names.add(parts[0].strip());
+                coordinates.add(new double[]{Double.parseDouble(parts[1].strip()), Double.parseDouble(parts[2].strip())});
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load planning locations from " + source, e);
+        }
+
+        int n = names.size();
+        km = new double[n][n];
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                double d = haversineKm(coordinates.get(a), coordinates.get(b)) * roadFactor;
+                km[a][b] = d;
+                km[b][a] = d;
+            }
+        }
+        log.info("Planning locations loaded locations={} roadFactor={}", n, roadFactor);
+    }
+
+    /** Index of a town, or -1 when {@code name} is not in the table. */
+    public int indexOf(String name) {
+        if (name == null) {
+            return -1;
+        }
+        return indexByName.getOrDefault(key(name), -1);
+    }
+
+    public String name(int index) {
+        return names.get(index);
+    }
+
+    public double km(int from, int to) {
+        return km[from][to];
+    }
+
+    public double latitude(int index) {
+        return coordinates.get(index)[0];
+    }
+
+    public double longitude(int index) {
+        return coordinates.get(index)[1];
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    private static String key(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static double haversineKm(double[] a, double[] b) {
+        double dLat = Math.toRadians(b[0] - a[0]);
+        double dLon = Math.toRadians(b[1] - a[1]);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(a[0])) * Math.cos(Math.toRadians(b[0]))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(h));
+    }
+}
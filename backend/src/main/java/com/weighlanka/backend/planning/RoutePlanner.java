@@ -0,0 +1,158 @@
+package com.weighlanka.backend.planning;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Route-first heuristics for technician days, working on town indexes of the
+ * {@link LocationDirectory}:
+ * <ul>
+ *   <li>{@link #cluster} – sweep: visits are ordered by bearing from the depot and cut
+ *       into days of at most {@code capacity} visits, so each day covers one "slice"
+ *       of the country</li>
+ *   <li>{@link #route} – orders one day's towns as a round trip from the depot:
+ *       nearest neighbour, then 2-opt until no swap shortens it</li>
+ * </ul>
+ * Both are O(n log n) / O(towns²) per day, fast enough for thousands of visits.
+ */
+@Component
+public class RoutePlanner {
+
+    private final LocationDirectory locations;
+
+    public RoutePlanner(LocationDirectory locations) {
+        this.locations = locations;
+    }
+
+    public record Visit<T>(int location, LocalDate due, T item) {}
+
+    public record Stop<T>(int location, double kmFromPrevious, List<Visit<T>> visits) {}
+
+    public record Route<T>(List<Stop<T>> stops, double km) {}
+
+    // ----- Clustering (sweep) -----
+
+    public <T> List<List<Visit<T>>> cluster(int depot, List<Visit<T>> visits, int capacity) {
+        if (visits.isEmpty()) {
+            return List.of();
+        }
+
+        double[] bearing = new double[locations.size()];
+        double cosLat = Math.cos(Math.toRadians(locations.latitude(depot)));
+        for (int i = 0; i < bearing.length; i++) {
+            bearing[i] = Math.atan2(locations.latitude(i) - locations.latitude(depot),
+                    (locations.longitude(i) - locations.longitude(depot)) * cosLat);
+        }
+
+        List<Visit<T>> sorted = new ArrayList<>(visits);
+        sorted.sort(Comparator.<Visit<T>>comparingDouble(v -> bearing[v.location()])
+                .thenComparingDouble(v -> locations.km(depot, v.location()))
+                .thenComparingInt(Visit::location)
+                .thenComparing(Visit::due));
+
+        // start the sweep after the widest empty sector, so no dense area is cut in two
+        int start = 0;
+        double widestGap = -1;
+        for (int i = 0; i < sorted.size(); i++) {
+            double previous = bearing[sorted.get((i - 1 + sorted.size()) % sorted.size()).location()];
+            double gap = bearing[sorted.get(i).location()] - previous;
+            if (gap <= 0) gap += 2 * Math.PI;
+            if (gap > widestGap && gap < 2 * Math.PI) {
+                widestGap = gap;
+                start = i;
+            }
+        }
+
+        List<List<Visit<T>>> days = new ArrayList<>();
+        List<Visit<T>> day = new ArrayList<>(capacity);
+        for (int i = 0; i < sorted.size(); i++) {
+            day.add(sorted.get((start + i) % sorted.size()));
+            if (day.size() == capacity) {
+                days.add(day);
+                day = new ArrayList<>(capacity);
+            }
+        }
+        if (!day.isEmpty()) {
+            days.add(day);
+        }
+        return days;
+    }
+
+    // ----- Routing (nearest neighbour + 2-opt) -----
+
+    public <T> Route<T> route(int depot, List<Visit<T>> visits) {
+        Map<Integer, List<Visit<T>>> byTown = new LinkedHashMap<>();
+        for (Visit<T> visit : visits) {
+            byTown.computeIfAbsent(visit.location(), l -> new ArrayList<>()).add(visit);
+        }
+
+        int[] tour = nearestNeighbour(depot, byTown.keySet().stream().mapToInt(Integer::intValue).toArray());
+        twoOpt(tour);
+
+        List<Stop<T>> stops = new ArrayList<>(tour.length - 2);
+        double total = 0;
+        for (int i = 1; i < tour.length - 1; i++) {
+            double leg = locations.km(tour[i - 1], tour[i]);
+            total += leg;
+            List<Visit<T>> atTown = byTown.get(tour[i]);
+            atTown.sort(Comparator.comparing(Visit::due));
+            stops.add(new Stop<>(tour[i], leg, atTown));
+        }
+        if (tour.length > 2) {
+            total += locations.km(tour[tour.length - 2], depot);   // drive home
+        }
+        return new Route<>(stops, total);
+    }
+
+    // Closed tour depot → towns → depot; depot fixed at both ends
+    private int[] nearestNeighbour(int depot, int[] towns) {
+        int[] tour = new int[towns.length + 2];
+        boolean[] used = new boolean[towns.length];
+        tour[0] = depot;
+        int current = depot;
+        for (int step = 1; step <= towns.length; step++) {
+            int best = -1;
+            for (int j = 0; j < towns.length; j++) {
+                if (!used[j] && (best < 0 || locations.km(current, towns[j]) < locations.km(current, towns[best]))) {
+                    best = j;
+                }
+            }
+            used[best] = true;
+            current = towns[best];
+            tour[step] = current;
+        }
+        tour[tour.length - 1] = depot;
+        return tour;
+    }
+
+    private void twoOpt(int[] tour) {
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 1; i < tour.length - 2; i++) {
+                for (int k = i + 1; k < tour.length - 1; k++) {
+                    double delta = locations.km(tour[i - 1], tour[k]) + locations.km(tour[i], tour[k + 1])
+                            - locations.km(tour[i - 1], tour[i]) - locations.km(tour[k], tour[k + 1]);
+                    if (delta < -1e-9) {
+                        reverse(tour, i, k);
+                        improved = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int t = tour[from];
+            tour[from++] = tour[to];
+            tour[to--] = t;
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.weighlanka.backend.repository;
 
 import com.weighlanka.backend.model.Machine;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDate;
 import java.util.List;
 
 public interface MachineRepository extends MongoRepository<Machine, String> {
 
     List<Machine> findByCustomerId(String customerId);  // REQUIRED for Option 1
+
+    // Machines due for service in a date range (inclusive bounds via Range.closed)
+    List<Machine> findByNextServiceDateBetween(Range<LocalDate> nextServiceDate, Sort sort);
 }
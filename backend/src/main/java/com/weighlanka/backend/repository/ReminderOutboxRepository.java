@@ -0,0 +1,9 @@
+package com.weighlanka.backend.repository;
+
+import com.weighlanka.backend.model.ReminderOutbox;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ReminderOutboxRepository extends MongoRepository<ReminderOutbox, String> {
+
+    long countByStatus(ReminderOutbox.Status status);
+}
@@ -1,6 +1,7 @@
 package com.weighlanka.backend.repository;
 
 import com.weighlanka.backend.model.ServiceRecord;
+import org.springframework.data.domain.Range;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.time.LocalDate;
@@ -15,6 +16,9 @@ public interface ServiceRecordRepository extends MongoRepository<ServiceRecord,
     // Used by ReminderScheduler to find due reminders
     List<ServiceRecord> findByNextServiceDate(LocalDate nextServiceDate);
 
+    // Used by the reminder outbox to catch up on missed days (inclusive range)
+    List<ServiceRecord> findByNextServiceDateBetween(Range<LocalDate> nextServiceDate);
+
     // Used by report endpoint
     List<ServiceRecord> findByServiceDate(LocalDate serviceDate);
 }
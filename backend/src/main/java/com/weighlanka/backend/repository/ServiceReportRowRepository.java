@@ -0,0 +1,13 @@
+package com.weighlanka.backend.repository;
+
+import com.weighlanka.backend.model.ServiceReportRow;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ServiceReportRowRepository extends MongoRepository<ServiceReportRow, String> {
+
+    // Daily report – one indexed read, in NO order
+    List<ServiceReportRow> findByServiceDateOrderByVisitNoAsc(LocalDate serviceDate);
+}
@@ -0,0 +1,22 @@
+package com.weighlanka.backend.scheduler;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+@AllArgsConstructor
+public class DispatchSummary {
+
+    private int sent;
+    private int failed;
+    private int skipped;      // missing customer / machine / email address
+    private Duration elapsed;
+
+    @Override
+    public String toString() {
+        return "sent=" + sent + ", failed=" + failed + ", skipped=" + skipped
+                + ", elapsed=" + elapsed.toMillis() + "ms";
+    }
+}
@@ -0,0 +1,78 @@
+package com.weighlanka.backend.scheduler;
+
+import com.weighlanka.backend.model.JobLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Mongo lease per scheduled job (one job_locks document each), so a job fires on
+ * one instance only even when every instance schedules it.
+ * <ul>
+ *   <li>taking the lock is one upsert that only matches an expired lease; if the lease
+ *       is held the upsert tries to insert a second document with the same id and
+ *       fails on the _id index – nobody waits, the loser just skips the run</li>
+ *   <li>a crashed holder's lease expires after lockAtMostFor</li>
+ *   <li>on release the lease is kept for at least lockAtLeastFor, so an instance whose
+ *       clock is a little behind does not run the same trigger again</li>
+ * </ul>
+ */
+@Service
+public class JobLockService {
+
+    private final MongoTemplate mongoTemplate;
+    private final String instanceId;
+
+    @Autowired
+    public JobLockService(MongoTemplate mongoTemplate) {
+        this(mongoTemplate, ManagementFactory.getRuntimeMXBean().getName());
+    }
+
+    // tests stand in for several instances sharing one database
+    JobLockService(MongoTemplate mongoTemplate, String instanceId) {
+        this.mongoTemplate = mongoTemplate;
+        this.instanceId = instanceId;
+    }
+
+    public record Lease(String job, Instant lockedAt) {}
+
+    /** @return the lease, or null when another run (here or elsewhere) holds the job */
+    public Lease tryLock(String job, Duration lockAtMostFor) {
+        Instant now = Instant.now();
+        Query expired = Query.query(Criteria.where("_id").is(job).and("lockedUntil").lte(now));
+        Update take = new Update()
+                .set("lockedUntil", now.plus(lockAtMostFor))
+                .set("lockedAt", now)
+                .set("lockedBy", instanceId);
+        try {
+            mongoTemplate.upsert(expired, take, JobLock.class);
+            return new Lease(job, now);
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    /** Give the lease back – only if it is still ours (it may have expired and been taken). */
+    public void unlock(Lease lease, Duration lockAtLeastFor) {
+        Instant earliest = lease.lockedAt().plus(lockAtLeastFor);
+        Instant now = Instant.now();
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(lease.job())
+                        .and("lockedBy").is(instanceId)
+                        .and("lockedAt").is(lease.lockedAt())),
+                Update.update("lockedUntil", earliest.isAfter(now) ? earliest : now),
+                JobLock.class);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+}
@@ -0,0 +1,139 @@
+package com.weighlanka.backend.scheduler;
+
+import com.weighlanka.backend.model.JobRun;
+import com.weighlanka.backend.service.InvalidRequestException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs cluster-wide scheduled jobs:
+ * <ul>
+ *   <li>{@link #submit} hands the job to a small dedicated pool and returns at once,
+ *       so the scheduler thread is never held by reminder work</li>
+ *   <li>the job runs only on the instance that gets its {@link JobLockService} lease</li>
+ *   <li>every run is written to job_runs (start, end, status, counts) for operations;
+ *       {@link #submitQuiet} jobs only when they failed or counted something, so a
+ *       frequent poller does not bury the daily runs</li>
+ * </ul>
+ */
+@Component
+public class JobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(JobRunner.class);
+
+    private static final int MAX_HISTORY = 500;
+
+    private final JobLockService lockService;
+    private final MongoTemplate mongoTemplate;
+    private final ExecutorService pool;
+    private final Duration lockAtMostFor;
+    private final Duration lockAtLeastFor;
+
+    public JobRunner(JobLockService lockService,
+                     MongoTemplate mongoTemplate,
+                     @Value("${weighlanka.jobs.threads:2}") int threads,
+                     @Value("${weighlanka.jobs.lock-at-most-for:PT30M}") Duration lockAtMostFor,
+                     @Value("${weighlanka.jobs.lock-at-least-for:PT30S}") Duration lockAtLeastFor) {
+        this.lockService = lockService;
+        this.mongoTemplate = mongoTemplate;
+        this.pool = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("job-"));
+        this.lockAtMostFor = lockAtMostFor;
+        this.lockAtLeastFor = lockAtLeastFor;
+    }
+
+    /** Queue {@code work} (returning its counts) to run once cluster-wide; returns immediately. */
+    public void submit(String job, Supplier<Map<String, Long>> work) {
+        pool.execute(() -> run(job, work, false));
+    }
+
+    /** As {@link #submit}, but a successful run whose counts are all zero leaves no job_runs row. */
+    public void submitQuiet(String job, Supplier<Map<String, Long>> work) {
+        pool.execute(() -> run(job, work, true));
+    }
+
+    private void run(String job, Supplier<Map<String, Long>> work, boolean quiet) {
+        JobLockService.Lease lease;
+        try {
+            lease = lockService.tryLock(job, lockAtMostFor);
+        } catch (DataAccessException e) {
+            log.error("Could not lock job={} error={}", job, e.getMessage());
+            return;
+        }
+        if (lease == null) {
+            log.debug("Job skipped, lock held elsewhere job={}", job);
+            return;
+        }
+
+        JobRun run = new JobRun();
+        run.setJob(job);
+        run.setInstance(lockService.getInstanceId());
+        run.setStatus(JobRun.Status.RUNNING);
+        run.setStartedAt(lease.lockedAt());
+        try {
+            if (!quiet) {
+                run = mongoTemplate.insert(run);
+            }
+
+            Map<String, Long> counts = work.get();
+            if (counts != null) {
+                run.getCounts().putAll(counts);
+            }
+            run.setStatus(JobRun.Status.SUCCEEDED);
+        } catch (RuntimeException e) {
+            run.setStatus(JobRun.Status.FAILED);
+            run.setError(e.getMessage());
+            log.error("Job failed job={} error={}", job, e.getMessage(), e);
+        } finally {
+            Instant finished = Instant.now();
+            run.setFinishedAt(finished);
+            run.setDurationMs(Duration.between(run.getStartedAt(), finished).toMillis());
+            try {
+                if (!quiet || !idle(run)) {
+                    mongoTemplate.save(run);
+                }
+                lockService.unlock(lease, lockAtLeastFor);
+            } catch (DataAccessException e) {
+                // the lease still expires after lockAtMostFor
+                log.error("Could not finish job run job={} error={}", job, e.getMessage());
+            }
+        }
+    }
+
+    private static boolean idle(JobRun run) {
+        return run.getStatus() == JobRun.Status.SUCCEEDED
+                && run.getCounts().values().stream().allMatch(count -> count == null || count == 0);
+    }
+
+    /** Latest runs first, optionally of one job. */
+    public List<JobRun> recentRuns(String job, int limit) {
+        if (limit < 1 || limit > MAX_HISTORY) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_HISTORY);
+        }
+        Query query = job == null || job.isBlank()
+                ? new Query()
+                : Query.query(Criteria.where("job").is(job));
+        return mongoTemplate.find(query.with(Sort.by(Sort.Direction.DESC, "startedAt")).limit(limit), JobRun.class);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
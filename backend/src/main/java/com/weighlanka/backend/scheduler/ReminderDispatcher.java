@@ -0,0 +1,274 @@
+package com.weighlanka.backend.scheduler;
+
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.service.BulkLookupService;
+import com.weighlanka.backend.service.EmailService;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Sends reminder emails for a batch of due service records.
+ * <ul>
+ *   <li>customers and machines are prefetched in bulk (cache first, then one findAllById each)</li>
+ *   <li>emails go out in SMTP batches (one connection each) on a bounded worker pool
+ *       (virtual threads when enabled on Java 21)</li>
+ *   <li>each SMTP host is rate limited</li>
+ *   <li>transient failures are retried with exponential backoff</li>
+ * </ul>
+ */
+@Component
+public class ReminderDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderDispatcher.class);
+
+    // UNKNOWN: the run was interrupted before this message's batch reported back – it may
+    // or may not have gone out, so it must not be treated as a failure and sent again at once
+    public enum Outcome { SENT, FAILED, SKIPPED, UNKNOWN }
+
+    private final BulkLookupService lookupService;
+    private final EmailService emailService;
+    private final SmtpRateLimiter rateLimiter;
+    private final String smtpHost;
+
+    private final int workers;
+    private final boolean virtualThreads;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+
+    public ReminderDispatcher(BulkLookupService lookupService,
+                              EmailService emailService,
+                              JavaMailSender mailSender,
+                              @Value("${weighlanka.reminders.workers:8}") int workers,
+                              @Value("${weighlanka.reminders.virtual-threads:false}") boolean virtualThreads,
+                              @Value("${weighlanka.reminders.rate-per-second:5}") double ratePerSecond,
+                              @Value("${weighlanka.reminders.max-attempts:3}") int maxAttempts,
+                              @Value("${weighlanka.reminders.initial-backoff-ms:1000}") long initialBackoffMillis) {
+        this.lookupService = lookupService;
+        this.emailService = emailService;
+        this.rateLimiter = new SmtpRateLimiter(ratePerSecond);
+        this.smtpHost = mailSender instanceof JavaMailSenderImpl impl && impl.getHost() != null
+                ? impl.getHost()
+                : "default";
+        this.workers = workers;
+        this.virtualThreads = virtualThreads;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    public DispatchSummary dispatch(List<ServiceRecord> dueRecords) {
+        long start = System.nanoTime();
+
+        int sent = 0, failed = 0, skipped = 0;
+        for (Outcome outcome : deliverAll(dueRecords)) {
+            switch (outcome) {
+                case SENT -> sent++;
+                case FAILED -> failed++;
+                case SKIPPED -> skipped++;
+                case UNKNOWN -> { }     // interrupted – neither sent nor failed as far as we know
+            }
+        }
+
+        return new DispatchSummary(sent, failed, skipped, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Deliver one reminder per record; outcomes are returned in the same order as the records.
+     */
+    public List<Outcome> deliverAll(List<ServiceRecord> dueRecords) {
+
+        // ----- Prefetch customers and machines -----
+        Set<String> customerIds = new HashSet<>();
+        Set<String> machineIds = new HashSet<>();
+        for (ServiceRecord record : dueRecords) {
+            if (record.getCustomerId() != null) customerIds.add(record.getCustomerId());
+            if (record.getMachineId() != null) machineIds.add(record.getMachineId());
+        }
+
+        Map<String, Customer> customers = lookupService.customersById(customerIds);
+        Map<String, Machine> machines = lookupService.machinesById(machineIds);
+
+        // ----- Build messages, skip what cannot be sent -----
+        Outcome[] outcomes = new Outcome[dueRecords.size()];
+        List<MimeMessage> messages = new ArrayList<>();
+        List<Integer> messageIndex = new ArrayList<>();
+
+        for (int i = 0; i < dueRecords.size(); i++) {
+            ServiceRecord record = dueRecords.get(i);
+            Customer customer = customers.get(record.getCustomerId());
+            Machine machine = machines.get(record.getMachineId());
+
+            if (customer == null) {
+                log.warn("Reminder skipped, customer not found customerId={}", record.getCustomerId());
+                outcomes[i] = Outcome.SKIPPED;
+            } else if (machine == null) {
+                log.warn("Reminder skipped, machine not found machineId={}", record.getMachineId());
+                outcomes[i] = Outcome.SKIPPED;
+            } else if (customer.getEmail() == null || customer.getEmail().isBlank()) {
+                log.warn("Reminder skipped, no email address customerId={}", customer.getId());
+                outcomes[i] = Outcome.SKIPPED;
+            } else {
+                try {
+                    messages.add(emailService.buildYearlyReminder(customer, machine, record.getNextServiceDate()));
+                    messageIndex.add(i);
+                } catch (MailException e) {
+                    log.error("Could not build reminder to={} error={}", customer.getEmail(), e.getMessage());
+                    outcomes[i] = Outcome.FAILED;
+                }
+            }
+        }
+
+        // ----- Fan out: one task per SMTP batch -----
+        int batchSize = emailService.getBatchSize();
+        Semaphore inFlight = new Semaphore(workers);
+        List<Future<Set<MimeMessage>>> futures = new ArrayList<>();
+        List<Integer> batchStarts = new ArrayList<>();
+
+        ExecutorService pool = newPool();
+        try {
+            for (int from = 0; from < messages.size(); from += batchSize) {
+                List<MimeMessage> batch = messages.subList(from, Math.min(from + batchSize, messages.size()));
+                batchStarts.add(from);
+                futures.add(pool.submit(() -> {
+                    inFlight.acquire();
+                    try {
+                        return sendWithRetry(batch);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            boolean interrupted = false;
+            for (int b = 0; b < futures.size(); b++) {
+                int from = batchStarts.get(b);
+                int to = Math.min(from + batchSize, messages.size());
+                Future<Set<MimeMessage>> future = futures.get(b);
+
+                if (!interrupted) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        // the batch finished – handled below
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        pool.shutdownNow();
+                        interrupted = true;
+                    }
+                }
+
+                Set<MimeMessage> failed = null;
+                Outcome whole = Outcome.FAILED;
+                if (!future.isDone() || future.isCancelled()) {
+                    whole = Outcome.UNKNOWN;    // still sending or never started when interrupted
+                } else {
+                    try {
+                        failed = future.get();      // done – does not block
+                    } catch (ExecutionException e) {
+                        // stopped mid-send by the interrupt: some of the batch may have gone out
+                        if (e.getCause() instanceof InterruptedException) {
+                            whole = Outcome.UNKNOWN;
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        whole = Outcome.UNKNOWN;
+                    }
+                }
+
+                for (int m = from; m < to; m++) {
+                    outcomes[messageIndex.get(m)] = failed == null ? whole
+                            : failed.contains(messages.get(m)) ? Outcome.FAILED : Outcome.SENT;
+                }
+            }
+            return Arrays.asList(outcomes);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Send one batch over one SMTP connection; retry the failed part with backoff.
+    // Returns the messages that finally failed.
+    private Set<MimeMessage> sendWithRetry(List<MimeMessage> batch) throws InterruptedException {
+        Set<MimeMessage> finallyFailed = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<MimeMessage> pending = batch;
+        long backoff = initialBackoffMillis;
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            rateLimiter.acquire(smtpHost, pending.size());
+            Map<MimeMessage, Exception> failures = emailService.sendBatch(pending);
+
+            List<MimeMessage> retry = new ArrayList<>();
+            for (MimeMessage message : pending) {
+                Exception cause = failures.get(message);
+                if (cause == null) {
+                    continue;
+                }
+                // parse/authentication errors are not going to succeed on retry
+                boolean permanent = cause instanceof MailParseException || cause instanceof MailAuthenticationException;
+                if (permanent || attempt >= maxAttempts) {
+                    log.error("Reminder failed to={} attempts={} error={}", recipients(message), attempt, cause.getMessage());
+                    finallyFailed.add(message);
+                } else {
+                    retry.add(message);
+                }
+            }
+
+            log.info("Reminder batch sent={} retry={}", pending.size() - failures.size(), retry.size());
+
+            if (!retry.isEmpty()) {
+                Thread.sleep(backoff);
+                backoff *= 2;
+            }
+            pending = retry;
+        }
+        return finallyFailed;
+    }
+
+    private static String recipients(MimeMessage message) {
+        try {
+            return Arrays.toString(message.getAllRecipients());
+        } catch (MessagingException e) {
+            return "?";
+        }
+    }
+
+    private ExecutorService newPool() {
+        if (virtualThreads) {
+            try {
+                // Java 21+: one virtual thread per task, concurrency still bounded by the semaphore
+                return (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads need Java 21 – falling back to a platform pool");
+            }
+        }
+        return Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("reminder-worker-"));
+    }
+}
@@ -0,0 +1,245 @@
+package com.weighlanka.backend.scheduler;
+
+import com.weighlanka.backend.model.ReminderOutbox;
+import com.weighlanka.backend.model.ReminderOutbox.Status;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.repository.ReminderOutboxRepository;
+import com.weighlanka.backend.repository.ServiceRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mongo-backed outbox for reminder emails.
+ * <p>
+ * {@link #enqueueDue} turns due service records into outbox entries (idempotent,
+ * keyed by serviceRecordId + dueDate, with a look-back window so days missed
+ * during downtime are picked up). {@link #drain} claims pending entries in
+ * batches under a lease, sends them and records the result.
+ */
+@Service
+public class ReminderOutboxService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ServiceRecordRepository serviceRecordRepository;
+    private final ReminderOutboxRepository outboxRepository;
+    private final ReminderDispatcher dispatcher;
+
+    private final int catchUpDays;
+    private final int batchSize;
+    private final int maxDeliveryAttempts;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+
+    public ReminderOutboxService(MongoTemplate mongoTemplate,
+                                 ServiceRecordRepository serviceRecordRepository,
+                                 ReminderOutboxRepository outboxRepository,
+                                 ReminderDispatcher dispatcher,
+                                 @Value("${weighlanka.reminders.outbox.catch-up-days:7}") int catchUpDays,
+                                 @Value("${weighlanka.reminders.outbox.batch-size:100}") int batchSize,
+                                 @Value("${weighlanka.reminders.outbox.max-delivery-attempts:5}") int maxDeliveryAttempts,
+                                 @Value("${weighlanka.reminders.outbox.lease:PT10M}") Duration lease,
+                                 @Value("${weighlanka.reminders.outbox.retry-delay:PT15M}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.serviceRecordRepository = serviceRecordRepository;
+        this.outboxRepository = outboxRepository;
+        this.dispatcher = dispatcher;
+        this.catchUpDays = catchUpDays;
+        this.batchSize = batchSize;
+        this.maxDeliveryAttempts = maxDeliveryAttempts;
+        this.lease = lease;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Add an outbox entry for every record due between (today - catchUpDays) and today.
+     * Entries that already exist (pending or sent) are left untouched.
+     *
+     * @return number of newly queued reminders
+     */
+    public int enqueueDue(LocalDate today) {
+        List<ServiceRecord> due = serviceRecordRepository.findByNextServiceDateBetween(
+                Range.closed(today.minusDays(catchUpDays), today));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReminderOutbox.class);
+        for (ServiceRecord record : due) {
+            Query key = Query.query(Criteria.where("serviceRecordId").is(record.getId())
+                    .and("dueDate").is(record.getNextServiceDate()));
+            Update insertOnly = new Update()
+                    .setOnInsert("status", Status.PENDING)
+                    .setOnInsert("attempts", 0)
+                    .setOnInsert("createdAt", now)
+                    .setOnInsert("nextAttemptAt", now);
+            bulk.upsert(key, insertOnly);
+        }
+
+        try {
+            return bulk.execute().getUpserts().size();
+        } catch (BulkOperationException e) {
+            // another instance inserted the same key at the same time – already queued
+            long other = e.getErrors().stream().filter(err -> err.getCode() != 11000).count();
+            if (other > 0) {
+                throw e;
+            }
+            return e.getResult().getUpserts().size();
+        } catch (DuplicateKeyException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Deliver pending reminders batch by batch until none are left.
+     */
+    public DispatchSummary drain() {
+        long start = System.nanoTime();
+        int sent = 0, failed = 0, skipped = 0;
+
+        List<ReminderOutbox> batch;
+        // stop claiming once interrupted – anything claimed now could only end up UNKNOWN
+        while (!Thread.currentThread().isInterrupted() && !(batch = claimBatch()).isEmpty()) {
+            DispatchSummary summary = deliver(batch);
+            sent += summary.getSent();
+            failed += summary.getFailed();
+            skipped += summary.getSkipped();
+        }
+
+        return new DispatchSummary(sent, failed, skipped, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    public long pendingCount() {
+        return outboxRepository.countByStatus(Status.PENDING);
+    }
+
+    // Claim up to batchSize entries: PENDING and due, or SENDING with an expired lease (crashed node).
+    // Every claim counts as a delivery attempt, so an entry that keeps killing its node still gives up.
+    private List<ReminderOutbox> claimBatch() {
+        Instant now = Instant.now();
+        Criteria expiredLease = Criteria.where("status").is(Status.SENDING).and("lockedUntil").lte(now);
+        mongoTemplate.updateMulti(
+                Query.query(new Criteria().andOperator(expiredLease,
+                        Criteria.where("attempts").gte(maxDeliveryAttempts))),
+                finish(Status.FAILED, "Gave up after " + maxDeliveryAttempts + " attempts (lease expired)"),
+                ReminderOutbox.class);
+
+        Criteria claimable = new Criteria().orOperator(
+                Criteria.where("status").is(Status.PENDING).and("nextAttemptAt").lte(now),
+                expiredLease);
+
+        Update claim = new Update()
+                .set("status", Status.SENDING)
+                .set("lockedUntil", now.plus(lease))
+                .set("lockedBy", instanceId)
+                .inc("attempts", 1);
+
+        List<ReminderOutbox> claimed = new ArrayList<>();
+        while (claimed.size() < batchSize) {
+            ReminderOutbox entry = mongoTemplate.findAndModify(
+                    Query.query(claimable).with(Sort.by("nextAttemptAt")),
+                    claim,
+                    FindAndModifyOptions.options().returnNew(true),
+                    ReminderOutbox.class);
+            if (entry == null) {
+                break;
+            }
+            claimed.add(entry);
+        }
+        return claimed;
+    }
+
+    private DispatchSummary deliver(List<ReminderOutbox> batch) {
+        long start = System.nanoTime();
+
+        Map<String, ServiceRecord> records = new HashMap<>();
+        serviceRecordRepository.findAllById(batch.stream().map(ReminderOutbox::getServiceRecordId).toList())
+                .forEach(r -> records.put(r.getId(), r));
+
+        List<ReminderOutbox> deliverable = new ArrayList<>();
+        List<ServiceRecord> toSend = new ArrayList<>();
+        BulkOperations results = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReminderOutbox.class);
+        int skipped = 0;
+
+        for (ReminderOutbox entry : batch) {
+            ServiceRecord record = records.get(entry.getServiceRecordId());
+            // record deleted, or rescheduled since it was queued
+            if (record == null || !entry.getDueDate().equals(record.getNextServiceDate())) {
+                results.updateOne(byLease(entry), finish(Status.SKIPPED, "Service record changed or deleted"));
+                skipped++;
+                continue;
+            }
+            deliverable.add(entry);
+            toSend.add(record);
+        }
+
+        List<ReminderDispatcher.Outcome> outcomes = toSend.isEmpty() ? List.of() : dispatcher.deliverAll(toSend);
+
+        int sent = 0, failed = 0;
+        Instant now = Instant.now();
+        for (int i = 0; i < deliverable.size(); i++) {
+            ReminderOutbox entry = deliverable.get(i);
+            switch (outcomes.get(i)) {
+                case SENT -> {
+                    results.updateOne(byLease(entry), finish(Status.SENT, null).set("sentAt", now));
+                    sent++;
+                }
+                case SKIPPED -> {
+                    results.updateOne(byLease(entry), finish(Status.SKIPPED, "Missing customer, machine or email"));
+                    skipped++;
+                }
+                case FAILED -> {
+                    int attempts = entry.getAttempts();     // counted when claimed
+                    Update update = attempts >= maxDeliveryAttempts
+                            ? finish(Status.FAILED, "Gave up after " + attempts + " attempts")
+                            : finish(Status.PENDING, "Send failed").set("nextAttemptAt", now.plus(retryDelay.multipliedBy(attempts)));
+                    results.updateOne(byLease(entry), update);
+                    failed++;
+                }
+                // interrupted mid-send: keep the lease, so it is retried only once that expires
+                case UNKNOWN -> { }
+            }
+        }
+
+        if (sent + failed + skipped > 0) {     // one result write each; UNKNOWN writes nothing
+            results.execute();
+        }
+        return new DispatchSummary(sent, failed, skipped, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    // Only while our claim still holds: if the lease expired and another node took the entry,
+    // that node's outcome wins and ours is dropped
+    private static Query byLease(ReminderOutbox entry) {
+        return Query.query(Criteria.where("_id").is(entry.getId())
+                .and("lockedBy").is(entry.getLockedBy())
+                .and("lockedUntil").is(entry.getLockedUntil()));
+    }
+
+    private static Update finish(Status status, String error) {
+        return new Update()
+                .set("status", status)
+                .set("lastError", error)
+                .unset("lockedUntil")
+                .unset("lockedBy");
+    }
+}
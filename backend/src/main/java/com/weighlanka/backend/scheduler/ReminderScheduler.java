@@ -1,74 +1,118 @@
 package com.weighlanka.backend.scheduler;
 
-import com.weighlanka.backend.model.Customer;
-import com.weighlanka.backend.model.Machine;
-import com.weighlanka.backend.model.ServiceRecord;
-import com.weighlanka.backend.repository.ServiceRecordRepository;
-import com.weighlanka.backend.service.CustomerService;
-import com.weighlanka.backend.service.EmailService;
-import com.weighlanka.backend.service.MachineService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * Reminder triggers. Every instance schedules them; {@link JobRunner} makes sure each
+ * trigger runs on one instance only, on the job pool, and records the run.
+ */
 @Component
 public class ReminderScheduler {
 
-    private final ServiceRecordRepository serviceRecordRepository;
-    private final CustomerService customerService;
-    private final MachineService machineService;
-    private final EmailService emailService;
-
-    public ReminderScheduler(ServiceRecordRepository serviceRecordRepository,
-                             CustomerService customerService,
-                             MachineService machineService,
-                             EmailService emailService) {
-        this.serviceRecordRepository = serviceRecordRepository;
-        this.customerService = customerService;
-        this.machineService = machineService;
-        this.emailService = emailService;
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    static final String DAILY_JOB = "daily-reminders";
+    static final String CATCH_UP_JOB = "startup-catch-up";
+    static final String DRAIN_JOB = "outbox-drain";
+
+    private final ReminderOutboxService outboxService;
+    private final JobRunner jobRunner;
+    private final boolean enabled;
+    private final Timer dailyRunTimer;
+    private final Timer catchUpTimer;
+    private final Timer drainTimer;
+
+    public ReminderScheduler(ReminderOutboxService outboxService,
+                             JobRunner jobRunner,
+                             MeterRegistry meterRegistry,
+                             @Value("${weighlanka.reminders.enabled:true}") boolean enabled) {
+        this.outboxService = outboxService;
+        this.jobRunner = jobRunner;
+        this.enabled = enabled;
+        this.dailyRunTimer = runTimer(meterRegistry, DAILY_JOB);
+        this.catchUpTimer = runTimer(meterRegistry, CATCH_UP_JOB);
+        this.drainTimer = runTimer(meterRegistry, DRAIN_JOB);
     }
 
-    // Runs EVERY DAY at 8:00 AM (production mode)
+    // Runs EVERY DAY at 8:00 AM (production mode) – on one instance, off the scheduler thread
     @Scheduled(cron = "0 0 8 * * *")
     public void sendYearlyServiceReminders() {
+        if (!enabled) {
+            return;
+        }
 
-        LocalDate today = LocalDate.now();
-
-        // Find records where nextServiceDate = TODAY
-        List<ServiceRecord> dueRecords = serviceRecordRepository.findByNextServiceDate(today);
-
-        System.out.println("🔍 Checking yearly reminders for: " + today);
-        System.out.println("📌 Records found: " + dueRecords.size());
+        jobRunner.submit(DAILY_JOB, () -> dailyRunTimer.record(() -> {
+            LocalDate today = LocalDate.now();
 
-        for (ServiceRecord record : dueRecords) {
+            // Queue records due today (and any missed days) – safe to run more than once
+            int queued = outboxService.enqueueDue(today);
+            log.info("Yearly reminders checked date={} queued={}", today, queued);
 
-            Customer customer = customerService.getCustomer(record.getCustomerId());
-            Machine machine = machineService.getMachineById(record.getMachineId());
+            // Send what was just queued; the minute drainer only picks up retries after this
+            Map<String, Long> counts = new LinkedHashMap<>();
+            counts.put("queued", (long) queued);
+            counts.putAll(drain());
+            return counts;
+        }));
+    }
 
-            if (customer == null) {
-                System.out.println("❌ Customer not found for ID: " + record.getCustomerId());
-                continue;
-            }
+    // Catch up after downtime: queue what was missed while the app was down
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        jobRunner.submit(CATCH_UP_JOB, () -> catchUpTimer.record(() -> {
+            int queued = outboxService.enqueueDue(LocalDate.now());
+            log.info("Reminders queued on startup queued={}", queued);
+            return Map.of("queued", (long) queued);
+        }));
+    }
 
-            if (machine == null) {
-                System.out.println("❌ Machine not found for ID: " + record.getMachineId());
-                continue;
-            }
+    // Retries and startup catch-up are delivered by this drainer
+    @Scheduled(fixedDelayString = "${weighlanka.reminders.outbox.drain-interval:PT1M}",
+               initialDelayString = "${weighlanka.reminders.outbox.drain-initial-delay:PT30S}")
+    public void drainOutbox() {
+        if (!enabled) {
+            return;
+        }
 
-            // Send email
-            emailService.sendYearlyReminder(
-                    customer.getEmail(),
-                    customer.getCustomerName(),
-                    machine.getId()
-            );
+        // an empty drain leaves no job_runs row – it would be ~1,440 a day
+        jobRunner.submitQuiet(DRAIN_JOB, this::drain);
+    }
 
-            System.out.println(
-                    "✔ Email sent to " + customer.getEmail() +
-                            " for machine model " + machine.getModel()
-            );
+    private Map<String, Long> drain() {
+        DispatchSummary summary = drainTimer.record(outboxService::drain);
+        if (summary == null) {
+            return Map.of();
         }
+        if (summary.getSent() + summary.getFailed() + summary.getSkipped() > 0) {
+            log.info("Reminder outbox drained {} pending={}", summary, outboxService.pendingCount());
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("sent", (long) summary.getSent());
+        counts.put("failed", (long) summary.getFailed());
+        counts.put("skipped", (long) summary.getSkipped());
+        return counts;
+    }
+
+    private static Timer runTimer(MeterRegistry registry, String task) {
+        return Timer.builder("weighlanka.scheduler.run")
+                .description("Duration of scheduled reminder jobs")
+                .tag("task", task)
+                .publishPercentileHistogram()
+                .register(registry);
     }
 }
@@ -0,0 +1,50 @@
+package com.weighlanka.backend.scheduler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simple per-host rate limiter: hands out at most {@code permitsPerSecond}
+ * send slots per SMTP host, spaced evenly. Callers block until their slot.
+ * <p>
+ * A batch reserves one slot per message but only waits for its first slot, so the
+ * batch itself goes out as one burst over one connection (up to weighlanka.mail.batch-size
+ * messages) and the next batch waits out the slots this one used. The average rate
+ * holds; the peak is one batch.
+ */
+public class SmtpRateLimiter {
+
+    private final long intervalNanos;
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+    public SmtpRateLimiter(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    }
+
+    public void acquire(String host) throws InterruptedException {
+        acquire(host, 1);
+    }
+
+    // Reserve slots for a whole batch; waits until the first one is due (see class comment)
+    public void acquire(String host, int permits) throws InterruptedException {
+        long waitNanos = slots.computeIfAbsent(host, h -> new Slot()).reserve(intervalNanos * permits);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private static final class Slot {
+        private long nextFreeNanos = System.nanoTime();
+
+        synchronized long reserve(long spanNanos) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextFreeNanos);
+            nextFreeNanos = start + spanNanos;
+            return start - now;
+        }
+    }
+}
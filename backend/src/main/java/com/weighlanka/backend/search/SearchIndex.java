@@ -0,0 +1,399 @@
+package com.weighlanka.backend.search;
+
+import com.weighlanka.backend.dto.SearchResult;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.SearchEntry;
+import com.weighlanka.backend.service.InvalidRequestException;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Prefix search over customers (name, phone, location, email) and machines (serial number,
+ * reg no, id no, model) for the front-desk search box, served from Mongo so every backend
+ * instance finds a customer the moment any of them saved it.
+ * <ul>
+ *   <li>each customer / machine has a {@link SearchEntry} with its lower-case tokens in an
+ *       indexed array; a query word is an anchored prefix regex on it – one index range scan</li>
+ *   <li>every query word must match (as a token prefix); hits are ranked by field weight,
+ *       exact words before prefixes, among the first {@code max-candidates} matches</li>
+ *   <li>customer / machine writes update the entry right away; {@link #rebuild} only adds
+ *       entries that are missing and drops entries whose document is gone</li>
+ * </ul>
+ */
+@Service
+public class SearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    public static final String CUSTOMER = "customer";
+    public static final String MACHINE = "machine";
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int BATCH_SIZE = 500;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean buildOnStartup;
+    private final int maxCandidates;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public SearchIndex(MongoTemplate mongoTemplate,
+                       @Value("${weighlanka.search.build-on-startup:true}") boolean buildOnStartup,
+                       @Value("${weighlanka.search.max-candidates:1000}") int maxCandidates) {
+        this.mongoTemplate = mongoTemplate;
+        this.buildOnStartup = buildOnStartup;
+        this.maxCandidates = maxCandidates;
+    }
+
+    // ----- Writes -----
+
+    public void customerSaved(Customer customer) {
+        save(List.of(customerEntry(customer)));
+    }
+
+    public void customersSaved(Collection<Customer> customers) {
+        save(customers.stream().map(SearchIndex::customerEntry).toList());
+    }
+
+    public void customerDeleted(String id) {
+        remove(CUSTOMER, id);
+    }
+
+    public void machineSaved(Machine machine) {
+        save(List.of(machineEntry(machine)));
+    }
+
+    public void machinesSaved(Collection<Machine> machines) {
+        save(machines.stream().map(SearchIndex::machineEntry).toList());
+    }
+
+    public void machineDeleted(String id) {
+        remove(MACHINE, id);
+    }
+
+    // The document itself is already written – a failure here is logged, and the next
+    // rebuild adds a missing entry
+    private void save(List<SearchEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchEntry.class);
+            for (SearchEntry entry : entries) {
+                bulk.replaceOne(byId(entry.getId()), entry, FindAndReplaceOptions.options().upsert());
+            }
+            bulk.execute();
+        } catch (DataAccessException e) {
+            log.error("Could not update search entries count={} error={}", entries.size(), e.getMessage());
+        }
+    }
+
+    private void remove(String type, String id) {
+        try {
+            mongoTemplate.remove(byId(type + ":" + id), SearchEntry.class);
+        } catch (DataAccessException e) {
+            log.error("Could not remove search entry type={} id={} error={}", type, id, e.getMessage());
+        }
+    }
+
+    // ----- Search -----
+
+    /**
+     * @param type {@link #CUSTOMER}, {@link #MACHINE} or null for both
+     */
+    public SearchResult search(String query, String type, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (type != null && !CUSTOMER.equals(type) && !MACHINE.equals(type)) {
+            throw new InvalidRequestException("type must be 'customer' or 'machine'");
+        }
+
+        long start = System.nanoTime();
+        SearchResult result = new SearchResult();
+        result.setQuery(query);
+        result.setPage(page);
+        result.setSize(size);
+
+        List<String> terms = words(query);
+        if (!terms.isEmpty()) {
+            Query matching = Query.query(matching(terms, type));
+            List<SearchEntry> candidates = mongoTemplate.find(Query.of(matching).limit(maxCandidates), SearchEntry.class);
+            // only a capped candidate list needs its own count
+            result.setTotal(candidates.size() < maxCandidates
+                    ? candidates.size()
+                    : (int) mongoTemplate.count(matching, SearchEntry.class));
+
+            Comparator<Ranked> order = Comparator.comparingInt((Ranked r) -> -r.score())
+                    .thenComparing(r -> r.entry().getLabel(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(r -> r.entry().getId());
+            List<Ranked> ranked = candidates.stream()
+                    .map(entry -> new Ranked(entry, score(entry, terms)))
+                    .sorted(order)
+                    .toList();
+            int from = (int) Math.min((long) page * size, ranked.size());
+            for (Ranked hit : ranked.subList(from, Math.min(from + size, ranked.size()))) {
+                SearchEntry entry = hit.entry();
+                result.getHits().add(new SearchResult.Hit(entry.getType(), entry.getRefId(), entry.getLabel(),
+                        entry.getDetail(), entry.getCustomerId(), hit.score()));
+            }
+        }
+        result.setElapsedMicros((System.nanoTime() - start) / 1_000);
+        return result;
+    }
+
+    /** Ids of the documents of a type matching every word of the query as a token prefix, unranked. */
+    public List<String> matchingIds(String query, String type) {
+        List<String> terms = words(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        Query matching = Query.query(matching(terms, type));
+        matching.fields().include("refId");
+        return mongoTemplate.find(matching, SearchEntry.class).stream().map(SearchEntry::getRefId).toList();
+    }
+
+    // Every term as an anchored prefix of some token; terms are letters and digits only
+    private static Criteria matching(List<String> terms, String type) {
+        List<Criteria> all = new ArrayList<>();
+        for (String term : new HashSet<>(terms)) {
+            all.add(Criteria.where("words").regex("^" + term));
+        }
+        if (type != null) {
+            all.add(Criteria.where("type").is(type));
+        }
+        return new Criteria().andOperator(all);
+    }
+
+    // per term: best weight of a token starting with it (exact word counts double)
+    private static int score(SearchEntry entry, List<String> terms) {
+        int score = 0;
+        for (String term : terms) {
+            int best = 0;
+            for (Map.Entry<String, Integer> token : entry.getWeights().entrySet()) {
+                if (token.getKey().startsWith(term)) {
+                    best = Math.max(best, token.getValue() * (token.getKey().equals(term) ? 2 : 1));
+                }
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    // ----- Rebuild -----
+
+    @Order(4)
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (buildOnStartup) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Add the entries missing for documents written around the services (older imports,
+     * direct inserts), then drop entries whose document is gone. Existing entries are not
+     * overwritten: a save while this runs is newer than the copy read here.
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.info("Search index rebuild already running – skipped");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            int added = addMissing(Customer.class, SearchIndex::customerEntry)
+                    + addMissing(Machine.class, SearchIndex::machineEntry);
+            // after adding: an entry added for a document deleted while we read is removed here
+            int removed = removeOrphans(CUSTOMER, Customer.class, Customer::getId)
+                    + removeOrphans(MACHINE, Machine.class, Machine::getId);
+            log.info("Search index rebuilt added={} removed={} in {} ms",
+                    added, removed, (System.nanoTime() - start) / 1_000_000);
+        } catch (DataAccessException e) {
+            log.error("Could not rebuild search index error={}", e.getMessage());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private <T> int addMissing(Class<T> type, Function<T, SearchEntry> toEntry) {
+        int added = 0;
+        List<SearchEntry> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<T> documents = mongoTemplate.stream(new Query(), type)) {
+            for (Iterator<T> it = documents.iterator(); it.hasNext(); ) {
+                batch.add(toEntry.apply(it.next()));
+                if (batch.size() == BATCH_SIZE) {
+                    added += insertIfAbsent(batch);
+                    batch.clear();
+                }
+            }
+        }
+        return added + insertIfAbsent(batch);
+    }
+
+    // Upsert with $setOnInsert only, so an entry that exists is left as it is
+    private int insertIfAbsent(List<SearchEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchEntry.class);
+        for (SearchEntry entry : entries) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(entry, document);
+            Update update = new Update();
+            document.forEach((field, value) -> {
+                if (!"_id".equals(field)) update.setOnInsert(field, value);
+            });
+            bulk.upsert(byId(entry.getId()), update);
+        }
+        return bulk.execute().getUpserts().size();
+    }
+
+    private <T> int removeOrphans(String type, Class<T> source, Function<T, String> id) {
+        Query entries = Query.query(Criteria.where("type").is(type));
+        entries.fields().include("refId");
+        int removed = 0;
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<SearchEntry> stream = mongoTemplate.stream(entries, SearchEntry.class)) {
+            for (Iterator<SearchEntry> it = stream.iterator(); it.hasNext(); ) {
+                batch.add(it.next().getRefId());
+                if (batch.size() == BATCH_SIZE) {
+                    removed += removeMissing(type, batch, source, id);
+                    batch.clear();
+                }
+            }
+        }
+        return removed + removeMissing(type, batch, source, id);
+    }
+
+    private <T> int removeMissing(String type, List<String> refIds, Class<T> source, Function<T, String> id) {
+        if (refIds.isEmpty()) {
+            return 0;
+        }
+        Query existing = Query.query(Criteria.where("_id").in(refIds));
+        existing.fields().include("_id");
+        Set<String> orphans = new HashSet<>(refIds);
+        mongoTemplate.find(existing, source).forEach(document -> orphans.remove(id.apply(document)));
+        if (orphans.isEmpty()) {
+            return 0;
+        }
+        return (int) mongoTemplate.remove(
+                Query.query(Criteria.where("type").is(type).and("refId").in(orphans)), SearchEntry.class)
+                .getDeletedCount();
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    // ----- Documents -----
+
+    private static SearchEntry customerEntry(Customer c) {
+        Map<String, Integer> tokens = new HashMap<>();
+        addWords(tokens, c.getCustomerName(), 3);
+        addPhone(tokens, c.getPhone(), 3);
+        addWords(tokens, c.getLocation(), 1);
+        addWords(tokens, c.getEmail(), 1);
+        return entry(CUSTOMER, c.getId(), c.getCustomerName(), join(c.getPhone(), c.getLocation()), c.getId(), tokens);
+    }
+
+    private static SearchEntry machineEntry(Machine m) {
+        Map<String, Integer> tokens = new HashMap<>();
+        addCode(tokens, m.getSerialNumber(), 3);
+        addCode(tokens, m.getRegNo(), 3);
+        addCode(tokens, m.getIdNo(), 3);
+        addWords(tokens, m.getModel(), 1);
+        String label = m.getSerialNumber() != null && !m.getSerialNumber().isBlank() ? m.getSerialNumber() : m.getRegNo();
+        return entry(MACHINE, m.getId(), label, join(m.getModel(), m.getRegNo(), m.getIdNo()), m.getCustomerId(), tokens);
+    }
+
+    private static SearchEntry entry(String type, String refId, String label, String detail, String customerId,
+                                     Map<String, Integer> tokens) {
+        SearchEntry entry = new SearchEntry();
+        entry.setId(type + ":" + refId);
+        entry.setType(type);
+        entry.setRefId(refId);
+        entry.setLabel(label);
+        entry.setDetail(detail);
+        entry.setCustomerId(customerId);
+        entry.setWords(new ArrayList<>(tokens.keySet()));
+        entry.setWeights(tokens);
+        return entry;
+    }
+
+    // Lower-case words split on anything that is not a letter or digit
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words;
+    }
+
+    private static void addWords(Map<String, Integer> tokens, String text, int weight) {
+        words(text).forEach(word -> tokens.merge(word, weight, Math::max));
+    }
+
+    // Codes: each part, plus the whole code without separators ("AB-12/3" → "ab123")
+    private static void addCode(Map<String, Integer> tokens, String code, int weight) {
+        List<String> parts = words(code);
+        addWords(tokens, code, weight);
+        if (parts.size() > 1) {
+            tokens.merge(String.join("", parts), weight, Math::max);
+        }
+    }
+
+    // Phones: all digits, the last 9 and the local 0-form, so "077…", "+9477…" and "77…" all match
+    private static void addPhone(Map<String, Integer> tokens, String phone, int weight) {
+        if (phone == null) return;
+        String digits = phone.replaceAll("\\D", "");
+        if (digits.isEmpty()) return;
+        tokens.merge(digits, weight, Math::max);
+        if (digits.length() >= 9) {
+            String subscriber = digits.substring(digits.length() - 9);
+            tokens.merge(subscriber, weight, Math::max);
+            tokens.merge("0" + subscriber, weight, Math::max);
+        }
+    }
+
+    private static String join(String... parts) {
+        return String.join(" · ", Stream.of(parts).filter(p -> p != null && !p.isBlank()).toList());
+    }
+
+    private record Ranked(SearchEntry entry, int score) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.config.CacheConfig;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.repository.CustomerRepository;
+import com.weighlanka.backend.repository.MachineRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resolves many customers / machines by id at once: cached entries are served
+ * from the customer / machine caches, the rest is loaded with a single
+ * findAllById and put into the cache.
+ */
+@Service
+public class BulkLookupService {
+
+    private final CustomerRepository customerRepository;
+    private final MachineRepository machineRepository;
+    private final Cache customerCache;
+    private final Cache machineCache;
+
+    public BulkLookupService(CustomerRepository customerRepository,
+                             MachineRepository machineRepository,
+                             CacheManager cacheManager) {
+        this.customerRepository = customerRepository;
+        this.machineRepository = machineRepository;
+        this.customerCache = cacheManager.getCache(CacheConfig.CUSTOMERS);
+        this.machineCache = cacheManager.getCache(CacheConfig.MACHINES);
+    }
+
+    public Map<String, Customer> customersById(Collection<String> ids) {
+        return load(ids, customerCache, Customer.class, customerRepository, Customer::getId);
+    }
+
+    public Map<String, Machine> machinesById(Collection<String> ids) {
+        return load(ids, machineCache, Machine.class, machineRepository, Machine::getId);
+    }
+
+    private <T> Map<String, T> load(Collection<String> ids, Cache cache, Class<T> type,
+                                    CrudRepository<T, String> repository, Function<T, String> idOf) {
+        Map<String, T> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String id : ids) {
+            if (id == null) continue;
+            T cached = cache == null ? null : cache.get(id, type);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (T entity : repository.findAllById(missing)) {
+                found.put(idOf.apply(entity), entity);
+                if (cache != null) {
+                    cache.put(idOf.apply(entity), entity);
+                }
+            }
+        }
+        return found;
+    }
+}
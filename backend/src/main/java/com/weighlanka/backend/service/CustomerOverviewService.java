@@ -0,0 +1,92 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.CustomerOverview;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.repository.MachineRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the customer screen in one call: the customer (usually cached) and its
+ * machines, then the latest services of all machines from one aggregation
+ * (machineId $in → newest first → grouped per machine, cut to the history depth).
+ * Two round trips to Mongo, however many machines the customer has.
+ */
+@Service
+public class CustomerOverviewService {
+
+    private static final int MAX_HISTORY_DEPTH = 50;
+
+    private final CustomerService customerService;
+    private final MachineRepository machineRepository;
+    private final MongoTemplate mongoTemplate;
+    private final int defaultHistoryDepth;
+
+    public CustomerOverviewService(CustomerService customerService,
+                                   MachineRepository machineRepository,
+                                   MongoTemplate mongoTemplate,
+                                   @Value("${weighlanka.overview.history-depth:5}") int defaultHistoryDepth) {
+        this.customerService = customerService;
+        this.machineRepository = machineRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.defaultHistoryDepth = defaultHistoryDepth;
+    }
+
+    /**
+     * @param historyDepth services per machine, null for the configured default
+     */
+    public CustomerOverview getOverview(String customerId, Integer historyDepth) {
+        int depth = historyDepth == null ? defaultHistoryDepth : historyDepth;
+        if (depth < 0 || depth > MAX_HISTORY_DEPTH) {
+            throw new InvalidRequestException("historyDepth must be between 0 and " + MAX_HISTORY_DEPTH);
+        }
+
+        Customer customer = customerService.getCustomerById(customerId);   // "Customer not found" if missing
+        List<Machine> machines = machineRepository.findByCustomerId(customerId);
+
+        Map<String, List<ServiceRecord>> recent = recentServices(customerId, machines, depth);
+        List<CustomerOverview.MachineHistory> histories = machines.stream()
+                .map(machine -> new CustomerOverview.MachineHistory(machine,
+                        recent.getOrDefault(machine.getId(), List.of())))
+                .toList();
+        return new CustomerOverview(customer, depth, histories);
+    }
+
+    // Newest {@code depth} services per machine id; machines without services are absent.
+    // Only the shown fields are pushed into the groups, and a long history may spill to disk.
+    private Map<String, List<ServiceRecord>> recentServices(String customerId, List<Machine> machines, int depth) {
+        if (depth == 0 || machines.isEmpty()) {
+            return Map.of();
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("machineId").in(machines.stream().map(Machine::getId).toList())),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "serviceDate")),
+                Aggregation.project("machineId", "serviceDate", "nextServiceDate", "technicianName", "remarks",
+                        "serviceCost", "visitNo", "invoiceNo"),
+                Aggregation.group("machineId").push(Aggregation.ROOT).as("services"),
+                Aggregation.project().and(ArrayOperators.Slice.sliceArrayOf("services").itemCount(depth)).as("services"))
+                .withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+
+        Map<String, List<ServiceRecord>> recent = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, ServiceRecord.class, MachineServices.class).forEach(group -> {
+            group.services().forEach(record -> record.setCustomerId(customerId));   // not pushed
+            recent.put(group.id(), group.services());
+        });
+        return recent;
+    }
+
+    // One group of the aggregation: machine id in _id
+    private record MachineServices(String id, List<ServiceRecord> services) {
+    }
+}
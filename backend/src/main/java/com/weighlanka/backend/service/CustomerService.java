@@ -1,8 +1,14 @@
 package com.weighlanka.backend.service;
 
+import com.weighlanka.backend.config.CacheConfig;
+import com.weighlanka.backend.dto.ListPage;
+import com.weighlanka.backend.dto.ListQuery;
 import com.weighlanka.backend.model.Customer;
 import com.weighlanka.backend.repository.CustomerRepository;
+import com.weighlanka.backend.search.SearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,9 +19,20 @@ public class CustomerService {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private ListQueryService listQueryService;
+
+    @Autowired
+    private ServiceReportProjection reportProjection;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     // CREATE
     public Customer addCustomer(Customer customer) {
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        searchIndex.customerSaved(saved);
+        return saved;
     }
 
     // GET ALL
@@ -23,18 +40,26 @@ public class CustomerService {
         return customerRepository.findAll();
     }
 
+    // GET PAGE (paging, sorting, projection)
+    public ListPage listCustomers(ListQuery query) {
+        return listQueryService.find(Customer.class, query);
+    }
+
     // GET BY ID (full version)
+    @Cacheable(cacheNames = CacheConfig.CUSTOMERS, key = "#id")
     public Customer getCustomerById(String id) {
         return customerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
     }
 
     // SHORT VERSION used by scheduler
+    @Cacheable(cacheNames = CacheConfig.CUSTOMERS, key = "#id", unless = "#result == null")
     public Customer getCustomer(String id) {
         return customerRepository.findById(id).orElse(null);
     }
 
     // UPDATE
+    @CacheEvict(cacheNames = CacheConfig.CUSTOMERS, key = "#id")
     public Customer updateCustomer(String id, Customer updatedCustomer) {
         Customer existing = customerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
@@ -44,16 +69,26 @@ public class CustomerService {
         existing.setPhone(updatedCustomer.getPhone());
         existing.setEmail(updatedCustomer.getEmail());
         existing.setLocation(updatedCustomer.getLocation()); // NEW
+        // older clients do not send the language – keep the stored one then
+        if (updatedCustomer.getPreferredLanguage() != null) {
+            existing.setPreferredLanguage(updatedCustomer.getPreferredLanguage());
+        }
 
-        return customerRepository.save(existing);
+        Customer saved = customerRepository.save(existing);
+        reportProjection.customerChanged(id, saved);   // NAME & ADDRESS, LOCATION, TEL on report rows
+        searchIndex.customerSaved(saved);
+        return saved;
     }
 
     // DELETE
+    @CacheEvict(cacheNames = CacheConfig.CUSTOMERS, key = "#id")
     public String deleteCustomer(String id) {
         if (!customerRepository.existsById(id)) {
             throw new RuntimeException("Customer not found");
         }
         customerRepository.deleteById(id);
+        reportProjection.customerChanged(id, null);
+        searchIndex.customerDeleted(id);
         return "Customer deleted successfully!";
     }
 }
@@ -0,0 +1,137 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.DashboardSummary;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard numbers straight from Mongo, so every backend instance shows the same:
+ * <ul>
+ *   <li>overdue / upcoming are two count queries on Machine.nextServiceDate – the
+ *       machine's latest service, so superseded visits are not counted, and overdue
+ *       means the same as on the reminders page ({@link ReminderStatusService#overdue})</li>
+ *   <li>services per month come from one group-by over the last months' serviceDate
+ *       range, folded per month in memory</li>
+ *   <li>customer / machine / record totals are collection metadata counts; the two
+ *       short lists are indexed queries with a limit</li>
+ * </ul>
+ */
+@Service
+public class DashboardService {
+
+    private static final int CHART_MONTHS = 6;
+    private static final int OVERDUE_LIST_SIZE = 5;
+    private static final int RECENT_LIST_SIZE = 6;
+
+    private final MongoTemplate mongoTemplate;
+    private final BulkLookupService lookupService;
+    private final ReminderStatusService reminderStatusService;
+    private final int upcomingDays;
+
+    public DashboardService(MongoTemplate mongoTemplate,
+                            BulkLookupService lookupService,
+                            ReminderStatusService reminderStatusService,
+                            @Value("${weighlanka.dashboard.upcoming-days:90}") int upcomingDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.lookupService = lookupService;
+        this.reminderStatusService = reminderStatusService;
+        this.upcomingDays = upcomingDays;
+    }
+
+    // ----- Summary -----
+
+    public DashboardSummary getSummary() {
+        return getSummary(LocalDate.now());
+    }
+
+    DashboardSummary getSummary(LocalDate today) {
+        DashboardSummary summary = new DashboardSummary();
+        summary.setCustomers(mongoTemplate.estimatedCount(Customer.class));
+        summary.setMachines(mongoTemplate.estimatedCount(Machine.class));
+        summary.setServiceRecords(mongoTemplate.estimatedCount(ServiceRecord.class));
+        summary.setOverdue(mongoTemplate.count(
+                Query.query(reminderStatusService.overdue(today)), Machine.class));
+        summary.setUpcoming(mongoTemplate.count(
+                Query.query(Criteria.where("nextServiceDate").gte(today).lte(today.plusDays(upcomingDays))),
+                Machine.class));
+        summary.setUpcomingDays(upcomingDays);
+
+        YearMonth month = YearMonth.from(today);
+        Map<YearMonth, Long> perMonth = servicesPerMonth(month.minusMonths(CHART_MONTHS - 1), month);
+        for (int i = CHART_MONTHS - 1; i >= 0; i--) {
+            YearMonth m = month.minusMonths(i);
+            summary.getServicesPerMonth().add(new DashboardSummary.MonthCount(m.toString(), perMonth.getOrDefault(m, 0L)));
+        }
+
+        List<Machine> overdue = mongoTemplate.find(
+                Query.query(reminderStatusService.overdue(today))
+                        .with(Sort.by(Sort.Direction.DESC, "nextServiceDate"))
+                        .limit(OVERDUE_LIST_SIZE),
+                Machine.class);
+        Map<String, ServiceRecord> latest = latestRecords(overdue.stream().map(Machine::getId).toList());
+        List<ServiceRecord> recent = mongoTemplate.find(
+                new Query().with(Sort.by(Sort.Direction.DESC, "serviceDate", "visitNo")).limit(RECENT_LIST_SIZE),
+                ServiceRecord.class);
+
+        List<String> customerIds = new ArrayList<>(overdue.stream().map(Machine::getCustomerId).toList());
+        recent.forEach(r -> customerIds.add(r.getCustomerId()));
+        Map<String, Customer> customers = lookupService.customersById(customerIds.stream().distinct().toList());
+        Map<String, Machine> machines = lookupService.machinesById(
+                recent.stream().map(ServiceRecord::getMachineId).distinct().toList());
+        overdue.forEach(m -> summary.getOverdueServices().add(
+                DashboardSummary.Item.of(m, latest.get(m.getId()), customers.get(m.getCustomerId()))));
+        recent.forEach(r -> summary.getRecentServices().add(
+                DashboardSummary.Item.of(r, customers.get(r.getCustomerId()), machines.get(r.getMachineId()))));
+        return summary;
+    }
+
+    // Newest record of each machine (machineId + serviceDate index), keyed by machine id
+    private Map<String, ServiceRecord> latestRecords(List<String> machineIds) {
+        if (machineIds.isEmpty()) {
+            return Map.of();
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("machineId").in(machineIds)),
+                Aggregation.sort(Sort.by(Sort.Direction.ASC, "machineId").and(Sort.by(Sort.Direction.DESC, "serviceDate"))),
+                Aggregation.group("machineId").first(Aggregation.ROOT).as("record"));
+        Map<String, ServiceRecord> latest = new HashMap<>();
+        for (LatestRecord group : mongoTemplate.aggregate(aggregation, ServiceRecord.class, LatestRecord.class)) {
+            latest.put(group.id(), group.record());
+        }
+        return latest;
+    }
+
+    // One row per distinct service day in the range (a few hundred at most), folded per month
+    private Map<YearMonth, Long> servicesPerMonth(YearMonth from, YearMonth to) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("serviceDate").gte(from.atDay(1)).lte(to.atEndOfMonth())),
+                Aggregation.group("serviceDate").count().as("count"),
+                Aggregation.project("count").and("date").previousOperation());
+
+        Map<YearMonth, Long> perMonth = new HashMap<>();
+        for (DateCount dc : mongoTemplate.aggregate(aggregation, ServiceRecord.class, DateCount.class)) {
+            perMonth.merge(YearMonth.from(dc.date()), dc.count(), Long::sum);
+        }
+        return perMonth;
+    }
+
+    private record DateCount(LocalDate date, long count) {}
+
+    // _id is the machine id
+    private record LatestRecord(String id, ServiceRecord record) {}
+}
@@ -1,36 +1,157 @@
 package com.weighlanka.backend.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import com.weighlanka.backend.dto.RenderedEmail;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class EmailService {
 
-    @Autowired
-    private JavaMailSender mailSender;
+    private static final String YEARLY_REMINDER = "yearly-reminder";
+
+    private final JavaMailSender mailSender;
+    private final EmailTemplateEngine templateEngine;
+    private final String from;
+    private final int batchSize;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public EmailService(JavaMailSender mailSender,
+                        EmailTemplateEngine templateEngine,
+                        MeterRegistry meterRegistry,
+                        @Value("${weighlanka.mail.from:${spring.mail.username:}}") String from,
+                        @Value("${weighlanka.mail.batch-size:50}") int batchSize) {
+        this.mailSender = mailSender;
+        this.templateEngine = templateEngine;
+        this.from = from;
+        this.batchSize = batchSize;
+        this.sentCounter = Counter.builder("weighlanka.emails")
+                .description("Emails handed to the SMTP server")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("weighlanka.emails")
+                .description("Emails handed to the SMTP server")
+                .tag("result", "failed")
+                .register(meterRegistry);
+    }
 
     public void sendEmail(String to, String subject, String body) {
         SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom("rashinichamodika552@gmail.com"); // your email
+        message.setFrom(from);
         message.setTo(to);
         message.setSubject(subject);
         message.setText(body);
 
-        mailSender.send(message);
+        try {
+            mailSender.send(message);
+            sentCounter.increment();
+        } catch (MailException e) {
+            failedCounter.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Send many messages, {@code batchSize} per SMTP connection: the transport is
+     * connected (and STARTTLS negotiated) once per chunk and reused for every
+     * message in it.
+     *
+     * @return the messages that could not be sent, with the cause (empty when all went out)
+     */
+    public Map<MimeMessage, Exception> sendBatch(List<MimeMessage> messages) {
+        Map<MimeMessage, Exception> failed = new IdentityHashMap<>();
+
+        for (int start = 0; start < messages.size(); start += batchSize) {
+            List<MimeMessage> chunk = messages.subList(start, Math.min(start + batchSize, messages.size()));
+            try {
+                mailSender.send(chunk.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    // connection level failure – nothing in the chunk went out
+                    chunk.forEach(message -> failed.put(message, e));
+                } else {
+                    e.getFailedMessages().forEach((message, cause) -> {
+                        if (message instanceof MimeMessage mime) {
+                            failed.put(mime, cause);
+                        }
+                    });
+                }
+            } catch (MailAuthenticationException e) {
+                // same credentials for every chunk – no point trying the rest
+                messages.subList(start, messages.size()).forEach(message -> failed.put(message, e));
+                break;
+            } catch (MailException e) {
+                chunk.forEach(message -> failed.put(message, e));
+            }
+        }
+
+        sentCounter.increment(messages.size() - failed.size());
+        failedCounter.increment(failed.size());
+        return failed;
     }
 
     // Template for yearly reminders
-    public void sendYearlyReminder(String to, String customerName, String machineId) {
-        String subject = "Annual Service Reminder - Weigh Lanka";
-        String body = "Dear " + customerName + ",\n\n"
-                + "This is a kind reminder that your scale/machine (ID: " + machineId + ") "
-                + "is due for annual calibration/service.\n"
-                + "Please contact Weigh Lanka to schedule the service.\n\n"
-                + "Thank you,\n"
-                + "Weigh Lanka Service Team.";
-
-        sendEmail(to, subject, body);
+    public void sendYearlyReminder(Customer customer, Machine machine, LocalDate dueDate) {
+        try {
+            mailSender.send(buildYearlyReminder(customer, machine, dueDate));
+            sentCounter.increment();
+        } catch (MailException e) {
+            failedCounter.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Build the multipart (plain text + HTML) yearly reminder in the customer's language.
+     */
+    public MimeMessage buildYearlyReminder(Customer customer, Machine machine, LocalDate dueDate) {
+        RenderedEmail email = templateEngine.render(YEARLY_REMINDER, customer.getPreferredLanguage(), Map.of(
+                "customerName", nullToEmpty(customer.getCustomerName()),
+                "machineId", nullToEmpty(machine.getId()),
+                "machineModel", nullToEmpty(machine.getModel()),
+                "dueDate", dueDate == null ? "" : dueDate
+        ));
+
+        MimeMessage message = mailSender.createMimeMessage();
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(message, email.getHtml() != null, "UTF-8");
+            helper.setFrom(from);
+            helper.setTo(customer.getEmail());
+            helper.setSubject(email.getSubject());
+            if (email.getHtml() != null) {
+                helper.setText(email.getText(), email.getHtml());
+            } else {
+                helper.setText(email.getText());
+            }
+        } catch (MessagingException e) {
+            throw new MailParseException(e);
+        }
+        return message;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
     }
 }
@@ -0,0 +1,139 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.RenderedEmail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Email templates under classpath:templates/email/{name}/ :
+ * <pre>
+ *   subject_{lang}.txt   body_{lang}.txt   body_{lang}.html (optional)
+ * </pre>
+ * Placeholders are written {{name}}. Every template is read and compiled once at
+ * startup; rendering only walks the compiled segments into a reused StringBuilder.
+ * Values are HTML-escaped in .html templates.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailTemplateEngine.class);
+
+    public static final String DEFAULT_LANGUAGE = "en";
+
+    private static final String LOCATION = "classpath*:templates/email/*/*.*";
+
+    // key: "{name}/{file}", e.g. "yearly-reminder/body_si.html"
+    private final Map<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<StringBuilder> buffer = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    public EmailTemplateEngine() {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                String path = resource.getURL().getPath();
+                String[] parts = path.split("/");
+                String key = parts[parts.length - 2] + "/" + parts[parts.length - 1];
+
+                try (InputStream in = resource.getInputStream()) {
+                    String source = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+                    templates.put(key, CompiledTemplate.compile(source.strip(), key.endsWith(".html")));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load email templates", e);
+        }
+        log.info("Email templates compiled templates={}", templates.keySet());
+    }
+
+    /**
+     * Render subject, plain-text and HTML parts of {@code name} in {@code language},
+     * falling back to English when that language has no template.
+     */
+    public RenderedEmail render(String name, String language, Map<String, ?> model) {
+        String lang = language == null || !templates.containsKey(name + "/subject_" + language + ".txt")
+                ? DEFAULT_LANGUAGE
+                : language;
+
+        CompiledTemplate subject = templates.get(name + "/subject_" + lang + ".txt");
+        CompiledTemplate text = templates.get(name + "/body_" + lang + ".txt");
+        CompiledTemplate html = templates.get(name + "/body_" + lang + ".html");
+        if (subject == null || text == null) {
+            throw new IllegalArgumentException("No email template: " + name + " (" + lang + ")");
+        }
+
+        return new RenderedEmail(
+                render(subject, model),
+                render(text, model),
+                html == null ? null : render(html, model)
+        );
+    }
+
+    private String render(CompiledTemplate template, Map<String, ?> model) {
+        StringBuilder out = buffer.get();
+        out.setLength(0);
+        template.renderTo(out, model);
+        return out.toString();
+    }
+
+    /**
+     * Template split once into literal text and placeholders.
+     */
+    static final class CompiledTemplate {
+
+        private final String[] literals;     // literals[i] comes before names[i]
+        private final String[] names;        // one shorter than literals
+        private final boolean escapeHtml;
+
+        private CompiledTemplate(String[] literals, String[] names, boolean escapeHtml) {
+            this.literals = literals;
+            this.names = names;
+            this.escapeHtml = escapeHtml;
+        }
+
+        static CompiledTemplate compile(String source, boolean escapeHtml) {
+            List<String> literals = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+
+            int pos = 0;
+            while (true) {
+                int open = source.indexOf("{{", pos);
+                int close = open < 0 ? -1 : source.indexOf("}}", open + 2);
+                if (close < 0) {
+                    literals.add(source.substring(pos));
+                    break;
+                }
+                literals.add(source.substring(pos, open));
+                names.add(source.substring(open + 2, close).trim());
+                pos = close + 2;
+            }
+
+            return new CompiledTemplate(literals.toArray(new String[0]), names.toArray(new String[0]), escapeHtml);
+        }
+
+        void renderTo(StringBuilder out, Map<String, ?> model) {
+            for (int i = 0; i < names.length; i++) {
+                out.append(literals[i]);
+                Object value = model.get(names[i]);
+                if (value != null) {
+                    String text = value.toString();
+                    out.append(escapeHtml ? HtmlUtils.htmlEscape(text, "UTF-8") : text);
+                }
+            }
+            out.append(literals[literals.length - 1]);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.weighlanka.backend.service;
+
+/**
+ * A request the client has to fix (unknown field, bad cursor, page size out of range ...).
+ * The only exception the API answers with 400 and its message; anything else is a 500.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,118 @@
+package com.weighlanka.backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weighlanka.backend.dto.ListPage;
+import com.weighlanka.backend.dto.ListQuery;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the paged / sorted / projected list queries shared by the customer,
+ * machine and service-record endpoints.
+ */
+@Service
+public class ListQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ListQueryService(MongoTemplate mongoTemplate, ObjectMapper objectMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public ListPage find(Class<?> type, ListQuery listQuery) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(type);
+
+        Query query = new Query();
+        Sort sort = listQuery.getSort() == null ? Sort.unsorted() : listQuery.getSort();
+        sort.forEach(order -> checkProperty(entity, order.getProperty()));
+
+        // ----- Paging -----
+        int size = 0;
+        if (listQuery.isPaged()) {
+            size = listQuery.getSize() == null ? DEFAULT_PAGE_SIZE : listQuery.getSize();
+            if (size < 1 || size > MAX_PAGE_SIZE) {
+                throw new InvalidRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+            }
+        }
+
+        if (listQuery.getAfter() != null) {
+            // keyset paging walks the _id index, so it cannot be combined with another sort or page
+            if (sort.isSorted() || listQuery.getPage() != null) {
+                throw new InvalidRequestException("after cannot be combined with sort or page");
+            }
+            if (!ObjectId.isValid(listQuery.getAfter())) {
+                throw new InvalidRequestException("Invalid cursor: " + listQuery.getAfter());
+            }
+            query.addCriteria(Criteria.where("_id").gt(new ObjectId(listQuery.getAfter())));
+            query.with(Sort.by("_id")).limit(size);
+        } else if (listQuery.isPaged()) {
+            int page = listQuery.getPage() == null ? 0 : listQuery.getPage();
+            if (page < 0) {
+                throw new InvalidRequestException("page must not be negative");
+            }
+            // _id as tie-breaker keeps pages stable when the sort key repeats
+            query.with(PageRequest.of(page, size, sort.and(Sort.by("_id"))));
+        } else {
+            query.with(sort);
+        }
+
+        // ----- Projection -----
+        List<String> fields = listQuery.getFields() == null ? List.of() : listQuery.getFields();
+        fields.forEach(field -> checkProperty(entity, field));
+        if (!fields.isEmpty()) {
+            query.fields().include("_id");
+            fields.forEach(field -> query.fields().include(field));
+        }
+
+        List<?> results = mongoTemplate.find(query, type);
+
+        // a cursor only makes sense while walking in _id order
+        String nextCursor = null;
+        if (listQuery.isPaged() && !sort.isSorted() && results.size() == size) {
+            nextCursor = idOf(entity, results.get(results.size() - 1));
+        }
+
+        List<?> items = fields.isEmpty() ? results : results.stream().map(r -> project(r, fields)).toList();
+
+        // estimatedCount reads collection metadata instead of scanning
+        return new ListPage(items, mongoTemplate.estimatedCount(type), nextCursor);
+    }
+
+    private Map<String, Object> project(Object result, List<String> fields) {
+        Map<String, Object> all = objectMapper.convertValue(result, new TypeReference<Map<String, Object>>() {});
+        Map<String, Object> projected = new LinkedHashMap<>();
+        projected.put("id", all.get("id"));
+        fields.forEach(field -> projected.put(field, all.get(field)));
+        return projected;
+    }
+
+    private String idOf(MongoPersistentEntity<?> entity, Object result) {
+        Object id = entity.getIdentifierAccessor(result).getIdentifier();
+        return id == null ? null : id.toString();
+    }
+
+    private void checkProperty(MongoPersistentEntity<?> entity, String name) {
+        MongoPersistentProperty property = entity.getPersistentProperty(name);
+        if (property == null) {
+            throw new InvalidRequestException("Unknown field: " + name);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.config.CacheConfig;
+import com.weighlanka.backend.dto.DueMachineGroup;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.repository.MachineRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps Machine.lastServiceDate / nextServiceDate in step with the newest service
+ * record of each machine, so due-date questions are answered from the (indexed)
+ * machines collection alone.
+ * <ul>
+ *   <li>saving a record moves its machine forward with one conditional update – an
+ *       older visit saved later never moves the dates backwards</li>
+ *   <li>deleting a record, or changing its dates / machine, recomputes the affected
+ *       machines from their newest remaining record ({@link #recompute})</li>
+ *   <li>at startup, machines without a lastServiceDate (e.g. data from before these
+ *       fields existed) are filled from their newest record ({@link #backfill()})</li>
+ *   <li>{@link #resync()} recomputes every machine from service_records, e.g. after
+ *       records were edited directly in Mongo</li>
+ * </ul>
+ */
+@Service
+public class MachineDueDateService {
+
+    private static final Logger log = LoggerFactory.getLogger(MachineDueDateService.class);
+
+    private static final int MAX_DAYS = 366;
+
+    private final MongoTemplate mongoTemplate;
+    private final MachineRepository machineRepository;
+    private final BulkLookupService lookupService;
+    private final Cache machineCache;
+    private final int batchSize;
+    private final boolean backfillOnStartup;
+
+    public MachineDueDateService(MongoTemplate mongoTemplate,
+                                 MachineRepository machineRepository,
+                                 BulkLookupService lookupService,
+                                 CacheManager cacheManager,
+                                 @Value("${weighlanka.report.batch-size:500}") int batchSize,
+                                 @Value("${weighlanka.machines.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.mongoTemplate = mongoTemplate;
+        this.machineRepository = machineRepository;
+        this.lookupService = lookupService;
+        this.machineCache = cacheManager.getCache(CacheConfig.MACHINES);
+        this.batchSize = batchSize;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    // ----- Sync on record save -----
+
+    public void recordSaved(ServiceRecord record) {
+        recordsSaved(List.of(record));
+    }
+
+    /** One conditional update per machine, sent as a single unordered bulk write. */
+    public void recordsSaved(Collection<ServiceRecord> records) {
+        Map<String, ServiceRecord> newest = new HashMap<>();
+        for (ServiceRecord record : records) {
+            if (record.getMachineId() == null || record.getServiceDate() == null) continue;
+            newest.merge(record.getMachineId(), record,
+                    (a, b) -> b.getServiceDate().isAfter(a.getServiceDate()) ? b : a);
+        }
+        if (newest.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Machine.class);
+        for (ServiceRecord record : newest.values()) {
+            LocalDate serviced = record.getServiceDate();
+            Criteria notNewer = new Criteria().orOperator(
+                    Criteria.where("lastServiceDate").is(null),
+                    Criteria.where("lastServiceDate").lte(serviced));
+            bulk.updateOne(Query.query(Criteria.where("_id").is(record.getMachineId()).andOperator(notNewer)),
+                    new Update()
+                            .set("lastServiceDate", serviced)
+                            .set("nextServiceDate", nextServiceDate(record)));
+        }
+        bulk.execute();
+        // evict only after the write, so a concurrent read cannot cache the old dates again
+        newest.keySet().forEach(this::evict);
+    }
+
+    // ----- Recompute after delete / date edits -----
+
+    /**
+     * Set each machine's dates from its newest remaining record – dates may move
+     * backwards here. Machines without any record left get both dates removed.
+     */
+    public void recompute(Collection<String> machineIds) {
+        Set<String> ids = new HashSet<>(machineIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Map<String, ServiceRecord> newest = new HashMap<>();
+        mongoTemplate.aggregate(newestPerMachine(Criteria.where("machineId").in(ids)),
+                ServiceRecord.class, ServiceRecord.class)
+                .forEach(record -> newest.put(record.getId(), record));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Machine.class);
+        for (String id : ids) {
+            ServiceRecord record = newest.get(id);
+            bulk.updateOne(Query.query(Criteria.where("_id").is(id)), record == null
+                    ? new Update().unset("lastServiceDate").unset("nextServiceDate")
+                    : datesOf(record));
+        }
+        bulk.execute();
+        ids.forEach(this::evict);
+        log.debug("Machine service dates recomputed machines={}", ids.size());
+    }
+
+    // ----- Startup backfill -----
+
+    @Order(5)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            backfill();
+        } catch (DataAccessException e) {
+            log.error("Could not backfill machine service dates error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fill last / next service date of machines that have none yet from their newest
+     * record. Machines that already have a lastServiceDate, or have no records, are
+     * left alone.
+     *
+     * @return the number of machines written
+     */
+    public long backfill() {
+        long start = System.nanoTime();
+        Query missing = Query.query(Criteria.where("lastServiceDate").is(null)).cursorBatchSize(batchSize);
+        missing.fields().include("_id");
+
+        long checked = 0;
+        long written = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Stream<Machine> machines = mongoTemplate.stream(missing, Machine.class)) {
+            for (Machine machine : (Iterable<Machine>) machines::iterator) {
+                checked++;
+                batch.add(machine.getId());
+                if (batch.size() == batchSize) {
+                    written += backfill(batch);
+                    batch.clear();
+                }
+            }
+        }
+        written += backfill(batch);
+
+        if (written > 0 && machineCache != null) {
+            machineCache.clear();
+        }
+        log.info("Machine service dates backfilled checked={} written={} in {} ms",
+                checked, written, (System.nanoTime() - start) / 1_000_000);
+        return written;
+    }
+
+    private long backfill(List<String> machineIds) {
+        if (machineIds.isEmpty()) {
+            return 0;
+        }
+        List<ServiceRecord> newest = new ArrayList<>();
+        mongoTemplate.aggregate(newestPerMachine(Criteria.where("machineId").in(machineIds)),
+                ServiceRecord.class, ServiceRecord.class)
+                .forEach(record -> {
+                    record.setMachineId(record.getId());
+                    newest.add(record);
+                });
+        return overwrite(newest);
+    }
+
+    // ----- Full resync -----
+
+    /**
+     * Recompute last / next service date of every machine that has service records,
+     * from its newest record. Runs as one aggregation plus batched bulk updates.
+     *
+     * @return the number of machines written
+     */
+    public long resync() {
+        long start = System.nanoTime();
+        Aggregation newestPerMachine = newestPerMachine(Criteria.where("machineId").ne(null));
+
+        long written = 0;
+        List<ServiceRecord> batch = new ArrayList<>(batchSize);
+        // each result is the newest visit of one machine, with the machine id in _id
+        try (Stream<ServiceRecord> newest = mongoTemplate.aggregateStream(
+                newestPerMachine, ServiceRecord.class, ServiceRecord.class)) {
+            for (ServiceRecord record : (Iterable<ServiceRecord>) newest::iterator) {
+                record.setMachineId(record.getId());
+                batch.add(record);
+                if (batch.size() == batchSize) {
+                    written += overwrite(batch);
+                    batch.clear();
+                }
+            }
+        }
+        written += overwrite(batch);
+
+        if (machineCache != null) {
+            machineCache.clear();
+        }
+        log.info("Machine service dates resynced machines={} in {} ms",
+                written, (System.nanoTime() - start) / 1_000_000);
+        return written;
+    }
+
+    // ----- Due-date queries -----
+
+    /** Machines due between {@code from} and {@code from + days} (inclusive), soonest first. */
+    public List<Machine> findDue(LocalDate from, int days) {
+        return machineRepository.findByNextServiceDateBetween(dueRange(from, days),
+                Sort.by("nextServiceDate", "_id"));
+    }
+
+    /** Same machines, grouped by customer location (alphabetical, unknown location last). */
+    public List<DueMachineGroup> findDueByLocation(LocalDate from, int days) {
+        List<Machine> machines = findDue(from, days);
+        Map<String, Customer> customers = lookupService.customersById(
+                machines.stream().map(Machine::getCustomerId).distinct().toList());
+
+        Map<String, DueMachineGroup> groups = new TreeMap<>();
+        List<DueMachineGroup.Item> unknown = new ArrayList<>();
+        for (Machine machine : machines) {
+            Customer customer = customers.get(machine.getCustomerId());
+            String location = customer == null || customer.getLocation() == null ? "" : customer.getLocation().trim();
+            DueMachineGroup.Item item = DueMachineGroup.Item.of(machine, customer);
+            if (location.isEmpty()) {
+                unknown.add(item);
+            } else {
+                groups.computeIfAbsent(location, l -> new DueMachineGroup(l, 0, new ArrayList<>())).add(item);
+            }
+        }
+
+        List<DueMachineGroup> result = new ArrayList<>(groups.values());
+        if (!unknown.isEmpty()) {
+            result.add(new DueMachineGroup("", unknown.size(), unknown));
+        }
+        return result;
+    }
+
+    // ----- Helpers -----
+
+    private Range<LocalDate> dueRange(LocalDate from, int days) {
+        if (days < 0 || days > MAX_DAYS) {
+            throw new InvalidRequestException("days must be between 0 and " + MAX_DAYS);
+        }
+        return Range.closed(from, from.plusDays(days));
+    }
+
+    // Newest visit per machine, with the machine id in _id
+    private static Aggregation newestPerMachine(Criteria machines) {
+        return Aggregation.newAggregation(
+                Aggregation.match(machines.and("serviceDate").ne(null)),
+                Aggregation.sort(Sort.Direction.DESC, "serviceDate"),
+                Aggregation.group("machineId")
+                        .first("serviceDate").as("serviceDate")
+                        .first("nextServiceDate").as("nextServiceDate"))
+                .withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+    }
+
+    private long overwrite(List<ServiceRecord> newest) {
+        if (newest.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Machine.class);
+        for (ServiceRecord record : newest) {
+            bulk.updateOne(Query.query(Criteria.where("_id").is(record.getMachineId())), datesOf(record));
+        }
+        bulk.execute();
+        return newest.size();
+    }
+
+    private static Update datesOf(ServiceRecord record) {
+        return new Update()
+                .set("lastServiceDate", record.getServiceDate())
+                .set("nextServiceDate", nextServiceDate(record));
+    }
+
+    // Yearly service unless the record says otherwise
+    private static LocalDate nextServiceDate(ServiceRecord record) {
+        return record.getNextServiceDate() != null
+                ? record.getNextServiceDate()
+                : record.getServiceDate().plusYears(1);
+    }
+
+    private void evict(String machineId) {
+        if (machineCache != null) {
+            machineCache.evict(machineId);
+        }
+    }
+}
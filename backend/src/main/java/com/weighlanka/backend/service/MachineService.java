@@ -1,5 +1,7 @@
 package com.weighlanka.backend.service;
 
+import com.weighlanka.backend.dto.ListPage;
+import com.weighlanka.backend.dto.ListQuery;
 import com.weighlanka.backend.model.Machine;
 import java.util.List;
 
@@ -13,6 +15,8 @@ public interface MachineService {
 
     List<Machine> getAllMachines();
 
+    ListPage listMachines(ListQuery query);
+
     List<Machine> getMachinesByCustomer(String customerId);
 
     void deleteMachine(String id);
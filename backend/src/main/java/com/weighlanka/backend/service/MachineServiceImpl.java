@@ -1,7 +1,13 @@
 package com.weighlanka.backend.service;
 
+import com.weighlanka.backend.config.CacheConfig;
+import com.weighlanka.backend.dto.ListPage;
+import com.weighlanka.backend.dto.ListQuery;
 import com.weighlanka.backend.model.Machine;
 import com.weighlanka.backend.repository.MachineRepository;
+import com.weighlanka.backend.search.SearchIndex;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -10,17 +16,32 @@ import java.util.List;
 public class MachineServiceImpl implements MachineService {
 
     private final MachineRepository repo;
+    private final ListQueryService listQueryService;
+    private final ServiceReportProjection reportProjection;
+    private final SearchIndex searchIndex;
 
-    public MachineServiceImpl(MachineRepository repo) {
+    public MachineServiceImpl(MachineRepository repo,
+                              ListQueryService listQueryService,
+                              ServiceReportProjection reportProjection,
+                              SearchIndex searchIndex) {
         this.repo = repo;
+        this.listQueryService = listQueryService;
+        this.reportProjection = reportProjection;
+        this.searchIndex = searchIndex;
     }
 
     @Override
     public Machine createMachine(Machine machine) {
-        return repo.save(machine);
+        // last / next service date are derived from service records (MachineDueDateService)
+        machine.setLastServiceDate(null);
+        machine.setNextServiceDate(null);
+        Machine saved = repo.save(machine);
+        searchIndex.machineSaved(saved);
+        return saved;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.MACHINES, key = "#id")
     public Machine updateMachine(String id, Machine machine) {
         Machine existing = repo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Machine not found"));
@@ -30,16 +51,19 @@ public class MachineServiceImpl implements MachineService {
         existing.setSerialNumber(machine.getSerialNumber());
         existing.setInstalledDate(machine.getInstalledDate());
         existing.setWarranty(machine.getWarranty());
-        existing.setLastServiceDate(machine.getLastServiceDate());
-        existing.setNextServiceDate(machine.getNextServiceDate());
+        // not lastServiceDate / nextServiceDate – kept in sync from the service records
         existing.setCapacity(machine.getCapacity()); // NEW
         existing.setRegNo(machine.getRegNo());       // NEW
         existing.setIdNo(machine.getIdNo());         // NEW
 
-        return repo.save(existing);
+        Machine saved = repo.save(existing);
+        reportProjection.machineChanged(id, saved);  // MODEL, SERIAL NO, CAP, REG NO, ID NO on report rows
+        searchIndex.machineSaved(saved);
+        return saved;
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.MACHINES, key = "#id", unless = "#result == null")
     public Machine getMachineById(String id) {
         return repo.findById(id).orElse(null);
     }
@@ -49,13 +73,21 @@ public class MachineServiceImpl implements MachineService {
         return repo.findAll();
     }
 
+    @Override
+    public ListPage listMachines(ListQuery query) {
+        return listQueryService.find(Machine.class, query);
+    }
+
     @Override
     public List<Machine> getMachinesByCustomer(String customerId) {
         return repo.findByCustomerId(customerId);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.MACHINES, key = "#id")
     public void deleteMachine(String id) {
         repo.deleteById(id);
+        reportProjection.machineChanged(id, null);
+        searchIndex.machineDeleted(id);
     }
 }
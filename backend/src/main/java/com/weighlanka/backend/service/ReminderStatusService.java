@@ -0,0 +1,257 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.ReminderStatusPage;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.search.SearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Overdue / urgent / due-soon reminders for the reminders page, computed server side.
+ * <ul>
+ *   <li>due machines come from indexed range queries on Machine.nextServiceDate,
+ *       which {@link MachineDueDateService} keeps at the machine's latest service –
+ *       so superseded visits never show up as overdue</li>
+ *   <li>bucket counts are three count queries; without a search only the requested
+ *       page is read (skip / limit per bucket)</li>
+ *   <li>a search first finds customers by word prefix (their search entries) and machines
+ *       by invoice no prefix (indexed), then reads only those machines' due rows</li>
+ *   <li>customers are joined through the bulk (cached) lookup, invoice numbers from
+ *       one aggregation over the machines' latest records</li>
+ *   <li>rows are ordered overdue, urgent, due soon – each closest to today first</li>
+ * </ul>
+ */
+@Service
+public class ReminderStatusService {
+
+    public static final String OVERDUE = "overdue";
+    public static final String URGENT = "urgent";
+    public static final String DUE_SOON = "dueSoon";
+
+    private static final List<String> BUCKETS = List.of(OVERDUE, URGENT, DUE_SOON);
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final Pattern REGEX_SPECIAL = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+    private final MongoTemplate mongoTemplate;
+    private final BulkLookupService lookupService;
+    private final SearchIndex searchIndex;
+    private final int urgentDays;
+    private final int dueSoonDays;
+
+    public ReminderStatusService(MongoTemplate mongoTemplate,
+                                 BulkLookupService lookupService,
+                                 SearchIndex searchIndex,
+                                 @Value("${weighlanka.reminders.status.urgent-days:30}") int urgentDays,
+                                 @Value("${weighlanka.reminders.status.due-soon-days:90}") int dueSoonDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.lookupService = lookupService;
+        this.searchIndex = searchIndex;
+        this.urgentDays = urgentDays;
+        this.dueSoonDays = dueSoonDays;
+    }
+
+    /**
+     * @param status {@link #OVERDUE}, {@link #URGENT}, {@link #DUE_SOON} or null for all
+     * @param q      optional filter: invoice no prefix, or word prefixes of the customer (name, phone ...)
+     */
+    public ReminderStatusPage getStatus(String status, String q, int page, int size) {
+        return getStatus(status, q, page, size, LocalDate.now());
+    }
+
+    ReminderStatusPage getStatus(String status, String q, int page, int size, LocalDate today) {
+        if (status != null && !BUCKETS.contains(status)) {
+            throw new InvalidRequestException("status must be 'overdue', 'urgent' or 'dueSoon'");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        String search = q == null || q.isBlank() ? null : q.strip().toLowerCase(Locale.ROOT);
+        List<String> buckets = status == null ? BUCKETS : List.of(status);
+
+        ReminderStatusPage result = new ReminderStatusPage();
+        result.setToday(today);
+        result.setPage(page);
+        result.setSize(size);
+        for (String bucket : BUCKETS) {
+            result.getCounts().put(bucket, mongoTemplate.count(Query.query(range(bucket, today)), Machine.class));
+        }
+
+        List<ReminderStatusPage.Row> pageRows;
+        if (search == null) {
+            long total = buckets.stream().mapToLong(result.getCounts()::get).sum();
+            result.setTotal((int) total);
+            pageRows = rows(page(buckets, result.getCounts(), today, (long) page * size, size), null, today);
+            fillLatestRecords(pageRows);
+        } else {
+            // only the due machines of matching customers / invoices are read; the latest
+            // record then decides whether the invoice still matches
+            Match match = match(q.strip());
+            Criteria matching = new Criteria().orOperator(
+                    Criteria.where("customerId").in(match.customerIds()),
+                    Criteria.where("_id").in(match.invoiceMachineIds()));
+            List<Machine> due = new ArrayList<>();
+            for (String bucket : buckets) {
+                due.addAll(mongoTemplate.find(Query.query(new Criteria().andOperator(range(bucket, today), matching))
+                        .with(order(bucket)), Machine.class));
+            }
+            Map<String, LatestRecord> latest = latestRecords(due.stream().map(Machine::getId).toList());
+            List<ReminderStatusPage.Row> rows = rows(due, latest, today).stream()
+                    .filter(row -> match.customerIds().contains(row.getCustomerId())
+                            || startsWith(row.getInvoiceNo(), search))
+                    .toList();
+            result.setTotal(rows.size());
+            int from = (int) Math.min((long) page * size, rows.size());
+            pageRows = rows.subList(from, Math.min(from + size, rows.size()));
+        }
+        result.getRows().addAll(pageRows);
+        return result;
+    }
+
+    // ----- Buckets -----
+
+    /** Machines counted as overdue on Machine.nextServiceDate – shared with the dashboard. */
+    public Criteria overdue(LocalDate today) {
+        return Criteria.where("nextServiceDate").lt(today);
+    }
+
+    private Criteria range(String bucket, LocalDate today) {
+        Criteria next = Criteria.where("nextServiceDate");
+        return switch (bucket) {
+            case OVERDUE -> overdue(today);
+            case URGENT -> next.gte(today).lte(today.plusDays(urgentDays));
+            default -> next.gt(today.plusDays(urgentDays)).lte(today.plusDays(dueSoonDays));
+        };
+    }
+
+    // Overdue: most recently due first; the others: soonest first
+    private static Sort order(String bucket) {
+        Sort.Direction direction = OVERDUE.equals(bucket) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, "nextServiceDate", "_id");
+    }
+
+    private String bucketOf(long days) {
+        return days < 0 ? OVERDUE : days <= urgentDays ? URGENT : DUE_SOON;
+    }
+
+    // The buckets form one list in order; read only the slice [skip, skip + limit) of it
+    private List<Machine> page(List<String> buckets, Map<String, Long> counts, LocalDate today, long skip, int limit) {
+        List<Machine> machines = new ArrayList<>();
+        for (String bucket : buckets) {
+            long count = counts.get(bucket);
+            if (skip >= count) {
+                skip -= count;
+                continue;
+            }
+            machines.addAll(mongoTemplate.find(Query.query(range(bucket, today)).with(order(bucket))
+                    .skip(skip).limit(limit - machines.size()), Machine.class));
+            skip = 0;
+            if (machines.size() >= limit) {
+                break;
+            }
+        }
+        return machines;
+    }
+
+    // ----- Search -----
+
+    // Customers whose words (name, phone, location, email) start with the query words, and machines
+    // with a record whose invoice no starts with the query (as typed or upper case)
+    private Match match(String q) {
+        Set<String> customerIds = new HashSet<>(searchIndex.matchingIds(q, SearchIndex.CUSTOMER));
+        String prefix = "^" + REGEX_SPECIAL.matcher(q).replaceAll("\\\\$0");
+        Query invoices = Query.query(new Criteria().orOperator(
+                Criteria.where("invoiceNo").regex(prefix),
+                Criteria.where("invoiceNo").regex(prefix.toUpperCase(Locale.ROOT))));
+        return new Match(customerIds,
+                mongoTemplate.findDistinct(invoices, "machineId", ServiceRecord.class, String.class));
+    }
+
+    private static boolean startsWith(String value, String search) {
+        return value != null && value.toLowerCase(Locale.ROOT).startsWith(search);
+    }
+
+    private record Match(Set<String> customerIds, List<String> invoiceMachineIds) {}
+
+    // ----- Rows -----
+
+    private List<ReminderStatusPage.Row> rows(List<Machine> machines, Map<String, LatestRecord> latest, LocalDate today) {
+        Map<String, Customer> customers = lookupService.customersById(
+                machines.stream().map(Machine::getCustomerId).distinct().toList());
+        List<ReminderStatusPage.Row> rows = new ArrayList<>(machines.size());
+        for (Machine machine : machines) {
+            long days = ChronoUnit.DAYS.between(today, machine.getNextServiceDate());
+            rows.add(row(machine, customers.get(machine.getCustomerId()),
+                    latest == null ? null : latest.get(machine.getId()), bucketOf(days), days));
+        }
+        return rows;
+    }
+
+    private void fillLatestRecords(List<ReminderStatusPage.Row> rows) {
+        Map<String, LatestRecord> latest = latestRecords(rows.stream().map(ReminderStatusPage.Row::getMachineId).toList());
+        for (ReminderStatusPage.Row row : rows) {
+            LatestRecord record = latest.get(row.getMachineId());
+            if (record != null) {
+                row.setRecordId(record.recordId());
+                row.setInvoiceNo(record.invoiceNo());
+            }
+        }
+    }
+
+    // Newest record of each machine (machineId + serviceDate index), keyed by machine id
+    private Map<String, LatestRecord> latestRecords(Collection<String> machineIds) {
+        if (machineIds.isEmpty()) {
+            return Map.of();
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("machineId").in(machineIds)),
+                Aggregation.sort(Sort.by(Sort.Direction.ASC, "machineId").and(Sort.by(Sort.Direction.DESC, "serviceDate"))),
+                Aggregation.group("machineId")
+                        .first("_id").as("recordId")
+                        .first("invoiceNo").as("invoiceNo"));
+        Map<String, LatestRecord> latest = new HashMap<>();
+        for (LatestRecord record : mongoTemplate.aggregate(aggregation, ServiceRecord.class, LatestRecord.class)) {
+            latest.put(record.id(), record);
+        }
+        return latest;
+    }
+
+    private static ReminderStatusPage.Row row(Machine machine, Customer customer, LatestRecord record,
+                                              String status, long days) {
+        return new ReminderStatusPage.Row(
+                machine.getId(),
+                record == null ? null : record.recordId(),
+                record == null ? null : record.invoiceNo(),
+                machine.getCustomerId(),
+                customer == null ? null : customer.getCustomerName(),
+                customer == null ? null : customer.getPhone(),
+                machine.getModel(),
+                machine.getSerialNumber(),
+                machine.getCapacity(),
+                machine.getLastServiceDate(),
+                machine.getNextServiceDate(),
+                status,
+                days);
+    }
+
+    // _id is the machine id
+    private record LatestRecord(String id, String recordId, String invoiceNo) {}
+}
@@ -0,0 +1,136 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.ServiceTableRow;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes report rows straight to .csv or .xlsx while they are read from the cursor.
+ * Only a small window of rows is ever held in memory.
+ */
+@Service
+public class ReportExportService {
+
+    // Same columns (and order) as the office Excel sheet
+    public static final List<String> HEADERS = List.of(
+            "DATE", "NO", "INV NO", "NAME & ADDRESS", "LOCATION", "TEL",
+            "MODEL", "SERIAL NO", "CAP", "REG NO", "ID NO", "Serviced By"
+    );
+
+    // Rows kept in memory by SXSSF before flushing to a temp file
+    private static final int XLSX_ROW_WINDOW = 100;
+
+    public void writeCsv(Stream<ServiceTableRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        // BOM so Excel opens Sinhala/Tamil text as UTF-8
+        writer.write('\uFEFF');
+        writeCsvLine(writer, HEADERS);
+
+        Iterator<ServiceTableRow> it = rows.iterator();
+        while (it.hasNext()) {
+            writeCsvLine(writer, values(it.next()));
+        }
+        writer.flush();
+    }
+
+    public void writeXlsx(Stream<ServiceTableRow> rows, OutputStream out) throws IOException {
+        // close() also deletes the SXSSF temp files
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW)) {
+            workbook.setCompressTempFiles(true);
+            SXSSFSheet sheet = workbook.createSheet("Service Report");
+
+            // ----- Header row -----
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            CellStyle headerStyle = workbook.createCellStyle();
+            headerStyle.setFont(bold);
+
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.size(); i++) {
+                header.createCell(i).setCellValue(HEADERS.get(i));
+                header.getCell(i).setCellStyle(headerStyle);
+            }
+
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+
+            // ----- Data rows -----
+            int rowIndex = 1;
+            Iterator<ServiceTableRow> it = rows.iterator();
+            while (it.hasNext()) {
+                ServiceTableRow r = it.next();
+                Row row = sheet.createRow(rowIndex++);
+
+                if (r.getDate() != null) {
+                    row.createCell(0).setCellValue(r.getDate());
+                    row.getCell(0).setCellStyle(dateStyle);
+                }
+                if (r.getNo() != null) {
+                    row.createCell(1).setCellValue(r.getNo());
+                }
+
+                List<String> values = values(r);
+                for (int i = 2; i < values.size(); i++) {
+                    row.createCell(i).setCellValue(values.get(i));
+                }
+            }
+
+            workbook.write(out);
+        }
+    }
+
+    private static List<String> values(ServiceTableRow r) {
+        return List.of(
+                text(r.getDate()),
+                text(r.getNo()),
+                text(r.getInvoiceNo()),
+                text(r.getNameAndAddress()),
+                text(r.getLocation()),
+                text(r.getTel()),
+                text(r.getModel()),
+                text(r.getSerialNo()),
+                text(r.getCap()),
+                text(r.getRegNo()),
+                text(r.getIdNo()),
+                text(r.getServicedBy())
+        );
+    }
+
+    private static String text(Object value) {
+        if (value == null) return "";
+        if (value instanceof LocalDate date) return date.toString();
+        return value.toString();
+    }
+
+    private static void writeCsvLine(Writer writer, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) writer.write(',');
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
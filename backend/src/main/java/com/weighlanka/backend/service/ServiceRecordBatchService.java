@@ -0,0 +1,268 @@
+package com.weighlanka.backend.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.weighlanka.backend.dto.BatchResult;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batch create / update / delete of service records.
+ * <ul>
+ *   <li>every entry is validated first (bad ones get their own status and are skipped)</li>
+ *   <li>customers, machines and existing ids are checked with one query each</li>
+ *   <li>the valid entries go to Mongo as one unordered bulk write; per-document write
+ *       errors are mapped back to the entry they came from</li>
+ * </ul>
+ */
+@Service
+public class ServiceRecordBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceRecordBatchService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final BulkLookupService lookupService;
+    private final ServiceReportProjection reportProjection;
+    private final MachineDueDateService dueDateService;
+    private final int maxBatchSize;
+
+    public ServiceRecordBatchService(MongoTemplate mongoTemplate,
+                                     BulkLookupService lookupService,
+                                     ServiceReportProjection reportProjection,
+                                     MachineDueDateService dueDateService,
+                                     @Value("${weighlanka.batch.max-size:1000}") int maxBatchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.lookupService = lookupService;
+        this.reportProjection = reportProjection;
+        this.dueDateService = dueDateService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    // ----- Create -----
+
+    public BatchResult createRecords(List<ServiceRecord> records) {
+        checkSize(records);
+        Map<Integer, BatchResult.Item> outcome = new HashMap<>();
+        References refs = references(records);
+
+        List<ServiceRecord> valid = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            ServiceRecord record = records.get(i);
+            String problem = record == null ? "Empty entry" : refs.check(record, true);
+            if (problem != null) {
+                outcome.put(i, new BatchResult.Item(i, null, 400, problem));
+                continue;
+            }
+            record.setId(new ObjectId().toHexString());   // ids known up front, so errors map back
+            valid.add(record);
+            validIndexes.add(i);
+        }
+
+        List<ServiceRecord> saved = new ArrayList<>(valid);
+        if (!valid.isEmpty()) {
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ServiceRecord.class)
+                        .insert(valid)
+                        .execute();
+            } catch (BulkOperationException e) {
+                // unordered: everything except the failed documents was written
+                for (BulkWriteError error : e.getErrors()) {
+                    ServiceRecord record = valid.get(error.getIndex());
+                    int index = validIndexes.get(error.getIndex());
+                    outcome.put(index, new BatchResult.Item(index, record.getId(), 500, error.getMessage()));
+                    saved.remove(record);
+                }
+            }
+        }
+        reportProjection.recordsSaved(saved);
+        dueDateService.recordsSaved(saved);
+
+        for (int i = 0; i < valid.size(); i++) {
+            outcome.putIfAbsent(validIndexes.get(i),
+                    new BatchResult.Item(validIndexes.get(i), valid.get(i).getId(), 201, null));
+        }
+        return finish("create", records.size(), outcome);
+    }
+
+    // ----- Update (partial $set per entry) -----
+
+    public BatchResult updateRecords(List<ServiceRecord> records) {
+        checkSize(records);
+        Map<Integer, BatchResult.Item> outcome = new HashMap<>();
+        References refs = references(records);
+        Map<String, ServiceRecord> existing = existing(records.stream()
+                .filter(r -> r != null && r.getId() != null).map(ServiceRecord::getId).toList());
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ServiceRecord.class);
+        List<Integer> opIndexes = new ArrayList<>();
+        Set<String> updatedIds = new LinkedHashSet<>();
+        Set<String> datesChanged = new HashSet<>();
+        for (int i = 0; i < records.size(); i++) {
+            ServiceRecord record = records.get(i);
+            String id = record == null ? null : record.getId();
+            if (id == null) {
+                outcome.put(i, new BatchResult.Item(i, null, 400, "id is required"));
+                continue;
+            }
+            if (!existing.containsKey(id)) {
+                outcome.put(i, new BatchResult.Item(i, id, 404, "Service Record not found"));
+                continue;
+            }
+            String problem = refs.check(record, false);
+            Update changes = ServiceRecordServiceImpl.changesOf(record);
+            if (problem == null && changes.getUpdateObject().isEmpty()) {
+                problem = "Nothing to update";
+            }
+            if (problem != null) {
+                outcome.put(i, new BatchResult.Item(i, id, 400, problem));
+                continue;
+            }
+            bulk.updateOne(Query.query(Criteria.where("_id").is(id)), changes);
+            opIndexes.add(i);
+            updatedIds.add(id);
+            if (ServiceRecordServiceImpl.changesDates(record)) {
+                datesChanged.add(id);
+            }
+        }
+
+        if (!opIndexes.isEmpty()) {
+            try {
+                bulk.execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    int index = opIndexes.get(error.getIndex());
+                    String id = records.get(index).getId();
+                    outcome.put(index, new BatchResult.Item(index, id, 500, error.getMessage()));
+                    updatedIds.remove(id);
+                }
+            }
+            // reload the merged documents once for the read model and machine dates
+            List<ServiceRecord> updated = mongoTemplate.find(
+                    Query.query(Criteria.where("_id").in(updatedIds)), ServiceRecord.class);
+            reportProjection.recordsSaved(updated);
+            Set<String> machineIds = new HashSet<>();
+            for (ServiceRecord after : updated) {
+                if (datesChanged.contains(after.getId())) {
+                    machineIds.add(existing.get(after.getId()).getMachineId());
+                    machineIds.add(after.getMachineId());
+                }
+            }
+            dueDateService.recompute(machineIds);
+        }
+
+        for (int index : opIndexes) {
+            outcome.putIfAbsent(index, new BatchResult.Item(index, records.get(index).getId(), 200, null));
+        }
+        return finish("update", records.size(), outcome);
+    }
+
+    // ----- Delete -----
+
+    public BatchResult deleteRecords(List<String> ids) {
+        checkSize(ids);
+        Map<Integer, BatchResult.Item> outcome = new HashMap<>();
+        Map<String, ServiceRecord> existing = existing(ids.stream().filter(id -> id != null).toList());
+
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (id == null) {
+                outcome.put(i, new BatchResult.Item(i, null, 400, "id is required"));
+            } else if (existing.containsKey(id)) {
+                outcome.put(i, new BatchResult.Item(i, id, 200, null));
+            } else {
+                outcome.put(i, new BatchResult.Item(i, id, 404, "Service Record not found"));
+            }
+        }
+
+        if (!existing.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(existing.keySet())), ServiceRecord.class);
+            reportProjection.recordsDeleted(existing.keySet());
+            dueDateService.recompute(existing.values().stream().map(ServiceRecord::getMachineId).toList());
+        }
+        return finish("delete", ids.size(), outcome);
+    }
+
+    // ----- Helpers -----
+
+    private void checkSize(List<?> entries) {
+        if (entries == null || entries.isEmpty()) {
+            throw new InvalidRequestException("Batch must not be empty");
+        }
+        if (entries.size() > maxBatchSize) {
+            throw new InvalidRequestException("Batch size must be at most " + maxBatchSize);
+        }
+    }
+
+    // Existing records by id, with just the machine id (for machine dates)
+    private Map<String, ServiceRecord> existing(List<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("_id", "machineId");
+        Map<String, ServiceRecord> existing = new HashMap<>();
+        mongoTemplate.find(query, ServiceRecord.class).forEach(r -> existing.put(r.getId(), r));
+        return existing;
+    }
+
+    // Load every customer / machine referenced by the batch at once
+    private References references(List<ServiceRecord> records) {
+        Set<String> customerIds = new HashSet<>();
+        Set<String> machineIds = new HashSet<>();
+        for (ServiceRecord record : records) {
+            if (record == null) continue;
+            if (record.getCustomerId() != null) customerIds.add(record.getCustomerId());
+            if (record.getMachineId() != null) machineIds.add(record.getMachineId());
+        }
+        return new References(lookupService.customersById(customerIds), lookupService.machinesById(machineIds));
+    }
+
+    private BatchResult finish(String operation, int size, Map<Integer, BatchResult.Item> outcome) {
+        BatchResult result = new BatchResult();
+        for (int i = 0; i < size; i++) {
+            result.add(outcome.get(i));
+        }
+        log.info("Service record batch operation={} size={} succeeded={} failed={}",
+                operation, size, result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    private record References(Map<String, Customer> customers, Map<String, Machine> machines) {
+
+        // null when the entry is fine, else the reason it is rejected
+        String check(ServiceRecord record, boolean create) {
+            if (create) {
+                if (record.getCustomerId() == null) return "customerId is required";
+                if (record.getMachineId() == null) return "machineId is required";
+                if (record.getServiceDate() == null) return "serviceDate is required";
+            }
+            if (record.getCustomerId() != null && !customers.containsKey(record.getCustomerId())) {
+                return "Customer not found";
+            }
+            if (record.getMachineId() != null && !machines.containsKey(record.getMachineId())) {
+                return "Machine not found";
+            }
+            return null;
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.weighlanka.backend.service;
 
+import com.weighlanka.backend.dto.ListPage;
+import com.weighlanka.backend.dto.ListQuery;
 import com.weighlanka.backend.dto.ServiceTableRow;
 import com.weighlanka.backend.model.ServiceRecord;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ServiceRecordService {
 
@@ -16,6 +19,8 @@ public interface ServiceRecordService {
 
     List<ServiceRecord> getAllRecords();
 
+    ListPage listRecords(ListQuery query);
+
     List<ServiceRecord> getRecordsByCustomer(String customerId);
 
     List<ServiceRecord> getRecordsByMachine(String machineId);
@@ -24,4 +29,10 @@ public interface ServiceRecordService {
 
     // NEW – for Excel-style table
     List<ServiceTableRow> getDailyReport(LocalDate date);
+
+    // Range report, rows produced lazily from a cursor – caller must close the stream
+    Stream<ServiceTableRow> streamReport(LocalDate from, LocalDate to, String technician, String location);
+
+    // Recompute the report read model from service records – returns rows written
+    long rebuildReport();
 }
@@ -1,53 +1,96 @@
 package com.weighlanka.backend.service;
 
+import com.weighlanka.backend.dto.ListPage;
+import com.weighlanka.backend.dto.ListQuery;
 import com.weighlanka.backend.dto.ServiceTableRow;
-import com.weighlanka.backend.model.Customer;
-import com.weighlanka.backend.model.Machine;
 import com.weighlanka.backend.model.ServiceRecord;
-import com.weighlanka.backend.repository.CustomerRepository;
-import com.weighlanka.backend.repository.MachineRepository;
+import com.weighlanka.backend.model.ServiceReportRow;
 import com.weighlanka.backend.repository.ServiceRecordRepository;
+import com.weighlanka.backend.repository.ServiceReportRowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class ServiceRecordServiceImpl implements ServiceRecordService {
 
+    private static final Logger log = LoggerFactory.getLogger(ServiceRecordServiceImpl.class);
+
     private final ServiceRecordRepository repository;
-    private final CustomerRepository customerRepository;
-    private final MachineRepository machineRepository;
+    private final ServiceReportRowRepository reportRowRepository;
+    private final ServiceReportProjection reportProjection;
+    private final MachineDueDateService dueDateService;
+    private final MongoTemplate mongoTemplate;
+    private final ListQueryService listQueryService;
+    private final int reportBatchSize;
 
     public ServiceRecordServiceImpl(ServiceRecordRepository repository,
-                                    CustomerRepository customerRepository,
-                                    MachineRepository machineRepository) {
+                                    ServiceReportRowRepository reportRowRepository,
+                                    ServiceReportProjection reportProjection,
+                                    MachineDueDateService dueDateService,
+                                    MongoTemplate mongoTemplate,
+                                    ListQueryService listQueryService,
+                                    @Value("${weighlanka.report.batch-size:500}") int reportBatchSize) {
         this.repository = repository;
-        this.customerRepository = customerRepository;
-        this.machineRepository = machineRepository;
+        this.reportRowRepository = reportRowRepository;
+        this.reportProjection = reportProjection;
+        this.dueDateService = dueDateService;
+        this.mongoTemplate = mongoTemplate;
+        this.listQueryService = listQueryService;
+        this.reportBatchSize = reportBatchSize;
     }
 
     @Override
     public ServiceRecord createRecord(ServiceRecord record) {
-        return repository.save(record);
+        ServiceRecord saved = repository.save(record);
+        reportProjection.recordSaved(saved);
+        dueDateService.recordSaved(saved);
+        return saved;
     }
 
+    /**
+     * Partial update: only the fields present in {@code record} are written, with one
+     * findAndModify – no read-modify-write, so concurrent edits of other fields survive.
+     * It returns the document as it was before the write (for the old machine id);
+     * the caller gets that document with the same fields applied.
+     */
     @Override
     public ServiceRecord updateRecord(String id, ServiceRecord record) {
-        ServiceRecord existing = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Service Record not found"));
-
-        existing.setCustomerId(record.getCustomerId());
-        existing.setMachineId(record.getMachineId());
-        existing.setServiceDate(record.getServiceDate());
-        existing.setNextServiceDate(record.getNextServiceDate());
-        existing.setTechnicianName(record.getTechnicianName());
-        existing.setRemarks(record.getRemarks());
-        existing.setServiceCost(record.getServiceCost());
-        existing.setVisitNo(record.getVisitNo());
-        existing.setInvoiceNo(record.getInvoiceNo());
-
-        return repository.save(existing);
+        Update changes = changesOf(record);
+        if (changes.getUpdateObject().isEmpty()) {
+            return getRecordById(id);
+        }
+
+        ServiceRecord saved = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(id)),
+                changes,
+                FindAndModifyOptions.options().returnNew(false),
+                ServiceRecord.class);
+        if (saved == null) {
+            throw new RuntimeException("Service Record not found");
+        }
+        String machineBefore = saved.getMachineId();
+        applyChanges(saved, record);
+
+        reportProjection.recordSaved(saved);
+        if (changesDates(record)) {
+            // old and new machine – either may have lost or gained its newest visit
+            dueDateService.recompute(Arrays.asList(machineBefore, saved.getMachineId()));
+        }
+        return saved;
     }
 
     @Override
@@ -61,6 +104,11 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
         return repository.findAll();
     }
 
+    @Override
+    public ListPage listRecords(ListQuery query) {
+        return listQueryService.find(ServiceRecord.class, query);
+    }
+
     @Override
     public List<ServiceRecord> getRecordsByCustomer(String customerId) {
         return repository.findByCustomerId(customerId);
@@ -73,80 +121,96 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
 
     @Override
     public void deleteRecord(String id) {
-        repository.deleteById(id);
+        ServiceRecord removed = mongoTemplate.findAndRemove(Query.query(Criteria.where("_id").is(id)), ServiceRecord.class);
+        reportProjection.recordDeleted(id);
+        if (removed != null) {
+            dueDateService.recompute(Collections.singleton(removed.getMachineId()));
+        }
     }
 
     /**
      * Build rows for the daily report (Excel-style table).
+     * Read straight from the service_report_rows read model – one indexed query, no join.
      */
     @Override
     public List<ServiceTableRow> getDailyReport(LocalDate date) {
-        List<ServiceRecord> records = repository.findByServiceDate(date);
-
-        System.out.println("📅 Building daily report for date: " + date);
-        System.out.println("📌 Service records found: " + records.size());
-
-        return records.stream().map(record -> {
-
-            // ----- Load Customer -----
-            Customer customer = customerRepository
-                    .findById(record.getCustomerId())
-                    .orElse(null);
-
-            if (customer == null) {
-                System.out.println("❌ Customer not found for ID: " + record.getCustomerId());
-            }
-
-            // ----- Load Machine -----
-            Machine machine = machineRepository
-                    .findById(record.getMachineId())
-                    .orElse(null);
-
-            if (machine == null) {
-                System.out.println("❌ Machine not found for ID: " + record.getMachineId());
-            }
-
-            // ----- Map Customer fields -----
-            String nameAndAddress = "";
-            String location = "";
-            String tel = "";
-
-            if (customer != null) {
-                nameAndAddress = customer.getCustomerName() + ", " + customer.getAddress();
-                location = customer.getLocation();
-                tel = customer.getPhone();
-            }
-
-            // ----- Map Machine fields -----
-            String model = "";
-            String serialNo = "";
-            String cap = "";
-            String regNo = "";
-            String idNo = "";
-
-            if (machine != null) {
-                model = machine.getModel();
-                serialNo = machine.getSerialNumber();
-                cap = machine.getCapacity();
-                regNo = machine.getRegNo();
-                idNo = machine.getIdNo();
-            }
-
-            // ----- Build DTO row -----
-            return new ServiceTableRow(
-                    record.getServiceDate(),        // DATE
-                    record.getVisitNo(),            // NO
-                    record.getInvoiceNo(),          // INV NO
-                    nameAndAddress,                 // NAME & ADDRESS
-                    location,                       // LOCATION
-                    tel,                            // TEL
-                    model,                          // MODEL
-                    serialNo,                       // SERIAL NO
-                    cap,                            // CAP
-                    regNo,                          // REG NO
-                    idNo,                           // ID NO
-                    record.getTechnicianName()      // Serviced By
-            );
-        }).toList();
+        List<ServiceReportRow> rows = reportRowRepository.findByServiceDateOrderByVisitNoAsc(date);
+
+        log.debug("Building daily report date={} records={}", date, rows.size());
+
+        return rows.stream().map(ServiceReportRow::toTableRow).toList();
+    }
+
+    /**
+     * Build rows for every service between {@code from} and {@code to} (inclusive),
+     * optionally narrowed to one technician and/or customer location.
+     * Rows are read from the read model through a Mongo cursor.
+     */
+    @Override
+    public Stream<ServiceTableRow> streamReport(LocalDate from, LocalDate to,
+                                                String technician, String location) {
+        Criteria criteria = Criteria.where("serviceDate").gte(from).lte(to);
+
+        if (technician != null && !technician.isBlank()) {
+            criteria = criteria.and("servicedBy").is(technician);
+        }
+        if (location != null && !location.isBlank()) {
+            criteria = criteria.and("location").is(location);
+        }
+
+        Query query = Query.query(criteria)
+                .with(Sort.by("serviceDate", "visitNo"))
+                .cursorBatchSize(reportBatchSize);
+
+        return mongoTemplate.stream(query, ServiceReportRow.class).map(ServiceReportRow::toTableRow);
+    }
+
+    @Override
+    public long rebuildReport() {
+        return reportProjection.rebuild();
+    }
+
+    /** True when the update can move a machine's last / next service date. */
+    static boolean changesDates(ServiceRecord record) {
+        return record.getMachineId() != null
+                || record.getServiceDate() != null
+                || record.getNextServiceDate() != null;
+    }
+
+    /**
+     * $set for every non-null field of {@code record} (id excluded). Callers must not
+     * send an empty update – Mongo would treat it as a replacement document.
+     */
+    static Update changesOf(ServiceRecord record) {
+        Update update = new Update();
+        setIfPresent(update, "customerId", record.getCustomerId());
+        setIfPresent(update, "machineId", record.getMachineId());
+        setIfPresent(update, "serviceDate", record.getServiceDate());
+        setIfPresent(update, "nextServiceDate", record.getNextServiceDate());
+        setIfPresent(update, "technicianName", record.getTechnicianName());
+        setIfPresent(update, "remarks", record.getRemarks());
+        setIfPresent(update, "serviceCost", record.getServiceCost());
+        setIfPresent(update, "visitNo", record.getVisitNo());
+        setIfPresent(update, "invoiceNo", record.getInvoiceNo());
+        return update;
+    }
+
+    /** The same changes as {@link #changesOf}, applied to a loaded document. */
+    static void applyChanges(ServiceRecord target, ServiceRecord record) {
+        if (record.getCustomerId() != null) target.setCustomerId(record.getCustomerId());
+        if (record.getMachineId() != null) target.setMachineId(record.getMachineId());
+        if (record.getServiceDate() != null) target.setServiceDate(record.getServiceDate());
+        if (record.getNextServiceDate() != null) target.setNextServiceDate(record.getNextServiceDate());
+        if (record.getTechnicianName() != null) target.setTechnicianName(record.getTechnicianName());
+        if (record.getRemarks() != null) target.setRemarks(record.getRemarks());
+        if (record.getServiceCost() != null) target.setServiceCost(record.getServiceCost());
+        if (record.getVisitNo() != null) target.setVisitNo(record.getVisitNo());
+        if (record.getInvoiceNo() != null) target.setInvoiceNo(record.getInvoiceNo());
+    }
+
+    private static void setIfPresent(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        }
     }
 }
@@ -0,0 +1,111 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.ServiceTableRow;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Joins service records with their customers and machines to build report rows.
+ * Customers and machines are loaded with one findAllById call each (minus what is
+ * already cached), so the cost in queries does not grow with the number of records.
+ */
+@Component
+public class ServiceReportAssembler {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceReportAssembler.class);
+
+    private final BulkLookupService lookupService;
+
+    public ServiceReportAssembler(BulkLookupService lookupService) {
+        this.lookupService = lookupService;
+    }
+
+    public List<ServiceTableRow> assemble(List<ServiceRecord> records) {
+        if (records.isEmpty()) {
+            return List.of();
+        }
+
+        // ----- Collect distinct keys -----
+        Set<String> customerIds = new LinkedHashSet<>();
+        Set<String> machineIds = new LinkedHashSet<>();
+        for (ServiceRecord record : records) {
+            if (record.getCustomerId() != null) customerIds.add(record.getCustomerId());
+            if (record.getMachineId() != null) machineIds.add(record.getMachineId());
+        }
+
+        // ----- Resolve in bulk (cache first) -----
+        Map<String, Customer> customers = lookupService.customersById(customerIds);
+        Map<String, Machine> machines = lookupService.machinesById(machineIds);
+
+        // one warning per missing id, not per row
+        customerIds.stream().filter(id -> !customers.containsKey(id))
+                .forEach(id -> log.warn("Customer not found customerId={}", id));
+        machineIds.stream().filter(id -> !machines.containsKey(id))
+                .forEach(id -> log.warn("Machine not found machineId={}", id));
+
+        // ----- Join in memory -----
+        List<ServiceTableRow> rows = new ArrayList<>(records.size());
+        for (ServiceRecord record : records) {
+            rows.add(toRow(record, customers.get(record.getCustomerId()), machines.get(record.getMachineId())));
+        }
+        return rows;
+    }
+
+    /**
+     * Map one record and its (possibly missing) customer and machine to a table row.
+     */
+    public static ServiceTableRow toRow(ServiceRecord record, Customer customer, Machine machine) {
+
+        // ----- Map Customer fields -----
+        String nameAndAddress = "";
+        String location = "";
+        String tel = "";
+
+        if (customer != null) {
+            nameAndAddress = customer.getCustomerName() + ", " + customer.getAddress();
+            location = customer.getLocation();
+            tel = customer.getPhone();
+        }
+
+        // ----- Map Machine fields -----
+        String model = "";
+        String serialNo = "";
+        String cap = "";
+        String regNo = "";
+        String idNo = "";
+
+        if (machine != null) {
+            model = machine.getModel();
+            serialNo = machine.getSerialNumber();
+            cap = machine.getCapacity();
+            regNo = machine.getRegNo();
+            idNo = machine.getIdNo();
+        }
+
+        // ----- Build DTO row -----
+        return new ServiceTableRow(
+                record.getServiceDate(),        // DATE
+                record.getVisitNo(),            // NO
+                record.getInvoiceNo(),          // INV NO
+                nameAndAddress,                 // NAME & ADDRESS
+                location,                       // LOCATION
+                tel,                            // TEL
+                model,                          // MODEL
+                serialNo,                       // SERIAL NO
+                cap,                            // CAP
+                regNo,                          // REG NO
+                idNo,                           // ID NO
+                record.getTechnicianName()      // Serviced By
+        );
+    }
+}
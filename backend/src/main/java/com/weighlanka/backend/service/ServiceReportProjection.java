@@ -0,0 +1,200 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.ServiceTableRow;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.model.ServiceReportRow;
+import com.weighlanka.backend.scheduler.JobRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the service_report_rows read model in step with its sources:
+ * <ul>
+ *   <li>a saved / deleted service record rewrites / removes its own row</li>
+ *   <li>a changed / deleted customer or machine updates all of its rows with one
+ *       multi-document update (only the columns that come from it)</li>
+ *   <li>{@link #rebuild()} recomputes everything in bulk, e.g. after an import, and
+ *       nightly on one instance – which repairs rows for writes made straight to
+ *       Mongo or missed while the app was down</li>
+ * </ul>
+ */
+@Service
+public class ServiceReportProjection {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceReportProjection.class);
+
+    static final String REBUILD_JOB = "report-rebuild";
+
+    private final MongoTemplate mongoTemplate;
+    private final ServiceReportAssembler assembler;
+    private final JobRunner jobRunner;
+    private final int batchSize;
+    private final boolean syncOnStartup;
+
+    public ServiceReportProjection(MongoTemplate mongoTemplate,
+                                   ServiceReportAssembler assembler,
+                                   JobRunner jobRunner,
+                                   @Value("${weighlanka.report.batch-size:500}") int batchSize,
+                                   @Value("${weighlanka.report.read-model.sync-on-startup:true}") boolean syncOnStartup) {
+        this.mongoTemplate = mongoTemplate;
+        this.assembler = assembler;
+        this.jobRunner = jobRunner;
+        this.batchSize = batchSize;
+        this.syncOnStartup = syncOnStartup;
+    }
+
+    // ----- Service records -----
+
+    public void recordSaved(ServiceRecord record) {
+        mongoTemplate.save(toRows(List.of(record), Instant.now()).get(0));
+    }
+
+    /** Bulk version for imports and batch writes – one lookup per chunk, one bulk write. */
+    public void recordsSaved(List<ServiceRecord> records) {
+        if (!records.isEmpty()) {
+            write(toRows(records, Instant.now()));
+        }
+    }
+
+    public void recordDeleted(String recordId) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(recordId)), ServiceReportRow.class);
+    }
+
+    public void recordsDeleted(Collection<String> recordIds) {
+        if (!recordIds.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(recordIds)), ServiceReportRow.class);
+        }
+    }
+
+    // ----- Customers / machines (fan-out) -----
+
+    public long customerChanged(String customerId, Customer customer) {
+        ServiceTableRow columns = ServiceReportAssembler.toRow(new ServiceRecord(), customer, null);
+        Update update = new Update()
+                .set("nameAndAddress", columns.getNameAndAddress())
+                .set("location", columns.getLocation())
+                .set("tel", columns.getTel())
+                .set("syncedAt", Instant.now());
+        return fanOut("customerId", customerId, update);
+    }
+
+    public long machineChanged(String machineId, Machine machine) {
+        ServiceTableRow columns = ServiceReportAssembler.toRow(new ServiceRecord(), null, machine);
+        Update update = new Update()
+                .set("model", columns.getModel())
+                .set("serialNo", columns.getSerialNo())
+                .set("cap", columns.getCap())
+                .set("regNo", columns.getRegNo())
+                .set("idNo", columns.getIdNo())
+                .set("syncedAt", Instant.now());
+        return fanOut("machineId", machineId, update);
+    }
+
+    private long fanOut(String key, String id, Update update) {
+        long modified = mongoTemplate.updateMulti(Query.query(Criteria.where(key).is(id)), update, ServiceReportRow.class)
+                .getModifiedCount();
+        log.debug("Report rows updated {}={} rows={}", key, id, modified);
+        return modified;
+    }
+
+    // ----- Full rebuild -----
+
+    /**
+     * Recompute every row from service_records in batches (bulk upserts), then drop
+     * rows whose record no longer exists. Reports stay readable while it runs.
+     *
+     * @return the number of rows written
+     */
+    public long rebuild() {
+        Instant started = Instant.now().truncatedTo(ChronoUnit.MILLIS);   // stored as a BSON date
+        long written = 0;
+
+        try (Stream<ServiceRecord> records = mongoTemplate.stream(
+                new Query().cursorBatchSize(batchSize), ServiceRecord.class)) {
+            Iterator<ServiceRecord> source = records.iterator();
+            List<ServiceRecord> batch = new ArrayList<>(batchSize);
+            while (source.hasNext()) {
+                batch.add(source.next());
+                if (batch.size() == batchSize || !source.hasNext()) {
+                    written += write(toRows(batch, started));
+                    batch.clear();
+                }
+            }
+        }
+
+        long removed = mongoTemplate.remove(Query.query(Criteria.where("syncedAt").lt(started)), ServiceReportRow.class)
+                .getDeletedCount();
+        log.info("Report rows rebuilt written={} removed={} in {} ms",
+                written, removed, Duration.between(started, Instant.now()).toMillis());
+        return written;
+    }
+
+    // Fill the read model on first start (or after it was dropped); other drift is left to the nightly rebuild
+    @Order(3)
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncOnStartup() {
+        if (!syncOnStartup) {
+            return;
+        }
+        try {
+            long rows = mongoTemplate.estimatedCount(ServiceReportRow.class);
+            long records = mongoTemplate.estimatedCount(ServiceRecord.class);
+            if (rows != records) {
+                log.info("Report rows out of step rows={} records={} – rebuilding", rows, records);
+                rebuild();
+            }
+        } catch (DataAccessException e) {
+            log.error("Could not sync report rows error={}", e.getMessage());
+        }
+    }
+
+    // Counts alone miss changed rows, so rebuild in full every night (one instance, recorded in job_runs)
+    @Scheduled(cron = "${weighlanka.report.read-model.rebuild-cron:0 30 2 * * *}")
+    public void scheduledRebuild() {
+        jobRunner.submit(REBUILD_JOB, () -> Map.of("rows", rebuild()));
+    }
+
+    private List<ServiceReportRow> toRows(List<ServiceRecord> records, Instant syncedAt) {
+        List<ServiceTableRow> table = assembler.assemble(records);
+        List<ServiceReportRow> rows = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            rows.add(ServiceReportRow.of(records.get(i), table.get(i), syncedAt));
+        }
+        return rows;
+    }
+
+    private int write(List<ServiceReportRow> rows) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ServiceReportRow.class);
+        for (ServiceReportRow row : rows) {
+            bulk.replaceOne(Query.query(Criteria.where("_id").is(row.getId())), row,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        bulk.execute();
+        return rows.size();
+    }
+}
@@ -0,0 +1,400 @@
+package com.weighlanka.backend.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.weighlanka.backend.dto.ImportResult;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.search.SearchIndex;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Imports legacy service sheets (.xlsx / .csv with the report columns: DATE, NO,
+ * INV NO, NAME &amp; ADDRESS, LOCATION, TEL, MODEL, SERIAL NO, CAP, REG NO, ID NO,
+ * Serviced By).
+ * <ul>
+ *   <li>rows are parsed one at a time and written in chunks with unordered bulk inserts</li>
+ *   <li>customers are matched by phone (last 9 digits, else by name), machines by serial
+ *       number – existing ones are reused, new ones get their ids here</li>
+ *   <li>a row whose service is already stored (same machine, date and invoice no) is
+ *       skipped, so a sheet can be imported again, e.g. after a failed run</li>
+ *   <li>a bad row is reported with its row number and skipped; the rest still imports.
+ *       The same goes for rows whose customer, machine or record cannot be written</li>
+ * </ul>
+ */
+@Service
+public class ServiceSheetImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceSheetImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // ISO first (our own export), then the usual Sri Lankan day-first spellings
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("d/M/uuuu"),
+            DateTimeFormatter.ofPattern("d-M-uuuu"),
+            DateTimeFormatter.ofPattern("d.M.uuuu"),
+            DateTimeFormatter.ofPattern("uuuu/M/d")
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final SheetReader sheetReader;
+    private final ServiceReportProjection reportProjection;
+    private final MachineDueDateService dueDateService;
+    private final SearchIndex searchIndex;
+    private final int chunkSize;
+
+    public ServiceSheetImportService(MongoTemplate mongoTemplate,
+                                     SheetReader sheetReader,
+                                     ServiceReportProjection reportProjection,
+                                     MachineDueDateService dueDateService,
+                                     SearchIndex searchIndex,
+                                     @Value("${weighlanka.import.chunk-size:1000}") int chunkSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.sheetReader = sheetReader;
+        this.reportProjection = reportProjection;
+        this.dueDateService = dueDateService;
+        this.searchIndex = searchIndex;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResult importSheet(String filename, InputStream in) throws IOException {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun();
+
+        if (name.endsWith(".csv")) {
+            sheetReader.readCsv(in, run::row);
+        } else if (name.endsWith(".xlsx")) {
+            // the SAX reader needs random access to the zip – spool to a temp file, not memory
+            Path temp = Files.createTempFile("service-sheet-", ".xlsx");
+            try {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                sheetReader.readXlsx(temp.toFile(), run::row);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } else {
+            throw new InvalidRequestException("Only .xlsx and .csv files can be imported");
+        }
+
+        if (run.columns == null) {
+            throw new InvalidRequestException("No header row with a DATE column found");
+        }
+        run.flush();
+
+        ImportResult result = run.result;
+        result.setElapsedMs((System.nanoTime() - start) / 1_000_000);
+        log.info("Sheet imported file={} rows={} records={} skipped={} customers={} machines={} errors={} in {} ms",
+                filename, result.getRowsRead(), result.getRecordsImported(), result.getRecordsSkipped(),
+                result.getCustomersCreated(), result.getMachinesCreated(), result.getErrorCount(), result.getElapsedMs());
+        return result;
+    }
+
+    // State of one import: lookups, pending chunk, counters
+    private class ImportRun {
+
+        private final ImportResult result = new ImportResult();
+        private final Map<String, String> customerIds = new HashMap<>();
+        private final Map<String, String> machineIds = new HashMap<>();
+        private final Set<String> recordKeys = new HashSet<>();
+
+        private final List<Customer> newCustomers = new ArrayList<>();
+        private final List<Integer> customerRowNumbers = new ArrayList<>();
+        private final List<Machine> newMachines = new ArrayList<>();
+        private final List<Integer> machineRowNumbers = new ArrayList<>();
+        private final List<ServiceRecord> records = new ArrayList<>();
+        private final List<Integer> recordRowNumbers = new ArrayList<>();
+
+        private Map<String, Integer> columns;
+
+        ImportRun() {
+            // ----- Existing customers / machines, keys only -----
+            Query customers = new Query();
+            customers.fields().include("phone", "customerName");
+            try (Stream<Customer> stream = mongoTemplate.stream(customers, Customer.class)) {
+                stream.forEach(c -> customerIds.putIfAbsent(customerKey(c.getPhone(), c.getCustomerName()), c.getId()));
+            }
+
+            Query machines = new Query();
+            machines.fields().include("serialNumber", "customerId", "model", "regNo", "idNo");
+            try (Stream<Machine> stream = mongoTemplate.stream(machines, Machine.class)) {
+                stream.forEach(m -> machineIds.putIfAbsent(machineKey(m.getSerialNumber(), m.getCustomerId(),
+                        m.getModel(), m.getRegNo(), m.getIdNo()), m.getId()));
+            }
+
+            Query records = new Query();
+            records.fields().include("machineId", "serviceDate", "invoiceNo");
+            try (Stream<ServiceRecord> stream = mongoTemplate.stream(records, ServiceRecord.class)) {
+                stream.forEach(r -> recordKeys.add(recordKey(r.getMachineId(), r.getServiceDate(), r.getInvoiceNo())));
+            }
+        }
+
+        void row(int rowNumber, List<String> cells) {
+            if (columns == null) {
+                readHeader(cells);
+                return;
+            }
+            result.setRowsRead(result.getRowsRead() + 1);
+
+            try {
+                add(rowNumber, cells);
+            } catch (IllegalArgumentException e) {
+                error(rowNumber, e.getMessage());
+                return;
+            }
+
+            if (records.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        // Rows above the header (titles, blank lines) are skipped
+        private void readHeader(List<String> cells) {
+            Map<String, Integer> found = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                found.putIfAbsent(cells.get(i).trim().toUpperCase(Locale.ROOT), i);
+            }
+            if (found.containsKey("DATE")) {
+                columns = found;
+            }
+        }
+
+        private void add(int rowNumber, List<String> cells) {
+            LocalDate date = parseDate(cell(cells, "DATE"));
+            Integer visitNo = parseNumber(cell(cells, "NO"));
+
+            String nameAndAddress = cell(cells, "NAME & ADDRESS");
+            String phone = cell(cells, "TEL");
+            if (nameAndAddress.isEmpty() && phone.isEmpty()) {
+                throw new IllegalArgumentException("NAME & ADDRESS or TEL is required");
+            }
+            int comma = nameAndAddress.indexOf(',');
+            String customerName = comma < 0 ? nameAndAddress : nameAndAddress.substring(0, comma).trim();
+            String address = comma < 0 ? "" : nameAndAddress.substring(comma + 1).trim();
+
+            // ----- Customer -----
+            String customerKey = customerKey(phone, customerName);
+            String customerId = customerIds.get(customerKey);
+            if (customerId == null) {
+                Customer customer = new Customer();
+                customer.setId(new ObjectId().toHexString());
+                customer.setCustomerName(customerName);
+                customer.setAddress(address);
+                customer.setPhone(phone);
+                customer.setLocation(cell(cells, "LOCATION"));
+                newCustomers.add(customer);
+                customerRowNumbers.add(rowNumber);
+                customerIds.put(customerKey, customer.getId());
+                customerId = customer.getId();
+            }
+
+            // ----- Machine -----
+            String serial = cell(cells, "SERIAL NO");
+            String model = cell(cells, "MODEL");
+            String regNo = cell(cells, "REG NO");
+            String idNo = cell(cells, "ID NO");
+            String machineKey = machineKey(serial, customerId, model, regNo, idNo);
+            String machineId = machineIds.get(machineKey);
+            if (machineId == null) {
+                Machine machine = new Machine();
+                machine.setId(new ObjectId().toHexString());
+                machine.setCustomerId(customerId);
+                machine.setModel(model);
+                machine.setSerialNumber(serial);
+                machine.setCapacity(cell(cells, "CAP"));
+                machine.setRegNo(regNo);
+                machine.setIdNo(idNo);
+                newMachines.add(machine);
+                machineRowNumbers.add(rowNumber);
+                machineIds.put(machineKey, machine.getId());
+                machineId = machine.getId();
+            }
+
+            // ----- Service record -----
+            String invoiceNo = cell(cells, "INV NO");
+            if (!recordKeys.add(recordKey(machineId, date, invoiceNo))) {
+                result.setRecordsSkipped(result.getRecordsSkipped() + 1);
+                return;
+            }
+            ServiceRecord record = new ServiceRecord();
+            record.setId(new ObjectId().toHexString());
+            record.setCustomerId(customerId);
+            record.setMachineId(machineId);
+            record.setServiceDate(date);
+            record.setNextServiceDate(date.plusYears(1));
+            record.setVisitNo(visitNo);
+            record.setInvoiceNo(invoiceNo);
+            record.setTechnicianName(cell(cells, "SERVICED BY"));
+            records.add(record);
+            recordRowNumbers.add(rowNumber);
+        }
+
+        void flush() {
+            Set<Integer> failedRows = new HashSet<>();
+
+            // ----- Customers, then machines whose customer made it -----
+            Set<String> failedCustomers = insert(newCustomers, customerRowNumbers, Customer.class, Customer::getId, failedRows);
+            Set<String> failedMachines = new HashSet<>();
+            for (int i = newMachines.size() - 1; i >= 0; i--) {
+                if (failedCustomers.contains(newMachines.get(i).getCustomerId())) {
+                    failedMachines.add(newMachines.remove(i).getId());
+                    fail(machineRowNumbers.remove(i), "Customer could not be saved", failedRows);
+                }
+            }
+            failedMachines.addAll(insert(newMachines, machineRowNumbers, Machine.class, Machine::getId, failedRows));
+
+            newCustomers.removeIf(c -> failedCustomers.contains(c.getId()));
+            newMachines.removeIf(m -> failedMachines.contains(m.getId()));
+            searchIndex.customersSaved(newCustomers);
+            searchIndex.machinesSaved(newMachines);
+            result.setCustomersCreated(result.getCustomersCreated() + newCustomers.size());
+            result.setMachinesCreated(result.getMachinesCreated() + newMachines.size());
+
+            // later rows with the same key create them again instead of pointing at missing ids
+            customerIds.values().removeIf(failedCustomers::contains);
+            machineIds.values().removeIf(failedMachines::contains);
+
+            // ----- Service records, without the ones whose customer or machine is missing -----
+            for (int i = records.size() - 1; i >= 0; i--) {
+                ServiceRecord record = records.get(i);
+                if (failedCustomers.contains(record.getCustomerId()) || failedMachines.contains(record.getMachineId())) {
+                    records.remove(i);
+                    recordKeys.remove(recordKey(record.getMachineId(), record.getServiceDate(), record.getInvoiceNo()));
+                    fail(recordRowNumbers.remove(i), "Customer or machine could not be saved", failedRows);
+                }
+            }
+            Set<String> failedRecords = insert(records, recordRowNumbers, ServiceRecord.class, ServiceRecord::getId, failedRows);
+            List<ServiceRecord> saved = records.stream().filter(r -> !failedRecords.contains(r.getId())).toList();
+
+            reportProjection.recordsSaved(saved);
+            dueDateService.recordsSaved(saved);   // last / next service date, never moved backwards
+            result.setRecordsImported(result.getRecordsImported() + saved.size());
+
+            newCustomers.clear();
+            customerRowNumbers.clear();
+            newMachines.clear();
+            machineRowNumbers.clear();
+            records.clear();
+            recordRowNumbers.clear();
+        }
+
+        // Unordered bulk insert: everything except the failed documents is written.
+        // Failed documents are reported on their row; their ids are returned.
+        private <T> Set<String> insert(List<T> documents, List<Integer> rowNumbers, Class<T> type,
+                                       Function<T, String> id, Set<Integer> failedRows) {
+            Set<String> failed = new HashSet<>();
+            if (documents.isEmpty()) {
+                return failed;
+            }
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(documents).execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    fail(rowNumbers.get(error.getIndex()), error.getMessage(), failedRows);
+                    failed.add(id.apply(documents.get(error.getIndex())));
+                }
+            }
+            return failed;
+        }
+
+        // One error per row, even when its customer, machine and record all fail
+        private void fail(int rowNumber, String message, Set<Integer> failedRows) {
+            if (failedRows.add(rowNumber)) {
+                error(rowNumber, message);
+            }
+        }
+
+        private String cell(List<String> cells, String header) {
+            Integer index = columns.get(header);
+            if (index == null || index >= cells.size()) {
+                return "";
+            }
+            return cells.get(index).trim();
+        }
+
+        private void error(int rowNumber, String message) {
+            result.setErrorCount(result.getErrorCount() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add(new ImportResult.RowError(rowNumber, message));
+            }
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("DATE is required");
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next spelling
+            }
+        }
+        throw new IllegalArgumentException("Invalid DATE: " + value);
+    }
+
+    private static Integer parseNumber(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return (int) Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid NO: " + value);
+        }
+    }
+
+    // Same phone written as 0771234567, +94 77 123 4567 or 77-1234567 → one customer
+    static String customerKey(String phone, String name) {
+        String digits = phone == null ? "" : phone.replaceAll("\\D", "");
+        if (digits.length() >= 9) {
+            return "tel:" + digits.substring(digits.length() - 9);
+        }
+        return "name:" + (name == null ? "" : name.trim().toLowerCase(Locale.ROOT));
+    }
+
+    static String machineKey(String serial, String customerId, String model, String regNo, String idNo) {
+        if (serial != null && !serial.isBlank()) {
+            return "sn:" + serial.replaceAll("\\s", "").toUpperCase(Locale.ROOT);
+        }
+        // no serial on the sheet – fall back to what identifies the scale at this customer
+        return "c:" + customerId + "|" + normalize(model) + "|" + normalize(regNo) + "|" + normalize(idNo);
+    }
+
+    static String recordKey(String machineId, LocalDate serviceDate, String invoiceNo) {
+        return machineId + "|" + serviceDate + "|" + normalize(invoiceNo);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
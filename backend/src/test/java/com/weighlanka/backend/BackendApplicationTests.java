@@ -3,7 +3,15 @@ package com.weighlanka.backend;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// No MongoDB in the test environment – skip the startup index and reminder work
+@SpringBootTest(properties = {
+        "weighlanka.mongo.ensure-indexes=false",
+        "weighlanka.mongo.query-plan-check=off",
+        "weighlanka.reminders.enabled=false",
+        "weighlanka.report.read-model.sync-on-startup=false",
+        "weighlanka.search.build-on-startup=false",
+        "weighlanka.machines.backfill-on-startup=false"
+})
 class BackendApplicationTests {
 
     @Test
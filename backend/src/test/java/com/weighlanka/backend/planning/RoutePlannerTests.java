@@ -0,0 +1,60 @@
+package com.weighlanka.backend.planning;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoutePlannerTests {
+
+    private final LocationDirectory locations = new LocationDirectory(new ClassPathResource("planning/locations.csv"), 1.0);
+    private final RoutePlanner planner = new RoutePlanner(locations);
+
+    @Test
+    void distanceTableIsRoughlyRight() {
+        // Colombo – Kandy is about 95 km in a straight line
+        assertThat(locations.km(locations.indexOf("colombo"), locations.indexOf("Kandy"))).isBetween(85.0, 105.0);
+        assertThat(locations.indexOf(" Embilipitiya ")).isNotNegative();
+        assertThat(locations.indexOf("Atlantis")).isEqualTo(-1);
+    }
+
+    @Test
+    void routeVisitsCoastalTownsInOrder() {
+        int colombo = locations.indexOf("Colombo");
+        List<RoutePlanner.Visit<String>> visits = new ArrayList<>();
+        for (String town : List.of("Matara", "Kalutara", "Galle", "Kalutara", "Hikkaduwa")) {
+            visits.add(new RoutePlanner.Visit<>(locations.indexOf(town), LocalDate.of(2026, 1, 1), town));
+        }
+
+        RoutePlanner.Route<String> route = planner.route(colombo, visits);
+
+        List<String> towns = route.stops().stream().map(stop -> locations.name(stop.location())).toList();
+        // down the coast and back, in either direction
+        assertThat(towns).isIn(List.of("Kalutara", "Hikkaduwa", "Galle", "Matara"),
+                List.of("Matara", "Galle", "Hikkaduwa", "Kalutara"));
+        assertThat(route.stops().get(towns.indexOf("Kalutara")).visits()).hasSize(2);
+    }
+
+    @Test
+    void clustersRespectCapacityAndKeepEveryVisit() {
+        int colombo = locations.indexOf("Colombo");
+        Random random = new Random(7);
+        List<RoutePlanner.Visit<Integer>> visits = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            visits.add(new RoutePlanner.Visit<>(random.nextInt(locations.size()), LocalDate.of(2026, 1, 1).plusDays(i % 14), i));
+        }
+
+        // timing is measured by RoutePlannerBenchmark in the benchmarks module
+        List<List<RoutePlanner.Visit<Integer>>> days = planner.cluster(colombo, visits, 8);
+
+        assertThat(days).hasSize(625).allSatisfy(day -> assertThat(day).hasSizeLessThanOrEqualTo(8));
+        assertThat(days.stream().mapToInt(List::size).sum()).isEqualTo(5000);
+        assertThat(days).allSatisfy(day -> assertThat(planner.route(colombo, day).stops())
+                .flatExtracting(RoutePlanner.Stop::visits).hasSameSizeAs(day));
+    }
+}
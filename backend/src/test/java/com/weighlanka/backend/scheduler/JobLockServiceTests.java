@@ -0,0 +1,87 @@
+package com.weighlanka.backend.scheduler;
+
+import com.weighlanka.backend.model.JobLock;
+import com.weighlanka.backend.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobLockServiceTests {
+
+    private static final String JOB = "daily-reminders";
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private JobLockService first;
+    private JobLockService second;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new InMemoryMongo();
+        mongoTemplate = mongo.template();
+        first = new JobLockService(mongoTemplate, "1@app-a");
+        second = new JobLockService(mongoTemplate, "2@app-b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void skipsWhileTheLeaseIsHeld() {
+        JobLockService.Lease lease = first.tryLock(JOB, HOUR);
+
+        assertThat(lease).isNotNull();
+        assertThat(second.tryLock(JOB, HOUR)).isNull();
+        assertThat(first.tryLock(JOB, HOUR)).isNull();      // not re-entrant either
+        assertThat(second.tryLock("outbox-drain", HOUR)).isNotNull();
+        assertThat(holder()).isEqualTo("1@app-a");
+    }
+
+    @Test
+    void takesOverAnExpiredLease() {
+        first.tryLock(JOB, Duration.ZERO);                  // crashed holder, lease already over
+
+        JobLockService.Lease lease = second.tryLock(JOB, HOUR);
+
+        assertThat(lease).isNotNull();
+        assertThat(holder()).isEqualTo("2@app-b");
+        assertThat(mongoTemplate.findAll(JobLock.class)).hasSize(1);
+    }
+
+    @Test
+    void onlyTheOwnerCanUnlock() {
+        JobLockService.Lease stale = first.tryLock(JOB, Duration.ZERO);
+        JobLockService.Lease current = second.tryLock(JOB, HOUR);
+
+        first.unlock(stale, Duration.ZERO);                 // its lease was taken – no effect
+        assertThat(first.tryLock(JOB, HOUR)).isNull();
+        assertThat(holder()).isEqualTo("2@app-b");
+
+        second.unlock(current, Duration.ZERO);
+        assertThat(first.tryLock(JOB, HOUR)).isNotNull();
+    }
+
+    @Test
+    void unlockKeepsTheLeaseForAtLeastTheMinimum() {
+        JobLockService.Lease lease = first.tryLock(JOB, HOUR);
+
+        first.unlock(lease, HOUR);
+
+        assertThat(second.tryLock(JOB, HOUR)).isNull();
+        assertThat(mongoTemplate.findById(JOB, JobLock.class).getLockedUntil())
+                .isEqualTo(lease.lockedAt().plus(HOUR).truncatedTo(ChronoUnit.MILLIS));     // Mongo keeps millis
+    }
+
+    private String holder() {
+        return mongoTemplate.findById(JOB, JobLock.class).getLockedBy();
+    }
+}
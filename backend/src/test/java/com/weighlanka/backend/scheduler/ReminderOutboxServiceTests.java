@@ -0,0 +1,215 @@
+package com.weighlanka.backend.scheduler;
+
+import com.weighlanka.backend.model.ReminderOutbox;
+import com.weighlanka.backend.model.ReminderOutbox.Status;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.repository.ReminderOutboxRepository;
+import com.weighlanka.backend.repository.ServiceRecordRepository;
+import com.weighlanka.backend.scheduler.ReminderDispatcher.Outcome;
+import com.weighlanka.backend.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReminderOutboxServiceTests {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(15);
+    private static final int MAX_ATTEMPTS = 3;
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private ReminderDispatcher dispatcher;
+    private ReminderOutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new InMemoryMongo();
+        mongoTemplate = mongo.template();
+        dispatcher = mock(ReminderDispatcher.class);
+        outboxService = new ReminderOutboxService(mongoTemplate, mongo.repository(ServiceRecordRepository.class),
+                mongo.repository(ReminderOutboxRepository.class), dispatcher,
+                7, 10, MAX_ATTEMPTS, Duration.ofMinutes(10), RETRY_DELAY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void enqueueLooksBackAndQueuesEachDueRecordOnce() {
+        record(TODAY);
+        record(TODAY.minusDays(7));         // missed during downtime
+        record(TODAY.minusDays(8));         // outside the look-back window
+        record(TODAY.plusDays(1));
+
+        assertThat(outboxService.enqueueDue(TODAY)).isEqualTo(2);
+        assertThat(outboxService.enqueueDue(TODAY)).isZero();
+        assertThat(outboxService.enqueueDue(TODAY.plusDays(1))).isEqualTo(1);
+
+        assertThat(mongoTemplate.findAll(ReminderOutbox.class)).hasSize(3)
+                .allSatisfy(entry -> {
+                    assertThat(entry.getStatus()).isEqualTo(Status.PENDING);
+                    assertThat(entry.getAttempts()).isZero();
+                });
+        assertThat(outboxService.pendingCount()).isEqualTo(3);
+    }
+
+    @Test
+    void drainRecordsEveryOutcome() {
+        ServiceRecord sent = record(TODAY);
+        ServiceRecord skipped = record(TODAY);
+        ServiceRecord failed = record(TODAY);
+        ServiceRecord moved = record(TODAY);
+        outboxService.enqueueDue(TODAY);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(moved.getId())),
+                Update.update("nextServiceDate", TODAY.plusYears(1)), ServiceRecord.class);
+        when(dispatcher.deliverAll(any())).thenReturn(List.of(Outcome.SENT, Outcome.SKIPPED, Outcome.FAILED));
+
+        Instant before = Instant.now();
+        DispatchSummary summary = outboxService.drain();
+
+        assertThat(summary.getSent()).isEqualTo(1);
+        assertThat(summary.getSkipped()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(1);
+        verify(dispatcher).deliverAll(any());       // the failed entry waits for its retry delay
+
+        assertThat(entry(sent).getStatus()).isEqualTo(Status.SENT);
+        assertThat(entry(sent).getSentAt()).isNotNull();
+        assertThat(entry(sent).getLockedBy()).isNull();
+        assertThat(entry(skipped).getStatus()).isEqualTo(Status.SKIPPED);
+        assertThat(entry(moved).getLastError()).isEqualTo("Service record changed or deleted");
+
+        ReminderOutbox retry = entry(failed);
+        assertThat(retry.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(retry.getAttempts()).isEqualTo(1);
+        assertThat(retry.getNextAttemptAt()).isAfterOrEqualTo(before.plus(RETRY_DELAY).minusMillis(1));
+    }
+
+    @Test
+    void givesUpAfterTheLastAttempt() {
+        ServiceRecord record = record(TODAY);
+        outboxService.enqueueDue(TODAY);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("serviceRecordId").is(record.getId())),
+                Update.update("attempts", MAX_ATTEMPTS - 1), ReminderOutbox.class);
+        when(dispatcher.deliverAll(any())).thenReturn(List.of(Outcome.FAILED));
+
+        outboxService.drain();
+
+        assertThat(entry(record).getStatus()).isEqualTo(Status.FAILED);
+        assertThat(entry(record).getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(entry(record).getLastError()).isEqualTo("Gave up after 3 attempts");
+    }
+
+    @Test
+    void takesOverExpiredLeasesAndCountsTheCrashedAttempt() {
+        ServiceRecord crashed = record(TODAY);
+        ServiceRecord held = record(TODAY);
+        ServiceRecord poison = record(TODAY);
+        leased(crashed, Instant.now().minusSeconds(1), 1);
+        leased(held, Instant.now().plusSeconds(600), 1);
+        leased(poison, Instant.now().minusSeconds(1), MAX_ATTEMPTS);
+        when(dispatcher.deliverAll(any())).thenReturn(List.of(Outcome.SENT));
+
+        outboxService.drain();
+
+        verify(dispatcher).deliverAll(List.of(crashed));
+        assertThat(entry(crashed).getStatus()).isEqualTo(Status.SENT);
+        assertThat(entry(crashed).getAttempts()).isEqualTo(2);
+        assertThat(entry(held).getStatus()).isEqualTo(Status.SENDING);
+        assertThat(entry(held).getLockedBy()).isEqualTo("other-node");
+        assertThat(entry(poison).getStatus()).isEqualTo(Status.FAILED);
+        assertThat(entry(poison).getLastError()).isEqualTo("Gave up after 3 attempts (lease expired)");
+    }
+
+    @Test
+    void outcomeIsDroppedWhenTheLeaseWasTakenMeanwhile() {
+        ServiceRecord record = record(TODAY);
+        outboxService.enqueueDue(TODAY);
+        when(dispatcher.deliverAll(any())).thenAnswer(invocation -> {
+            // our lease expired mid-send and another node claimed the entry
+            mongoTemplate.updateFirst(Query.query(Criteria.where("serviceRecordId").is(record.getId())),
+                    new Update().set("lockedBy", "other-node").set("lockedUntil", Instant.now().plusSeconds(600)),
+                    ReminderOutbox.class);
+            return List.of(Outcome.FAILED);
+        });
+
+        outboxService.drain();
+
+        assertThat(entry(record).getStatus()).isEqualTo(Status.SENDING);
+        assertThat(entry(record).getLockedBy()).isEqualTo("other-node");
+    }
+
+    @Test
+    void interruptedSendsKeepTheirLease() {
+        ServiceRecord record = record(TODAY);
+        outboxService.enqueueDue(TODAY);
+        when(dispatcher.deliverAll(any())).thenReturn(List.of(Outcome.UNKNOWN));
+
+        DispatchSummary summary = outboxService.drain();
+
+        assertThat(summary.getSent() + summary.getFailed() + summary.getSkipped()).isZero();
+        assertThat(entry(record).getStatus()).isEqualTo(Status.SENDING);
+        assertThat(entry(record).getLockedUntil()).isAfter(Instant.now());
+
+        // not claimed again before the lease runs out
+        outboxService.drain();
+        verify(dispatcher).deliverAll(any());
+    }
+
+    @Test
+    void drainWithNothingDueDoesNotDispatch() {
+        record(TODAY.plusDays(1));
+        outboxService.enqueueDue(TODAY);
+
+        assertThat(outboxService.drain().getSent()).isZero();
+        verify(dispatcher, never()).deliverAll(any());
+    }
+
+    // ----- Helpers -----
+
+    private ServiceRecord record(LocalDate nextServiceDate) {
+        ServiceRecord record = new ServiceRecord();
+        record.setCustomerId("c1");
+        record.setMachineId("m1");
+        record.setServiceDate(nextServiceDate.minusYears(1));
+        record.setNextServiceDate(nextServiceDate);
+        return mongoTemplate.insert(record);
+    }
+
+    // An entry claimed by another node whose lease ends at lockedUntil
+    private void leased(ServiceRecord record, Instant lockedUntil, int attempts) {
+        ReminderOutbox entry = new ReminderOutbox();
+        entry.setServiceRecordId(record.getId());
+        entry.setDueDate(record.getNextServiceDate());
+        entry.setStatus(Status.SENDING);
+        entry.setAttempts(attempts);
+        entry.setCreatedAt(Instant.now());
+        entry.setNextAttemptAt(Instant.now());
+        entry.setLockedUntil(lockedUntil);
+        entry.setLockedBy("other-node");
+        mongoTemplate.insert(entry);
+    }
+
+    private ReminderOutbox entry(ServiceRecord record) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("serviceRecordId").is(record.getId())),
+                ReminderOutbox.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.weighlanka.backend.search;
+
+import com.weighlanka.backend.dto.SearchResult;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.SearchEntry;
+import com.weighlanka.backend.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTests {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new InMemoryMongo();
+        mongoTemplate = mongo.template();
+        index = new SearchIndex(mongoTemplate, false, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void matchesPrefixesOfEveryWordAndRanksExactWordsFirst() {
+        index.customerSaved(customer("c1", "Perera Stores", "077 123 4567", "Galle"));
+        index.customerSaved(customer("c2", "Pereira Traders", "0112345678", "Perera Road"));
+        index.customerSaved(customer("c3", "Silva Hardware", "+94 77 999 8888", "Matara"));
+
+        assertThat(ids(index.search("per", null, 0, 10))).containsExactlyInAnyOrder("c1", "c2");
+        assertThat(ids(index.search("perera", null, 0, 10))).containsExactly("c1", "c2");   // name beats location
+        assertThat(ids(index.search("per gal", null, 0, 10))).containsExactly("c1");
+        assertThat(ids(index.search("nobody", null, 0, 10))).isEmpty();
+    }
+
+    @Test
+    void phonesMatchWithOrWithoutPrefixAndMachinesByCode() {
+        index.customerSaved(customer("c3", "Silva Hardware", "+94 77 999 8888", "Matara"));
+        Machine machine = new Machine();
+        machine.setId("m1");
+        machine.setCustomerId("c3");
+        machine.setSerialNumber("AB-12/345");
+        machine.setRegNo("WM 778");
+        index.machineSaved(machine);
+
+        assertThat(ids(index.search("0779998", null, 0, 10))).containsExactly("c3");
+        assertThat(ids(index.search("77999", null, 0, 10))).containsExactly("c3");
+        assertThat(ids(index.search("9477", null, 0, 10))).containsExactly("c3");
+        assertThat(ids(index.search("ab12", SearchIndex.MACHINE, 0, 10))).containsExactly("m1");
+        assertThat(ids(index.search("wm", SearchIndex.CUSTOMER, 0, 10))).isEmpty();
+
+        index.machineDeleted("m1");
+        assertThat(ids(index.search("ab12", null, 0, 10))).isEmpty();
+    }
+
+    @Test
+    void pagesThroughHits() {
+        for (int i = 0; i < 25; i++) {
+            index.customerSaved(customer("c" + i, "Customer " + i, null, "Kandy"));
+        }
+
+        SearchResult second = index.search("kandy", null, 1, 10);
+        assertThat(second.getTotal()).isEqualTo(25);
+        assertThat(second.getHits()).hasSize(10);
+        assertThat(index.search("kandy", null, 2, 10).getHits()).hasSize(5);
+    }
+
+    @Test
+    void writesThroughOneInstanceAreFoundByAnother() {
+        SearchIndex replica = new SearchIndex(mongoTemplate, false, 1000);
+
+        index.customerSaved(customer("c1", "Perera Stores", null, "Galle"));
+        assertThat(ids(replica.search("perera", null, 0, 10))).containsExactly("c1");
+
+        index.customerSaved(customer("c1", "Perera Holdings", null, "Galle"));
+        assertThat(ids(replica.search("holdings", null, 0, 10))).containsExactly("c1");
+        assertThat(ids(replica.search("stores", null, 0, 10))).isEmpty();
+
+        index.customerDeleted("c1");
+        assertThat(ids(replica.search("perera", null, 0, 10))).isEmpty();
+    }
+
+    @Test
+    void rankingCoversCappedCandidatesAndTotalCountsEveryMatch() {
+        SearchIndex capped = new SearchIndex(mongoTemplate, false, 3);
+        for (int i = 0; i < 5; i++) {
+            index.customerSaved(customer("c" + i, "Customer " + i, null, "Kandy"));
+        }
+
+        SearchResult result = capped.search("kandy", null, 0, 10);
+        assertThat(result.getTotal()).isEqualTo(5);
+        assertThat(result.getHits()).hasSize(3);
+    }
+
+    @Test
+    void rebuildAddsMissingEntriesDropsOrphansAndKeepsNewerOnes() {
+        Customer imported = mongoTemplate.insert(customer(null, "Silva Hardware", null, "Matara"));
+        Customer edited = mongoTemplate.insert(customer(null, "Perera Stores", null, "Galle"));
+        index.customerSaved(customer(edited.getId(), "Perera Holdings", null, "Galle"));   // newer than the stored copy
+        index.customerSaved(customer("gone", "Fernando Mills", null, "Kandy"));           // deleted around the service
+
+        index.rebuild();
+
+        assertThat(ids(index.search("silva", null, 0, 10))).containsExactly(imported.getId());
+        assertThat(ids(index.search("holdings", null, 0, 10))).containsExactly(edited.getId());
+        assertThat(ids(index.search("fernando", null, 0, 10))).isEmpty();
+        assertThat(mongoTemplate.count(new Query(), SearchEntry.class))
+                .isEqualTo(2);
+    }
+
+    // ----- Helpers -----
+
+    private static Customer customer(String id, String name, String phone, String location) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setCustomerName(name);
+        customer.setPhone(phone);
+        customer.setLocation(location);
+        return customer;
+    }
+
+    private static List<String> ids(SearchResult result) {
+        return result.getHits().stream().map(SearchResult.Hit::getId).toList();
+    }
+}
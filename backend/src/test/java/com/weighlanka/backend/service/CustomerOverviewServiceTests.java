@@ -0,0 +1,125 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.CustomerOverview;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.repository.MachineRepository;
+import com.weighlanka.backend.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerOverviewServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private CustomerService customerService;
+    private CustomerOverviewService overviewService;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new InMemoryMongo();
+        mongoTemplate = mongo.template();
+        customerService = mock(CustomerService.class);
+        overviewService = new CustomerOverviewService(customerService, mongo.repository(MachineRepository.class),
+                mongoTemplate, 2);
+
+        customer = new Customer();
+        customer.setId("c1");
+        customer.setCustomerName("Perera Stores");
+        when(customerService.getCustomerById("c1")).thenReturn(customer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void returnsTheNewestServicesOfEveryMachine() {
+        Machine busy = machine("c1");
+        Machine quiet = machine("c1");
+        Machine unused = machine("c1");
+        Machine foreign = machine("c2");
+        record(busy, DAY.minusYears(2));
+        record(busy, DAY);
+        record(busy, DAY.minusYears(1));
+        record(quiet, DAY.minusMonths(3));
+        record(foreign, DAY);
+
+        CustomerOverview overview = overviewService.getOverview("c1", null);
+
+        assertThat(overview.getCustomer()).isSameAs(customer);
+        assertThat(overview.getHistoryDepth()).isEqualTo(2);
+        assertThat(overview.getMachines()).extracting(h -> h.getMachine().getId())
+                .containsExactlyInAnyOrder(busy.getId(), quiet.getId(), unused.getId());
+        assertThat(services(overview, busy)).containsExactly(DAY, DAY.minusYears(1));
+        assertThat(services(overview, quiet)).containsExactly(DAY.minusMonths(3));
+        assertThat(services(overview, unused)).isEmpty();
+        assertThat(overview.getMachines()).flatExtracting(CustomerOverview.MachineHistory::getRecentServices)
+                .allSatisfy(service -> {
+                    assertThat(service.getCustomerId()).isEqualTo("c1");
+                    assertThat(service.getMachineId()).isIn(busy.getId(), quiet.getId());
+                    assertThat(service.getId()).isNotNull();
+                });
+    }
+
+    @Test
+    void historyDepthCanBeChangedPerCall() {
+        Machine machine = machine("c1");
+        for (int i = 0; i < 4; i++) {
+            record(machine, DAY.minusMonths(i));
+        }
+
+        assertThat(services(overviewService.getOverview("c1", 3), machine))
+                .containsExactly(DAY, DAY.minusMonths(1), DAY.minusMonths(2));
+        assertThat(services(overviewService.getOverview("c1", 0), machine)).isEmpty();
+        assertThatThrownBy(() -> overviewService.getOverview("c1", 51))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void missingCustomerIsReportedAsThrownByTheCustomerService() {
+        when(customerService.getCustomerById("nope")).thenThrow(new RuntimeException("Customer not found"));
+
+        assertThatThrownBy(() -> overviewService.getOverview("nope", null))
+                .isExactlyInstanceOf(RuntimeException.class)
+                .hasMessage("Customer not found");
+    }
+
+    // ----- Helpers -----
+
+    private Machine machine(String customerId) {
+        Machine machine = new Machine();
+        machine.setCustomerId(customerId);
+        return mongoTemplate.insert(machine);
+    }
+
+    private void record(Machine machine, LocalDate serviceDate) {
+        ServiceRecord record = new ServiceRecord();
+        record.setCustomerId(machine.getCustomerId());
+        record.setMachineId(machine.getId());
+        record.setServiceDate(serviceDate);
+        mongoTemplate.insert(record);
+    }
+
+    private static List<LocalDate> services(CustomerOverview overview, Machine machine) {
+        return overview.getMachines().stream()
+                .filter(h -> h.getMachine().getId().equals(machine.getId()))
+                .findFirst().orElseThrow()
+                .getRecentServices().stream().map(ServiceRecord::getServiceDate).toList();
+    }
+}
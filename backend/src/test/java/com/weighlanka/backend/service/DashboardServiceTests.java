@@ -0,0 +1,114 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.DashboardSummary;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.search.SearchIndex;
+import com.weighlanka.backend.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardServiceTests {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new InMemoryMongo();
+        mongoTemplate = mongo.template();
+        ReminderStatusService reminderStatusService = new ReminderStatusService(mongoTemplate, mongo.lookupService(),
+                new SearchIndex(mongoTemplate, false, 1000), 30, 90);
+        dashboardService = new DashboardService(mongoTemplate, mongo.lookupService(), reminderStatusService, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void countsOverdueAndUpcomingPerMachine() {
+        Customer customer = new Customer();
+        customer.setCustomerName("Silva Traders");
+        customer = mongoTemplate.insert(customer);
+        Machine late = machine(customer, TODAY.minusDays(1));               // overdue
+        machine(customer, TODAY.minusMonths(2));                            // overdue
+        machine(customer, TODAY);                                           // upcoming (today counts)
+        machine(customer, TODAY.plusDays(30));                              // upcoming (window end)
+        machine(customer, TODAY.plusDays(31));                              // neither
+        machine(customer, null);
+
+        // superseded visits of an up-to-date machine are not overdue
+        record(late, TODAY.minusYears(3), TODAY.minusYears(2), "INV-1");
+        record(late, TODAY.minusYears(1).minusDays(1), TODAY.minusDays(1), "INV-2");
+
+        DashboardSummary summary = dashboardService.getSummary(TODAY);
+
+        assertThat(summary.getMachines()).isEqualTo(6);
+        assertThat(summary.getOverdue()).isEqualTo(2);
+        assertThat(summary.getUpcoming()).isEqualTo(2);
+        assertThat(summary.getUpcomingDays()).isEqualTo(30);
+        assertThat(summary.getOverdueServices()).extracting(DashboardSummary.Item::getNextServiceDate)
+                .containsExactly(TODAY.minusDays(1), TODAY.minusMonths(2));
+        DashboardSummary.Item first = summary.getOverdueServices().get(0);
+        assertThat(first.getInvoiceNo()).isEqualTo("INV-2");
+        assertThat(first.getCustomerName()).isEqualTo("Silva Traders");
+        assertThat(first.getMachineLabel()).isEqualTo("DS-100");
+        assertThat(summary.getOverdueServices().get(1).getInvoiceNo()).isNull();
+    }
+
+    @Test
+    void countsServicesPerMonthForTheLastSixMonths() {
+        record(LocalDate.of(2023, 12, 31), null);            // before the chart
+        record(LocalDate.of(2024, 1, 1), null);
+        record(LocalDate.of(2024, 3, 5), null);
+        record(LocalDate.of(2024, 3, 5), null);
+        record(LocalDate.of(2024, 3, 28), null);
+        record(LocalDate.of(2024, 6, 30), null);
+
+        DashboardSummary summary = dashboardService.getSummary(TODAY);
+
+        assertThat(summary.getServicesPerMonth()).extracting(DashboardSummary.MonthCount::getMonth)
+                .containsExactly("2024-01", "2024-02", "2024-03", "2024-04", "2024-05", "2024-06");
+        assertThat(summary.getServicesPerMonth()).extracting(DashboardSummary.MonthCount::getCount)
+                .containsExactly(1L, 0L, 3L, 0L, 0L, 1L);
+    }
+
+    // ----- Helpers -----
+
+    private Machine machine(Customer customer, LocalDate nextServiceDate) {
+        Machine machine = new Machine();
+        machine.setCustomerId(customer.getId());
+        machine.setModel("DS-100");
+        machine.setNextServiceDate(nextServiceDate);
+        return mongoTemplate.insert(machine);
+    }
+
+    private void record(Machine machine, LocalDate serviceDate, LocalDate nextServiceDate, String invoiceNo) {
+        ServiceRecord record = new ServiceRecord();
+        record.setCustomerId(machine.getCustomerId());
+        record.setMachineId(machine.getId());
+        record.setServiceDate(serviceDate);
+        record.setNextServiceDate(nextServiceDate);
+        record.setInvoiceNo(invoiceNo);
+        mongoTemplate.insert(record);
+    }
+
+    private void record(LocalDate serviceDate, LocalDate nextServiceDate) {
+        ServiceRecord record = new ServiceRecord();
+        record.setServiceDate(serviceDate);
+        record.setNextServiceDate(nextServiceDate);
+        mongoTemplate.insert(record);
+    }
+}
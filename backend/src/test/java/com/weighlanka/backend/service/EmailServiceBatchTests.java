@@ -0,0 +1,122 @@
+package com.weighlanka.backend.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends reminders through a local fake SMTP server (GreenMail).
+ * Throughput is only measured on request: -Dmail.throughput.count=10000.
+ */
+class EmailServiceBatchTests {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailServiceBatchTests.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private EmailService emailService;
+    private SimpleMeterRegistry meterRegistry;
+    private final List<Integer> connections = new ArrayList<>();   // messages sent per connection
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl() {
+            @Override
+            protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+                connections.add(mimeMessages.length);
+                super.doSend(mimeMessages, originalMessages);
+            }
+        };
+        sender.setHost("127.0.0.1");
+        sender.setPort(smtp.getSmtp().getPort());
+
+        meterRegistry = new SimpleMeterRegistry();
+        emailService = new EmailService(sender, new EmailTemplateEngine(), meterRegistry, "service@weighlanka.lk", BATCH_SIZE);
+    }
+
+    @Test
+    void sendsRemindersInBatches() {
+        List<MimeMessage> messages = reminders(250);
+
+        Map<MimeMessage, Exception> failed = emailService.sendBatch(messages);
+
+        assertThat(failed).isEmpty();
+        assertThat(connections).containsExactly(100, 100, 50);
+        assertThat(smtp.getReceivedMessages()).hasSize(250);
+        assertThat(meterRegistry.get("weighlanka.emails").tag("result", "sent").counter().count()).isEqualTo(250);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "mail.throughput.count", matches = "\\d+")
+    void measuresBatchThroughput() {
+        int count = Integer.getInteger("mail.throughput.count");
+        List<MimeMessage> messages = reminders(count);
+
+        long start = System.nanoTime();
+        Map<MimeMessage, Exception> failed = emailService.sendBatch(messages);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        log.info("Sent reminders count={} seconds={} perSecond={} batchSize={}",
+                count, String.format("%.2f", seconds), Math.round(count / seconds), emailService.getBatchSize());
+        assertThat(failed).isEmpty();
+    }
+
+    @Test
+    void remindersUseTheCustomerLanguageWithHtmlAndTextParts() throws Exception {
+        emailService.sendYearlyReminder(customer("si@example.com", "si"), machine(), LocalDate.of(2025, 1, 1));
+        emailService.sendYearlyReminder(customer("xx@example.com", "xx"), machine(), LocalDate.of(2025, 1, 1));
+
+        MimeMessage[] received = smtp.getReceivedMessages();
+        assertThat(received[0].getSubject()).startsWith("වාර්ෂික සේවා");
+        assertThat(received[1].getSubject()).isEqualTo("Annual Service Reminder - Weigh Lanka");
+
+        String body = GreenMailUtil.getBody(received[1]);
+        assertThat(body).contains("text/plain").contains("text/html").contains("Perera &amp; Sons");
+    }
+
+    private List<MimeMessage> reminders(int count) {
+        Machine machine = machine();
+        List<MimeMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(emailService.buildYearlyReminder(
+                    customer("customer" + i + "@example.com", "en"), machine, LocalDate.of(2025, 1, 1)));
+        }
+        return messages;
+    }
+
+    private static Customer customer(String email, String language) {
+        Customer customer = new Customer();
+        customer.setCustomerName("Perera & Sons");
+        customer.setEmail(email);
+        customer.setPreferredLanguage(language);
+        return customer;
+    }
+
+    private static Machine machine() {
+        Machine machine = new Machine();
+        machine.setId("M-1");
+        machine.setModel("DS-100");
+        return machine;
+    }
+}
@@ -0,0 +1,111 @@
+package com.weighlanka.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weighlanka.backend.dto.ListPage;
+import com.weighlanka.backend.dto.ListQuery;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ListQueryServiceTests {
+
+    private InMemoryMongo mongo;
+    private ListQueryService listQueryService;
+    private List<Customer> customers;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new InMemoryMongo();
+        listQueryService = new ListQueryService(mongo.template(), new ObjectMapper());
+        customers = List.of(customer("Silva Traders"), customer("Perera Stores"),
+                customer("Fernando Hardware"), customer("Alwis Mills"), customer("Perera Stores"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void keysetPagingWalksTheIdsInOrder() {
+        ListPage first = find(null, 2, null, null, null);
+        assertThat(names(first)).containsExactly("Silva Traders", "Perera Stores");
+        assertThat(first.getNextCursor()).isEqualTo(customers.get(1).getId());
+        assertThat(first.getTotalCount()).isEqualTo(5);
+
+        ListPage second = find(null, 2, first.getNextCursor(), null, null);
+        assertThat(names(second)).containsExactly("Fernando Hardware", "Alwis Mills");
+
+        ListPage last = find(null, 2, second.getNextCursor(), null, null);
+        assertThat(names(last)).containsExactly("Perera Stores");
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void sortedPagesUseTheIdAsTieBreakerAndHaveNoCursor() {
+        Sort byName = Sort.by("customerName");
+
+        ListPage page = find(1, 2, null, byName, null);
+
+        assertThat(names(page)).containsExactly("Perera Stores", "Perera Stores");
+        assertThat(page.getItems()).extracting(c -> ((Customer) c).getId())
+                .containsExactly(customers.get(1).getId(), customers.get(4).getId());
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(names(find(null, null, null, byName.descending(), null)))
+                .containsExactly("Silva Traders", "Perera Stores", "Perera Stores", "Fernando Hardware", "Alwis Mills");
+    }
+
+    @Test
+    void projectsToTheRequestedFieldsPlusId() {
+        ListPage page = find(0, 1, null, null, List.of("customerName"));
+
+        assertThat(page.getItems()).isEqualTo(List.of(
+                Map.of("id", customers.get(0).getId(), "customerName", "Silva Traders")));
+    }
+
+    @Test
+    void rejectsInvalidQueries() {
+        assertThatThrownBy(() -> find(null, null, null, Sort.by("password"), null))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Unknown field: password");
+        assertThatThrownBy(() -> find(null, null, null, null, List.of("phone", "nope")))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Unknown field: nope");
+        assertThatThrownBy(() -> find(null, 2, customers.get(0).getId(), Sort.by("customerName"), null))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("after cannot be combined with sort or page");
+        assertThatThrownBy(() -> find(null, 2, "not-an-id", null, null))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Invalid cursor: not-an-id");
+        assertThatThrownBy(() -> find(null, ListQueryService.MAX_PAGE_SIZE + 1, null, null, null))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> find(-1, 10, null, null, null))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("page must not be negative");
+    }
+
+    // ----- Helpers -----
+
+    private ListPage find(Integer page, Integer size, String after, Sort sort, List<String> fields) {
+        return listQueryService.find(Customer.class, new ListQuery(page, size, after, sort, fields));
+    }
+
+    private Customer customer(String name) {
+        Customer customer = new Customer();
+        customer.setCustomerName(name);
+        return mongo.template().insert(customer);
+    }
+
+    private static List<String> names(ListPage page) {
+        return page.getItems().stream().map(c -> ((Customer) c).getCustomerName()).toList();
+    }
+}
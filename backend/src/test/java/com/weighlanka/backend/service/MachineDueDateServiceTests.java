@@ -0,0 +1,193 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.config.CacheConfig;
+import com.weighlanka.backend.dto.DueMachineGroup;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.repository.MachineRepository;
+import com.weighlanka.backend.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MachineDueDateServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private CacheManager cacheManager;
+    private MachineDueDateService dueDateService;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new InMemoryMongo();
+        mongoTemplate = mongo.template();
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.MACHINES);
+        dueDateService = new MachineDueDateService(mongoTemplate, mongo.repository(MachineRepository.class),
+                mongo.lookupService(), cacheManager, 2, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    // ----- Sync on record save -----
+
+    @Test
+    void savedRecordsMoveMachinesForwardOnly() {
+        Machine machine = machine(null, null);
+        dueDateService.recordSaved(record(machine, DAY, DAY.plusMonths(6)));
+        assertDates(machine, DAY, DAY.plusMonths(6));
+
+        // an older visit saved later is ignored
+        dueDateService.recordSaved(record(machine, DAY.minusMonths(2), DAY.plusMonths(1)));
+        assertDates(machine, DAY, DAY.plusMonths(6));
+
+        // newest of the batch wins; no next date means yearly service
+        dueDateService.recordsSaved(List.of(
+                record(machine, DAY.plusDays(10), null),
+                record(machine, DAY.plusDays(5), DAY.plusMonths(3))));
+        assertDates(machine, DAY.plusDays(10), DAY.plusDays(10).plusYears(1));
+    }
+
+    @Test
+    void savedRecordsEvictTheCachedMachine() {
+        Machine machine = machine(null, null);
+        cacheManager.getCache(CacheConfig.MACHINES).put(machine.getId(), machine);
+
+        dueDateService.recordSaved(record(machine, DAY, null));
+
+        assertThat(cacheManager.getCache(CacheConfig.MACHINES).get(machine.getId())).isNull();
+    }
+
+    // ----- Recompute / resync -----
+
+    @Test
+    void recomputeMovesDatesBackToTheNewestRemainingRecord() {
+        Machine machine = machine(DAY, DAY.plusMonths(6));
+        Machine emptied = machine(DAY, DAY.plusMonths(6));
+        mongoTemplate.insert(record(machine, DAY.minusMonths(6), DAY.minusDays(1)));
+        mongoTemplate.insert(record(machine, DAY.minusYears(1), null));
+
+        dueDateService.recompute(List.of(machine.getId(), emptied.getId()));
+
+        assertDates(machine, DAY.minusMonths(6), DAY.minusDays(1));
+        assertDates(emptied, null, null);
+    }
+
+    @Test
+    void resyncRewritesEveryMachineWithRecords() {
+        Machine first = machine(null, null);
+        Machine second = machine(DAY, DAY);
+        Machine third = machine(null, null);
+        mongoTemplate.insert(record(first, DAY, null));
+        mongoTemplate.insert(record(second, DAY.minusDays(3), DAY.plusDays(30)));
+        mongoTemplate.insert(record(third, DAY.minusDays(1), DAY.plusDays(1)));
+
+        assertThat(dueDateService.resync()).isEqualTo(3);
+        assertDates(first, DAY, DAY.plusYears(1));
+        assertDates(second, DAY.minusDays(3), DAY.plusDays(30));
+        assertDates(third, DAY.minusDays(1), DAY.plusDays(1));
+    }
+
+    @Test
+    void backfillFillsOnlyMachinesWithoutDatesThatHaveRecords() {
+        Machine missing = machine(null, null);
+        Machine manual = machine(null, DAY.plusMonths(2));
+        Machine unused = machine(null, DAY.plusMonths(3));
+        Machine current = machine(DAY, DAY.plusMonths(6));
+        mongoTemplate.insert(record(missing, DAY.minusMonths(1), null));
+        mongoTemplate.insert(record(missing, DAY.minusMonths(2), null));
+        mongoTemplate.insert(record(manual, DAY.minusDays(5), DAY.plusDays(5)));
+        mongoTemplate.insert(record(current, DAY.minusYears(1), null));
+
+        assertThat(dueDateService.backfill()).isEqualTo(2);
+        assertDates(missing, DAY.minusMonths(1), DAY.minusMonths(1).plusYears(1));
+        assertDates(manual, DAY.minusDays(5), DAY.plusDays(5));
+        assertDates(unused, null, DAY.plusMonths(3));
+        assertDates(current, DAY, DAY.plusMonths(6));
+    }
+
+    // ----- Due-date queries -----
+
+    @Test
+    void findDueReturnsTheRangeSoonestFirst() {
+        Machine later = machine(null, DAY.plusDays(7));
+        Machine first = machine(null, DAY);
+        machine(null, DAY.minusDays(1));
+        machine(null, DAY.plusDays(8));
+        machine(null, null);
+
+        assertThat(dueDateService.findDue(DAY, 7)).extracting(Machine::getId)
+                .containsExactly(first.getId(), later.getId());
+        assertThatThrownBy(() -> dueDateService.findDue(DAY, 367))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void findDueByLocationGroupsAlphabeticallyWithUnknownLast() {
+        Customer galle = customer("Galle");
+        Customer colombo = customer(" Colombo ");
+        Customer nowhere = customer(null);
+        machineOf(galle, DAY.plusDays(1));
+        machineOf(colombo, DAY.plusDays(2));
+        machineOf(nowhere, DAY.plusDays(3));
+        machineOf(galle, DAY.plusDays(4));
+
+        List<DueMachineGroup> groups = dueDateService.findDueByLocation(DAY, 30);
+
+        assertThat(groups).extracting(DueMachineGroup::getLocation).containsExactly("Colombo", "Galle", "");
+        assertThat(groups).extracting(DueMachineGroup::getCount).containsExactly(1, 2, 1);
+    }
+
+    // ----- Helpers -----
+
+    private Machine machine(LocalDate last, LocalDate next) {
+        Machine machine = new Machine();
+        machine.setLastServiceDate(last);
+        machine.setNextServiceDate(next);
+        return mongoTemplate.insert(machine);
+    }
+
+    private Machine machineOf(Customer customer, LocalDate next) {
+        Machine machine = new Machine();
+        machine.setCustomerId(customer.getId());
+        machine.setNextServiceDate(next);
+        return mongoTemplate.insert(machine);
+    }
+
+    private Customer customer(String location) {
+        Customer customer = new Customer();
+        customer.setCustomerName("Customer " + location);
+        customer.setLocation(location);
+        return mongoTemplate.insert(customer);
+    }
+
+    private static ServiceRecord record(Machine machine, LocalDate serviceDate, LocalDate nextServiceDate) {
+        ServiceRecord record = new ServiceRecord();
+        record.setMachineId(machine.getId());
+        record.setServiceDate(serviceDate);
+        record.setNextServiceDate(nextServiceDate);
+        return record;
+    }
+
+    private void assertDates(Machine machine, LocalDate last, LocalDate next) {
+        Machine stored = mongoTemplate.findOne(Query.query(Criteria.where("_id").is(machine.getId())), Machine.class);
+        assertThat(stored.getLastServiceDate()).isEqualTo(last);
+        assertThat(stored.getNextServiceDate()).isEqualTo(next);
+    }
+}
@@ -0,0 +1,70 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.repository.MachineRepository;
+import com.weighlanka.backend.search.SearchIndex;
+import com.weighlanka.backend.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MachineServiceImplTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private MachineServiceImpl machineService;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new InMemoryMongo();
+        mongoTemplate = mongo.template();
+        machineService = new MachineServiceImpl(mongo.repository(MachineRepository.class),
+                mock(ListQueryService.class), mock(ServiceReportProjection.class), mock(SearchIndex.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void updateKeepsTheServiceDatesDerivedFromRecords() {
+        Machine stored = new Machine();
+        stored.setModel("DS-100");
+        stored.setLastServiceDate(DAY);
+        stored.setNextServiceDate(DAY.plusYears(1));
+        stored = mongoTemplate.insert(stored);
+
+        Machine edit = new Machine();           // a form that sent no dates, or stale ones
+        edit.setModel("DS-200");
+        edit.setNextServiceDate(DAY.minusYears(3));
+        Machine saved = machineService.updateMachine(stored.getId(), edit);
+
+        assertThat(saved.getModel()).isEqualTo("DS-200");
+        assertThat(saved.getLastServiceDate()).isEqualTo(DAY);
+        assertThat(saved.getNextServiceDate()).isEqualTo(DAY.plusYears(1));
+        assertThat(mongoTemplate.findById(stored.getId(), Machine.class).getNextServiceDate())
+                .isEqualTo(DAY.plusYears(1));
+    }
+
+    @Test
+    void createIgnoresServiceDates() {
+        Machine machine = new Machine();
+        machine.setModel("DS-100");
+        machine.setLastServiceDate(DAY);
+        machine.setNextServiceDate(DAY.plusYears(1));
+
+        Machine saved = machineService.createMachine(machine);
+
+        assertThat(saved.getLastServiceDate()).isNull();
+        assertThat(saved.getNextServiceDate()).isNull();
+    }
+}
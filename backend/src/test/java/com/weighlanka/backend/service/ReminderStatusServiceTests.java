@@ -0,0 +1,148 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.ReminderStatusPage;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.search.SearchIndex;
+import com.weighlanka.backend.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReminderStatusServiceTests {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private SearchIndex searchIndex;
+    private ReminderStatusService statusService;
+    private Customer perera;
+    private Customer silva;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new InMemoryMongo();
+        mongoTemplate = mongo.template();
+        searchIndex = new SearchIndex(mongoTemplate, false, 1000);
+        statusService = new ReminderStatusService(mongoTemplate, mongo.lookupService(), searchIndex, 30, 90);
+
+        perera = customer("Perera Stores", "0771234567");
+        silva = customer("Silva Traders", "0719876543");
+        machine(perera, TODAY.minusYears(5), "INV-0");      // overdue for years – still listed
+        machine(perera, TODAY.minusDays(200), "INV-1");     // overdue
+        machine(silva, TODAY.minusDays(1), "INV-2");        // overdue
+        machine(perera, TODAY, "INV-3");                    // urgent
+        machine(silva, TODAY.plusDays(30), "INV-4");        // urgent
+        machine(perera, TODAY.plusDays(31), "INV-5");       // due soon
+        machine(silva, TODAY.plusDays(91), "INV-6");        // not due yet
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void countsEveryBucketAndOrdersOverdueFirst() {
+        ReminderStatusPage result = statusService.getStatus(null, null, 0, 50, TODAY);
+
+        assertThat(result.getCounts()).isEqualTo(Map.of("overdue", 3L, "urgent", 2L, "dueSoon", 1L));
+        assertThat(result.getTotal()).isEqualTo(6);
+        assertThat(result.getRows()).extracting(ReminderStatusPage.Row::getInvoiceNo)
+                .containsExactly("INV-2", "INV-1", "INV-0", "INV-3", "INV-4", "INV-5");
+        assertThat(result.getRows()).extracting(ReminderStatusPage.Row::getStatus)
+                .containsExactly("overdue", "overdue", "overdue", "urgent", "urgent", "dueSoon");
+        assertThat(result.getRows().get(0).getCustomerName()).isEqualTo("Silva Traders");
+        assertThat(result.getRows().get(0).getDaysUntilDue()).isEqualTo(-1);
+    }
+
+    @Test
+    void pagesAcrossBucketBoundaries() {
+        assertThat(statusService.getStatus(null, null, 1, 2, TODAY).getRows())
+                .extracting(ReminderStatusPage.Row::getInvoiceNo).containsExactly("INV-0", "INV-3");
+        assertThat(statusService.getStatus(null, null, 2, 2, TODAY).getRows())
+                .extracting(ReminderStatusPage.Row::getInvoiceNo).containsExactly("INV-4", "INV-5");
+        assertThat(statusService.getStatus(null, null, 3, 2, TODAY).getRows()).isEmpty();
+
+        ReminderStatusPage urgent = statusService.getStatus("urgent", null, 0, 1, TODAY);
+        assertThat(urgent.getTotal()).isEqualTo(2);
+        assertThat(urgent.getRows()).extracting(ReminderStatusPage.Row::getInvoiceNo).containsExactly("INV-3");
+    }
+
+    @Test
+    void searchesInvoiceCustomerAndPhone() {
+        assertThat(statusService.getStatus(null, "silva", 0, 50, TODAY).getRows())
+                .extracting(ReminderStatusPage.Row::getInvoiceNo).containsExactly("INV-2", "INV-4");
+        assertThat(statusService.getStatus(null, "inv-5", 0, 50, TODAY).getRows())
+                .extracting(ReminderStatusPage.Row::getInvoiceNo).containsExactly("INV-5");
+        assertThat(statusService.getStatus(null, "Per Sto", 0, 50, TODAY).getRows())
+                .extracting(ReminderStatusPage.Row::getInvoiceNo).containsExactly("INV-1", "INV-0", "INV-3", "INV-5");
+
+        ReminderStatusPage byPhone = statusService.getStatus("overdue", "0771", 0, 50, TODAY);
+        assertThat(byPhone.getTotal()).isEqualTo(2);
+        assertThat(byPhone.getCounts().get("urgent")).isEqualTo(2);
+        assertThat(byPhone.getRows()).extracting(ReminderStatusPage.Row::getInvoiceNo).containsExactly("INV-1", "INV-0");
+    }
+
+    @Test
+    void invoiceSearchMatchesOnlyTheLatestRecord() {
+        Machine machine = mongoTemplate.findOne(Query.query(Criteria.where("nextServiceDate").is(TODAY)), Machine.class);
+        ServiceRecord older = new ServiceRecord();
+        older.setCustomerId(machine.getCustomerId());
+        older.setMachineId(machine.getId());
+        older.setServiceDate(machine.getLastServiceDate().minusYears(1));
+        older.setInvoiceNo("OLD-9");
+        mongoTemplate.insert(older);
+
+        assertThat(statusService.getStatus(null, "old-9", 0, 50, TODAY).getRows()).isEmpty();
+        assertThat(statusService.getStatus(null, "inv-3", 0, 50, TODAY).getRows())
+                .extracting(ReminderStatusPage.Row::getMachineId).containsExactly(machine.getId());
+    }
+
+    @Test
+    void rejectsUnknownStatusAndPageSize() {
+        assertThatThrownBy(() -> statusService.getStatus("late", null, 0, 50, TODAY))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> statusService.getStatus(null, null, 0, 501, TODAY))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    // ----- Helpers -----
+
+    private Customer customer(String name, String phone) {
+        Customer customer = new Customer();
+        customer.setCustomerName(name);
+        customer.setPhone(phone);
+        customer = mongoTemplate.insert(customer);
+        searchIndex.customerSaved(customer);
+        return customer;
+    }
+
+    // A machine due on nextServiceDate, with one service record carrying the invoice no
+    private void machine(Customer customer, LocalDate nextServiceDate, String invoiceNo) {
+        Machine machine = new Machine();
+        machine.setCustomerId(customer.getId());
+        machine.setLastServiceDate(nextServiceDate.minusYears(1));
+        machine.setNextServiceDate(nextServiceDate);
+        machine = mongoTemplate.insert(machine);
+
+        ServiceRecord record = new ServiceRecord();
+        record.setCustomerId(customer.getId());
+        record.setMachineId(machine.getId());
+        record.setServiceDate(machine.getLastServiceDate());
+        record.setNextServiceDate(nextServiceDate);
+        record.setInvoiceNo(invoiceNo);
+        mongoTemplate.insert(record);
+    }
+}
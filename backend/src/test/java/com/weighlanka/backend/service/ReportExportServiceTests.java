@@ -0,0 +1,52 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.ServiceTableRow;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportExportServiceTests {
+
+    private final ReportExportService exportService = new ReportExportService();
+
+    @Test
+    void csvQuotesFieldsContainingCommas() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeCsv(Stream.of(row(1)), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).substring(1).split("\r\n");
+        assertThat(lines[0]).startsWith("DATE,NO,INV NO,NAME & ADDRESS");
+        assertThat(lines[1]).isEqualTo("2025-03-01,1,INV-1,\"Perera Stores, Main Street\",Embilipitiya,"
+                + "0771234567,DS-100,SN-1,15kg,REG-1,ID-1,Nimal");
+    }
+
+    @Test
+    void xlsxWritesEveryRowPastTheMemoryWindow() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeXlsx(IntStream.rangeClosed(1, 1_000).mapToObj(ReportExportServiceTests::row), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(1_000);
+            assertThat(sheet.getRow(1_000).getCell(1).getNumericCellValue()).isEqualTo(1_000);
+            assertThat(sheet.getRow(1).getCell(3).getStringCellValue()).isEqualTo("Perera Stores, Main Street");
+        }
+    }
+
+    private static ServiceTableRow row(int no) {
+        return new ServiceTableRow(LocalDate.of(2025, 3, 1), no, "INV-" + no,
+                "Perera Stores, Main Street", "Embilipitiya", "0771234567",
+                "DS-100", "SN-" + no, "15kg", "REG-" + no, "ID-" + no, "Nimal");
+    }
+}
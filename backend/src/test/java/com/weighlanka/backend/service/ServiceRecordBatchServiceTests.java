@@ -0,0 +1,203 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.BatchResult;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ServiceRecordBatchServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private MachineDueDateService dueDateService;
+    private ServiceRecordBatchService batchService;
+    private Customer customer;
+    private Machine machine;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new InMemoryMongo();
+        mongoTemplate = mongo.template();
+        dueDateService = mock(MachineDueDateService.class);
+        batchService = new ServiceRecordBatchService(mongoTemplate, mongo.lookupService(),
+                mock(ServiceReportProjection.class), dueDateService, 3);
+
+        customer = new Customer();
+        customer.setCustomerName("Perera Stores");
+        customer = mongoTemplate.insert(customer);
+        machine = new Machine();
+        machine.setCustomerId(customer.getId());
+        machine.setSerialNumber("SN-1");
+        machine = mongoTemplate.insert(machine);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void createReportsEachEntryAndSkipsTheInvalidOnes() {
+        ServiceRecord noDate = record("INV-2");
+        noDate.setServiceDate(null);
+        ServiceRecord unknownMachine = record("INV-3");
+        unknownMachine.setMachineId("missing");
+
+        BatchResult result = batchService.createRecords(Arrays.asList(record("INV-1"), noDate, unknownMachine));
+
+        assertThat(result.getItems()).extracting(BatchResult.Item::getIndex).containsExactly(0, 1, 2);
+        assertThat(result.getItems()).extracting(BatchResult.Item::getStatus).containsExactly(201, 400, 400);
+        assertThat(result.getItems()).extracting(BatchResult.Item::getMessage)
+                .containsExactly(null, "serviceDate is required", "Machine not found");
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(mongoTemplate.findAll(ServiceRecord.class)).extracting(ServiceRecord::getInvoiceNo)
+                .containsExactly("INV-1");
+    }
+
+    @Test
+    void createMapsWriteErrorsBackToTheRequestPosition() {
+        uniqueInvoiceNo();
+        mongoTemplate.insert(record("INV-1"));
+
+        // entry 0 is rejected up front, so the bulk write only sees entries 1 and 2
+        BatchResult result = batchService.createRecords(Arrays.asList(null, record("INV-2"), record("INV-1")));
+
+        assertThat(result.getItems()).extracting(BatchResult.Item::getStatus).containsExactly(400, 201, 500);
+        assertThat(result.getItems().get(2).getIndex()).isEqualTo(2);
+        assertThat(result.getItems().get(2).getId()).isNotNull();
+        assertThat(mongoTemplate.findAll(ServiceRecord.class)).extracting(ServiceRecord::getInvoiceNo)
+                .containsExactlyInAnyOrder("INV-1", "INV-2");
+    }
+
+    @Test
+    void updateReportsMissingAndInvalidEntriesAndMapsWriteErrors() {
+        uniqueInvoiceNo();
+        ServiceRecord first = mongoTemplate.insert(record("INV-1"));
+        ServiceRecord second = mongoTemplate.insert(record("INV-2"));
+
+        ServiceRecord unknown = new ServiceRecord();
+        unknown.setId("missing");
+        unknown.setRemarks("x");
+        ServiceRecord clash = new ServiceRecord();      // INV-1 is taken → write error
+        clash.setId(second.getId());
+        clash.setInvoiceNo("INV-1");
+        ServiceRecord remark = new ServiceRecord();
+        remark.setId(first.getId());
+        remark.setRemarks("calibrated");
+
+        BatchResult result = batchService.updateRecords(Arrays.asList(unknown, clash, remark));
+
+        assertThat(result.getItems()).extracting(BatchResult.Item::getStatus).containsExactly(404, 500, 200);
+        assertThat(result.getItems()).extracting(BatchResult.Item::getId)
+                .containsExactly("missing", second.getId(), first.getId());
+        assertThat(mongoTemplate.findById(first.getId(), ServiceRecord.class).getRemarks()).isEqualTo("calibrated");
+        assertThat(mongoTemplate.findById(second.getId(), ServiceRecord.class).getInvoiceNo()).isEqualTo("INV-2");
+    }
+
+    @Test
+    void updateLeavesFieldsThatAreNotSent() {
+        ServiceRecord stored = record("INV-1");
+        stored.setVisitNo(4);
+        stored.setServiceCost(2500.0);
+        stored = mongoTemplate.insert(stored);
+
+        ServiceRecord change = new ServiceRecord();
+        change.setId(stored.getId());
+        change.setTechnicianName("Nimal");
+        ServiceRecord empty = new ServiceRecord();
+        empty.setId(stored.getId());
+
+        BatchResult result = batchService.updateRecords(List.of(change, empty));
+
+        assertThat(result.getItems()).extracting(BatchResult.Item::getStatus).containsExactly(200, 400);
+        assertThat(result.getItems().get(1).getMessage()).isEqualTo("Nothing to update");
+        ServiceRecord after = mongoTemplate.findById(stored.getId(), ServiceRecord.class);
+        assertThat(after.getTechnicianName()).isEqualTo("Nimal");
+        assertThat(after.getVisitNo()).isEqualTo(4);
+        assertThat(after.getServiceCost()).isEqualTo(2500.0);
+        assertThat(after.getNextServiceDate()).isEqualTo(DAY.plusMonths(6));
+        verify(dueDateService).recompute(Set.of());     // no date changed
+    }
+
+    @Test
+    void dateChangesRecomputeOldAndNewMachine() {
+        Machine other = new Machine();
+        other.setCustomerId(customer.getId());
+        other = mongoTemplate.insert(other);
+        ServiceRecord stored = mongoTemplate.insert(record("INV-1"));
+
+        ServiceRecord move = new ServiceRecord();
+        move.setId(stored.getId());
+        move.setMachineId(other.getId());
+        batchService.updateRecords(List.of(move));
+
+        verify(dueDateService).recompute(Set.of(machine.getId(), other.getId()));
+    }
+
+    @Test
+    void deleteReportsMissingIds() {
+        ServiceRecord stored = mongoTemplate.insert(record("INV-1"));
+
+        BatchResult result = batchService.deleteRecords(Arrays.asList(stored.getId(), "missing", null));
+
+        assertThat(result.getItems()).extracting(BatchResult.Item::getStatus).containsExactly(200, 404, 400);
+        assertThat(mongoTemplate.findAll(ServiceRecord.class)).isEmpty();
+        verify(dueDateService).recompute(List.of(machine.getId()));
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        List<ServiceRecord> tooMany = new ArrayList<>(Collections.nCopies(4, record("INV-1")));
+
+        assertThatThrownBy(() -> batchService.createRecords(tooMany))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Batch size must be at most 3");
+        assertThatThrownBy(() -> batchService.updateRecords(tooMany))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> batchService.deleteRecords(List.of("a", "b", "c", "d")))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> batchService.deleteRecords(List.of()))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Batch must not be empty");
+        assertThat(mongoTemplate.findAll(ServiceRecord.class)).isEmpty();
+    }
+
+    // ----- Helpers -----
+
+    private ServiceRecord record(String invoiceNo) {
+        ServiceRecord record = new ServiceRecord();
+        record.setCustomerId(customer.getId());
+        record.setMachineId(machine.getId());
+        record.setServiceDate(DAY);
+        record.setNextServiceDate(DAY.plusMonths(6));
+        record.setInvoiceNo(invoiceNo);
+        return record;
+    }
+
+    // gives the bulk write something to fail on
+    private void uniqueInvoiceNo() {
+        mongoTemplate.indexOps(ServiceRecord.class).createIndex(new Index("invoiceNo", Sort.Direction.ASC).unique());
+    }
+}
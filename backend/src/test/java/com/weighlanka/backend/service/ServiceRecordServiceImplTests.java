@@ -0,0 +1,99 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.repository.ServiceRecordRepository;
+import com.weighlanka.backend.repository.ServiceReportRowRepository;
+import com.weighlanka.backend.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ServiceRecordServiceImplTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private ServiceReportProjection reportProjection;
+    private MachineDueDateService dueDateService;
+    private ServiceRecordServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new InMemoryMongo();
+        mongoTemplate = mongo.template();
+        reportProjection = mock(ServiceReportProjection.class);
+        dueDateService = mock(MachineDueDateService.class);
+        service = new ServiceRecordServiceImpl(mongo.repository(ServiceRecordRepository.class),
+                mongo.repository(ServiceReportRowRepository.class), reportProjection, dueDateService,
+                mongoTemplate, null, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void updateReturnsTheMergedDocumentAndRecomputesOldAndNewMachine() {
+        ServiceRecord stored = stored("m1");
+
+        ServiceRecord change = new ServiceRecord();
+        change.setMachineId("m2");
+        change.setServiceDate(DAY.plusDays(1));
+        ServiceRecord saved = service.updateRecord(stored.getId(), change);
+
+        assertThat(saved.getMachineId()).isEqualTo("m2");
+        assertThat(saved.getServiceDate()).isEqualTo(DAY.plusDays(1));
+        assertThat(saved.getInvoiceNo()).isEqualTo("INV-1");
+        assertThat(saved).isEqualTo(mongoTemplate.findById(stored.getId(), ServiceRecord.class));
+        verify(reportProjection).recordSaved(saved);
+        verify(dueDateService).recompute(Arrays.asList("m1", "m2"));
+    }
+
+    @Test
+    void updateWithoutDateChangesLeavesMachinesAlone() {
+        ServiceRecord stored = stored("m1");
+
+        ServiceRecord change = new ServiceRecord();
+        change.setRemarks("calibrated");
+        service.updateRecord(stored.getId(), change);
+
+        verify(dueDateService, never()).recompute(any());
+        assertThatThrownBy(() -> service.updateRecord("missing", change))
+                .hasMessage("Service Record not found");
+    }
+
+    @Test
+    void deleteRecomputesTheMachine() {
+        ServiceRecord stored = stored("m1");
+
+        service.deleteRecord(stored.getId());
+
+        assertThat(mongoTemplate.findAll(ServiceRecord.class)).isEmpty();
+        verify(reportProjection).recordDeleted(stored.getId());
+        verify(dueDateService).recompute(Collections.singleton("m1"));
+    }
+
+    private ServiceRecord stored(String machineId) {
+        ServiceRecord record = new ServiceRecord();
+        record.setCustomerId("c1");
+        record.setMachineId(machineId);
+        record.setServiceDate(DAY);
+        record.setNextServiceDate(DAY.plusYears(1));
+        record.setInvoiceNo("INV-1");
+        return mongoTemplate.insert(record);
+    }
+}
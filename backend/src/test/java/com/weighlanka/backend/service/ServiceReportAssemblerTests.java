@@ -0,0 +1,68 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.ServiceTableRow;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.repository.CustomerRepository;
+import com.weighlanka.backend.repository.MachineRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class ServiceReportAssemblerTests {
+
+    @Test
+    void resolvesCustomersAndMachinesWithOneQueryEach() {
+        CustomerRepository customers = mock(CustomerRepository.class);
+        MachineRepository machines = mock(MachineRepository.class);
+
+        Customer customer = new Customer();
+        customer.setId("c1");
+        customer.setCustomerName("Perera Stores");
+        customer.setAddress("Main Street");
+        customer.setLocation("Embilipitiya");
+        customer.setPhone("0771234567");
+
+        Machine machine = new Machine();
+        machine.setId("m1");
+        machine.setModel("DS-100");
+        machine.setSerialNumber("SN-1");
+
+        when(customers.findAllById(any())).thenReturn(List.of(customer));
+        when(machines.findAllById(any())).thenReturn(List.of(machine));
+
+        List<ServiceRecord> records = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            ServiceRecord record = new ServiceRecord();
+            record.setCustomerId("c1");
+            record.setMachineId(i % 2 == 0 ? "m1" : "missing");
+            record.setServiceDate(LocalDate.of(2025, 1, 1));
+            record.setVisitNo(i);
+            records.add(record);
+        }
+
+        List<ServiceTableRow> rows = new ServiceReportAssembler(
+                new BulkLookupService(customers, machines, new ConcurrentMapCacheManager())).assemble(records);
+
+        assertThat(rows).hasSize(400);
+        assertThat(rows.get(0).getNameAndAddress()).isEqualTo("Perera Stores, Main Street");
+        assertThat(rows.get(0).getSerialNo()).isEqualTo("SN-1");
+        assertThat(rows.get(1).getSerialNo()).isEmpty();
+
+        verify(customers, times(1)).findAllById(any());
+        verify(machines, times(1)).findAllById(any());
+        verifyNoMoreInteractions(customers, machines);
+    }
+}
@@ -0,0 +1,141 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.model.ServiceReportRow;
+import com.weighlanka.backend.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceReportProjectionTests {
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private ServiceReportProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new InMemoryMongo();
+        mongoTemplate = mongo.template();
+        projection = new ServiceReportProjection(mongoTemplate, new ServiceReportAssembler(mongo.lookupService()),
+                null, 2, false);
+
+        mongoTemplate.save(customer("c1", "Perera Stores", "Galle"));
+        mongoTemplate.save(customer("c2", "Silva Hardware", "Matara"));
+        mongoTemplate.save(machine("m1", "c1", "DS-100"));
+        mongoTemplate.save(machine("m2", "c1", "DS-200"));
+        mongoTemplate.save(machine("m3", "c2", "DS-300"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void customerChangeUpdatesAllOfItsRowsOnly() {
+        projection.recordsSaved(List.of(
+                record("r1", "c1", "m1"), record("r2", "c1", "m2"), record("r3", "c2", "m3")));
+
+        Customer renamed = customer("c1", "Perera & Sons", "Hikkaduwa");
+        long modified = projection.customerChanged("c1", renamed);
+
+        assertThat(modified).isEqualTo(2);
+        assertThat(row("r1").getNameAndAddress()).isEqualTo("Perera & Sons, Main Street");
+        assertThat(row("r2").getLocation()).isEqualTo("Hikkaduwa");
+        assertThat(row("r2").getModel()).isEqualTo("DS-200");          // machine columns untouched
+        assertThat(row("r3").getNameAndAddress()).isEqualTo("Silva Hardware, Main Street");
+    }
+
+    @Test
+    void deletedCustomerBlanksItsColumns() {
+        projection.recordSaved(record("r1", "c1", "m1"));
+
+        projection.customerChanged("c1", null);
+
+        assertThat(row("r1").getNameAndAddress()).isEmpty();
+        assertThat(row("r1").getModel()).isEqualTo("DS-100");
+    }
+
+    @Test
+    void machineChangeUpdatesAllOfItsRowsOnly() {
+        projection.recordsSaved(List.of(
+                record("r1", "c1", "m1"), record("r2", "c1", "m1"), record("r3", "c1", "m2")));
+
+        Machine machine = machine("m1", "c1", "DS-150");
+        machine.setSerialNumber("SN-NEW");
+        long modified = projection.machineChanged("m1", machine);
+
+        assertThat(modified).isEqualTo(2);
+        assertThat(row("r1").getModel()).isEqualTo("DS-150");
+        assertThat(row("r2").getSerialNo()).isEqualTo("SN-NEW");
+        assertThat(row("r3").getModel()).isEqualTo("DS-200");
+        assertThat(row("r1").getNameAndAddress()).isEqualTo("Perera Stores, Main Street");   // customer columns untouched
+    }
+
+    @Test
+    void rebuildRewritesEveryRowAndRemovesStaleOnes() {
+        for (String id : List.of("r1", "r2", "r3")) {
+            mongoTemplate.save(record(id, "c1", "m1"));
+        }
+        // a row whose record was deleted behind the app's back, and one with outdated columns
+        ServiceReportRow orphan = ServiceReportRow.of(record("gone", "c1", "m1"),
+                ServiceReportAssembler.toRow(new ServiceRecord(), null, null), Instant.now().minus(1, ChronoUnit.DAYS));
+        mongoTemplate.save(orphan);
+        ServiceReportRow outdated = ServiceReportRow.of(record("r1", "c1", "m1"),
+                ServiceReportAssembler.toRow(new ServiceRecord(), null, null), Instant.now().minus(1, ChronoUnit.DAYS));
+        mongoTemplate.save(outdated);
+
+        long written = projection.rebuild();
+
+        assertThat(written).isEqualTo(3);   // three batches of up to two
+        assertThat(mongoTemplate.count(new Query(), ServiceReportRow.class)).isEqualTo(3);
+        assertThat(mongoTemplate.exists(Query.query(Criteria.where("_id").is("gone")), ServiceReportRow.class)).isFalse();
+        assertThat(row("r1").getNameAndAddress()).isEqualTo("Perera Stores, Main Street");
+    }
+
+    private ServiceReportRow row(String id) {
+        return mongoTemplate.findById(id, ServiceReportRow.class);
+    }
+
+    private static Customer customer(String id, String name, String location) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setCustomerName(name);
+        customer.setAddress("Main Street");
+        customer.setLocation(location);
+        customer.setPhone("0771234567");
+        return customer;
+    }
+
+    private static Machine machine(String id, String customerId, String model) {
+        Machine machine = new Machine();
+        machine.setId(id);
+        machine.setCustomerId(customerId);
+        machine.setModel(model);
+        machine.setSerialNumber("SN-" + id);
+        return machine;
+    }
+
+    private static ServiceRecord record(String id, String customerId, String machineId) {
+        ServiceRecord record = new ServiceRecord();
+        record.setId(id);
+        record.setCustomerId(customerId);
+        record.setMachineId(machineId);
+        record.setServiceDate(LocalDate.of(2025, 3, 1));
+        record.setVisitNo(1);
+        return record;
+    }
+}
@@ -0,0 +1,173 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.ImportResult;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.search.SearchIndex;
+import com.weighlanka.backend.support.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ServiceSheetImportServiceTests {
+
+    private static final String HEADER = "DATE,NO,INV NO,NAME & ADDRESS,LOCATION,TEL,MODEL,SERIAL NO,CAP,REG NO,ID NO,Serviced By\n";
+
+    private InMemoryMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private ServiceReportProjection reportProjection;
+    private ServiceSheetImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new InMemoryMongo();
+        mongoTemplate = mongo.template();
+        reportProjection = mock(ServiceReportProjection.class);
+        importService = new ServiceSheetImportService(mongoTemplate, new SheetReader(), reportProjection,
+                mock(MachineDueDateService.class), new SearchIndex(mongoTemplate, false, 1000), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void customerKeyMatchesPhoneSpellingsAndFallsBackToName() {
+        assertThat(ServiceSheetImportService.customerKey("0771234567", "A"))
+                .isEqualTo(ServiceSheetImportService.customerKey("+94 77 123 4567", "B"))
+                .isEqualTo(ServiceSheetImportService.customerKey("77-1234567", null));
+        assertThat(ServiceSheetImportService.customerKey("", " Perera Stores "))
+                .isEqualTo(ServiceSheetImportService.customerKey("123", "perera stores"));
+        assertThat(ServiceSheetImportService.customerKey("0771234567", "A"))
+                .isNotEqualTo(ServiceSheetImportService.customerKey("0771234568", "A"));
+    }
+
+    @Test
+    void machineKeyUsesSerialElseCustomerAndMarkings() {
+        assertThat(ServiceSheetImportService.machineKey("sn 001", "c1", "DS-100", "", ""))
+                .isEqualTo(ServiceSheetImportService.machineKey("SN001", "c2", "other", "R1", "I1"));
+        assertThat(ServiceSheetImportService.machineKey("", "c1", "DS-100", "R1", ""))
+                .isEqualTo(ServiceSheetImportService.machineKey(null, "c1", "ds-100 ", "r1", null))
+                .isNotEqualTo(ServiceSheetImportService.machineKey("", "c2", "DS-100", "R1", ""));
+    }
+
+    @Test
+    void reusesCustomersAndMachinesAcrossRowsAndExistingData() throws Exception {
+        Customer existing = new Customer();
+        existing.setId("c-existing");
+        existing.setCustomerName("Perera Stores");
+        existing.setPhone("077 123 4567");
+        mongoTemplate.save(existing);
+
+        ImportResult result = importCsv(
+                "2024-01-05,1,INV-1,\"Perera Stores, Main Street\",Galle,+94771234567,DS-100,SN-1,30kg,,,Nimal\n"
+                + "2024-02-05,2,INV-2,\"Perera Stores, Main Street\",Galle,0771234567,DS-100, sn-1,30kg,,,Nimal\n"
+                + "2024-02-06,1,INV-3,\"Silva Hardware, Matara\",Matara,0719876543,DS-200,,15kg,R-9,,Kamal\n");
+
+        assertThat(result.getRecordsImported()).isEqualTo(3);
+        assertThat(result.getCustomersCreated()).isEqualTo(1);   // Silva only
+        assertThat(result.getMachinesCreated()).isEqualTo(2);
+        List<ServiceRecord> records = mongoTemplate.findAll(ServiceRecord.class);
+        assertThat(records.subList(0, 2)).extracting(ServiceRecord::getCustomerId).containsOnly("c-existing");
+        assertThat(records.get(0).getMachineId()).isEqualTo(records.get(1).getMachineId());
+        assertThat(records.get(0).getNextServiceDate()).isEqualTo(LocalDate.of(2025, 1, 5));
+    }
+
+    @Test
+    void badRowsAreReportedWithTheirRowNumberAndSkipped() throws Exception {
+        ImportResult result = importCsv(
+                "2024-01-05,1,INV-1,\"Perera Stores, Main Street\",Galle,0771234567,DS-100,SN-1,30kg,,,Nimal\n"
+                + "not a date,2,INV-2,\"Perera Stores, Main Street\",Galle,0771234567,DS-100,SN-1,30kg,,,Nimal\n"
+                + "2024-01-07,x,INV-3,\"Perera Stores, Main Street\",Galle,0771234567,DS-100,SN-1,30kg,,,Nimal\n"
+                + "2024-01-08,4,INV-4,,,,DS-100,SN-1,30kg,,,Nimal\n"
+                + "08/01/2024,5,INV-5,\"Perera Stores, Main Street\",Galle,0771234567,DS-100,SN-1,30kg,,,Nimal\n");
+
+        assertThat(result.getRowsRead()).isEqualTo(5);
+        assertThat(result.getRecordsImported()).isEqualTo(2);
+        assertThat(result.getErrorCount()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(ImportResult.RowError::getRow).containsExactly(3, 4, 5);
+        assertThat(result.getErrors()).extracting(ImportResult.RowError::getMessage)
+                .containsExactly("Invalid DATE: not a date", "Invalid NO: x", "NAME & ADDRESS or TEL is required");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesInChunksOfTheConfiguredSize() throws Exception {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            rows.append("2024-01-0").append(i).append(',').append(i).append(",INV-").append(i)
+                    .append(",\"Perera Stores, Main Street\",Galle,0771234567,DS-100,SN-1,30kg,,,Nimal\n");
+        }
+
+        ImportResult result = importCsv(rows.toString());
+
+        ArgumentCaptor<List<ServiceRecord>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(reportProjection, times(3)).recordsSaved(chunks.capture());
+        assertThat(chunks.getAllValues()).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(result.getRecordsImported()).isEqualTo(5);
+        assertThat(mongoTemplate.count(new Query(), ServiceRecord.class)).isEqualTo(5);
+        assertThat(mongoTemplate.count(new Query(), Machine.class)).isEqualTo(1);
+    }
+
+    @Test
+    void importingTheSameSheetAgainSkipsStoredServices() throws Exception {
+        String sheet = "2024-01-05,1,INV-1,\"Perera Stores, Main Street\",Galle,0771234567,DS-100,SN-1,30kg,,,Nimal\n"
+                + "2024-02-05,2,INV-2,\"Perera Stores, Main Street\",Galle,0771234567,DS-100,SN-1,30kg,,,Nimal\n"
+                + "2024-02-05,2,INV-2,\"Perera Stores, Main Street\",Galle,0771234567,DS-100,SN-1,30kg,,,Nimal\n";
+
+        ImportResult first = importCsv(sheet);
+        ImportResult second = importCsv(sheet + "2024-03-05,3,INV-3,\"Perera Stores, Main Street\",Galle,0771234567,DS-100,SN-1,30kg,,,Nimal\n");
+
+        assertThat(first.getRecordsImported()).isEqualTo(2);
+        assertThat(first.getRecordsSkipped()).isEqualTo(1);   // repeated within the sheet
+        assertThat(second.getRecordsImported()).isEqualTo(1);
+        assertThat(second.getRecordsSkipped()).isEqualTo(3);
+        assertThat(second.getCustomersCreated()).isZero();
+        assertThat(mongoTemplate.count(new Query(), ServiceRecord.class)).isEqualTo(3);
+    }
+
+    @Test
+    void rowsWhoseCustomerCannotBeWrittenAreReportedAndTheRestImports() throws Exception {
+        // gives the customer insert something to fail on
+        mongoTemplate.indexOps(Customer.class).createIndex(new Index("customerName", Sort.Direction.ASC).unique());
+        Customer existing = new Customer();
+        existing.setCustomerName("Perera Stores");
+        existing.setPhone("0771111111");
+        mongoTemplate.insert(existing);
+
+        ImportResult result = importCsv(
+                "2024-01-05,1,INV-1,\"Perera Stores, Main Street\",Galle,0772222222,DS-100,SN-1,30kg,,,Nimal\n"
+                + "2024-01-06,1,INV-2,\"Silva Hardware, Matara\",Matara,0719876543,DS-200,SN-2,15kg,,,Kamal\n"
+                + "2024-02-05,2,INV-3,\"Perera Stores, Main Street\",Galle,0772222222,DS-100,SN-1,30kg,,,Nimal\n");
+
+        assertThat(result.getRecordsImported()).isEqualTo(1);
+        assertThat(result.getCustomersCreated()).isEqualTo(1);
+        assertThat(result.getMachinesCreated()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(ImportResult.RowError::getRow).containsExactly(2, 4);
+        assertThat(mongoTemplate.findAll(ServiceRecord.class)).extracting(ServiceRecord::getInvoiceNo)
+                .containsExactly("INV-2");
+        assertThat(mongoTemplate.findAll(Machine.class)).extracting(Machine::getSerialNumber).containsExactly("SN-2");
+    }
+
+    private ImportResult importCsv(String rows) throws Exception {
+        byte[] csv = (HEADER + rows).getBytes(StandardCharsets.UTF_8);
+        return importService.importSheet("sheet.csv", new ByteArrayInputStream(csv));
+    }
+}
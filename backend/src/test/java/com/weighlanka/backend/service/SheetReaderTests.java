@@ -0,0 +1,67 @@
+package com.weighlanka.backend.service;
+
+import com.weighlanka.backend.dto.ServiceTableRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Reads back what ReportExportService writes – the import accepts our own export
+class SheetReaderTests {
+
+    private final SheetReader reader = new SheetReader();
+    private final ReportExportService exportService = new ReportExportService();
+
+    @Test
+    void csvRoundTripKeepsQuotedCommasAndNewlines() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeCsv(Stream.of(row("Perera Stores, Main Street"), row("Silva \"Traders\"\nGalle")), out);
+
+        List<List<String>> rows = new ArrayList<>();
+        reader.readCsv(new ByteArrayInputStream(out.toByteArray()), (number, cells) -> rows.add(cells));
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0)).isEqualTo(ReportExportService.HEADERS);
+        assertThat(rows.get(1).get(3)).isEqualTo("Perera Stores, Main Street");
+        assertThat(rows.get(2).get(3)).isEqualTo("Silva \"Traders\"\nGalle");
+        assertThat(rows.get(2)).hasSize(12);
+    }
+
+    @Test
+    void xlsxDatesComeBackAsIsoAndEmptyCellsAreKept(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("sheet.xlsx");
+        ServiceTableRow sparse = row("Perera Stores, Main Street");
+        sparse.setTel(null);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            exportService.writeXlsx(Stream.of(sparse), out);
+        }
+
+        List<Integer> numbers = new ArrayList<>();
+        List<List<String>> rows = new ArrayList<>();
+        reader.readXlsx(file.toFile(), (number, cells) -> {
+            numbers.add(number);
+            rows.add(cells);
+        });
+
+        assertThat(numbers).containsExactly(1, 2);
+        assertThat(rows.get(1).get(0)).isEqualTo("2025-03-01");
+        assertThat(rows.get(1).get(1)).isEqualTo("7");
+        assertThat(rows.get(1).get(5)).isEmpty();
+        assertThat(rows.get(1).get(11)).isEqualTo("Nimal");
+    }
+
+    private static ServiceTableRow row(String nameAndAddress) {
+        return new ServiceTableRow(LocalDate.of(2025, 3, 1), 7, "INV-7", nameAndAddress, "Embilipitiya",
+                "0771234567", "DS-100", "SN-7", "15kg", "REG-7", "ID-7", "Nimal");
+    }
+}
@@ -0,0 +1,52 @@
+package com.weighlanka.backend.support;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.weighlanka.backend.repository.CustomerRepository;
+import com.weighlanka.backend.repository.MachineRepository;
+import com.weighlanka.backend.service.BulkLookupService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.net.InetSocketAddress;
+
+/**
+ * In-memory Mongo wire-protocol server with a MongoTemplate on top, for service tests
+ * that need real queries, updates and bulk writes. One per test; close it afterwards.
+ */
+public final class InMemoryMongo implements AutoCloseable {
+
+    private final MongoServer server;
+    private final MongoClient client;
+    private final MongoTemplate template;
+
+    public InMemoryMongo() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        template = new MongoTemplate(client, "weighlanka-test");
+    }
+
+    public MongoTemplate template() {
+        return template;
+    }
+
+    public <T> T repository(Class<T> type) {
+        return new MongoRepositoryFactory(template).getRepository(type);
+    }
+
+    /** Customer / machine lookups against this database, with a plain map cache. */
+    public BulkLookupService lookupService() {
+        return new BulkLookupService(repository(CustomerRepository.class), repository(MachineRepository.class),
+                new ConcurrentMapCacheManager());
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        server.shutdownNow();
+    }
+}
@@ -0,0 +1,80 @@
+package com.weighlanka.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.weighlanka.backend.dto.ServiceTableRow;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.service.ServiceReportAssembler;
+import com.weighlanka.benchmarks.support.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of report responses: the JSON array written by GET /report and the
+ * NDJSON stream written by GET /report/range, with the mapper configured like Spring Boot's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    int rows;
+
+    private List<ServiceTableRow> table;
+    private ObjectMapper mapper;
+    private ObjectWriter rowWriter;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(rows);
+        table = new ArrayList<>(rows);
+        for (ServiceRecord record : data.recordList()) {
+            table.add(ServiceReportAssembler.toRow(record,
+                    data.customers.get(record.getCustomerId()), data.machines.get(record.getMachineId())));
+        }
+
+        mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        rowWriter = mapper.writerFor(ServiceTableRow.class);
+        buffer = new ByteArrayOutputStream(rows * 256);
+    }
+
+    @Benchmark
+    public byte[] jsonArray() throws IOException {
+        return mapper.writeValueAsBytes(table);
+    }
+
+    @Benchmark
+    public int ndjson() throws IOException {
+        buffer.reset();
+        for (ServiceTableRow row : table) {
+            rowWriter.writeValue(buffer, row);
+            buffer.write('\n');
+        }
+        return buffer.size();
+    }
+}
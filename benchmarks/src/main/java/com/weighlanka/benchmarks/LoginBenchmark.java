@@ -0,0 +1,68 @@
+package com.weighlanka.benchmarks;
+
+import com.weighlanka.backend.model.Admin;
+import com.weighlanka.backend.repository.AdminRepository;
+import com.weighlanka.backend.service.AdminService;
+import com.weighlanka.benchmarks.support.InMemoryRepositories;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt cost of {@link AdminService#validateLogin}. The stored hash decides the work
+ * factor, so each strength gets its own hash; 10 is what AdminService writes today.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "s3cret-Passw0rd";
+
+    @Param({"10", "12"})
+    int strength;
+
+    private AdminService adminService;
+
+    @Setup
+    public void setUp() {
+        Admin admin = new Admin();
+        admin.setUsername("admin");
+        admin.setPasswordHash(new BCryptPasswordEncoder(strength).encode(PASSWORD));
+
+        AdminRepository repository = InMemoryRepositories.of(AdminRepository.class, Map.of("admin", admin),
+                Map.of("findByUsername", args -> "admin".equals(args[0]) ? admin : null));
+
+        adminService = new AdminService();
+        Field field = ReflectionUtils.findField(AdminService.class, "adminRepository");
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, adminService, repository);
+    }
+
+    @Benchmark
+    public boolean validLogin() {
+        return adminService.validateLogin("admin", PASSWORD);
+    }
+
+    @Benchmark
+    public boolean wrongPassword() {
+        return adminService.validateLogin("admin", "not-the-password");
+    }
+}
@@ -0,0 +1,114 @@
+package com.weighlanka.benchmarks;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.weighlanka.backend.dto.ServiceTableRow;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.model.ServiceReportRow;
+import com.weighlanka.backend.repository.CustomerRepository;
+import com.weighlanka.backend.repository.MachineRepository;
+import com.weighlanka.backend.repository.ServiceRecordRepository;
+import com.weighlanka.backend.repository.ServiceReportRowRepository;
+import com.weighlanka.backend.service.BulkLookupService;
+import com.weighlanka.backend.service.ServiceRecordService;
+import com.weighlanka.backend.service.ServiceRecordServiceImpl;
+import com.weighlanka.backend.service.ServiceReportAssembler;
+import com.weighlanka.benchmarks.support.BenchmarkData;
+import com.weighlanka.benchmarks.support.InMemoryRepositories;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily report against in-memory repositories, without Mongo I/O:
+ * {@code joinReport} is the customer / machine join that now only runs when the read
+ * model is written, {@code dailyReport} is {@link ServiceRecordService#getDailyReport}
+ * reading the prebuilt service_report_rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReportAssemblyBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    int records;
+
+    /** "none" = every call resolves from the repositories, "caffeine" = production cache spec */
+    @Param({"none", "caffeine"})
+    String cache;
+
+    private BenchmarkData data;
+    private List<ServiceRecord> dayRecords;
+    private ServiceReportAssembler assembler;
+    private ServiceRecordService service;
+
+    @Setup
+    public void setUp() {
+        data = new BenchmarkData(records);
+        dayRecords = data.recordList();
+
+        CustomerRepository customers = InMemoryRepositories.of(CustomerRepository.class, data.customers);
+        MachineRepository machines = InMemoryRepositories.of(MachineRepository.class, data.machines);
+        ServiceRecordRepository serviceRecords = InMemoryRepositories.of(ServiceRecordRepository.class, data.records);
+
+        assembler = new ServiceReportAssembler(new BulkLookupService(customers, machines, cacheManager()));
+
+        List<ServiceReportRow> dayRows = new ArrayList<>(dayRecords.size());
+        List<ServiceTableRow> table = assembler.assemble(dayRecords);
+        for (int i = 0; i < dayRecords.size(); i++) {
+            dayRows.add(ServiceReportRow.of(dayRecords.get(i), table.get(i), Instant.now()));
+        }
+        ServiceReportRowRepository reportRows = InMemoryRepositories.of(ServiceReportRowRepository.class, Map.of(),
+                Map.of("findByServiceDateOrderByVisitNoAsc", args -> dayRows));
+
+        service = new ServiceRecordServiceImpl(serviceRecords, reportRows, null, null, null, null, 500);
+    }
+
+    private CacheManager cacheManager() {
+        if ("none".equals(cache)) {
+            return new NoOpCacheManager();
+        }
+        CaffeineCacheManager manager = new CaffeineCacheManager("customers", "machines");
+        manager.setCaffeine(Caffeine.from("maximumSize=10000,expireAfterWrite=10m"));
+        return manager;
+    }
+
+    @Benchmark
+    public List<ServiceTableRow> joinReport() {
+        return assembler.assemble(dayRecords);
+    }
+
+    @Benchmark
+    public List<ServiceTableRow> dailyReport() {
+        return service.getDailyReport(BenchmarkData.DAY);
+    }
+
+    /** DTO mapping alone, with customers and machines already at hand. */
+    @Benchmark
+    public void mapRows(Blackhole blackhole) {
+        for (ServiceRecord record : dayRecords) {
+            blackhole.consume(ServiceReportAssembler.toRow(record,
+                    data.customers.get(record.getCustomerId()), data.machines.get(record.getMachineId())));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.weighlanka.benchmarks;
+
+import com.weighlanka.backend.planning.LocationDirectory;
+import com.weighlanka.backend.planning.RoutePlanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Day planning cost: {@link RoutePlanner#cluster} into days of 8 visits, then a route per
+ * day, for two weeks of due machines spread over the bundled towns. The planning endpoint
+ * should stay well under a second at 5000 visits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutePlannerBenchmark {
+
+    private static final int VISITS_PER_DAY = 8;
+
+    @Param({"500", "5000"})
+    int visitCount;
+
+    private RoutePlanner planner;
+    private int depot;
+    private List<RoutePlanner.Visit<Integer>> visits;
+
+    @Setup
+    public void setUp() {
+        LocationDirectory locations = new LocationDirectory(new ClassPathResource("planning/locations.csv"), 1.0);
+        planner = new RoutePlanner(locations);
+        depot = locations.indexOf("Colombo");
+
+        Random random = new Random(7);
+        visits = new ArrayList<>();
+        for (int i = 0; i < visitCount; i++) {
+            visits.add(new RoutePlanner.Visit<>(random.nextInt(locations.size()),
+                    LocalDate.of(2026, 1, 1).plusDays(i % 14), i));
+        }
+    }
+
+    @Benchmark
+    public double planDays() {
+        double km = 0;
+        for (List<RoutePlanner.Visit<Integer>> day : planner.cluster(depot, visits, VISITS_PER_DAY)) {
+            km += planner.route(depot, day).km();
+        }
+        return km;
+    }
+}
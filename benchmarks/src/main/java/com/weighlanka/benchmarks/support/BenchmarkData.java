@@ -0,0 +1,80 @@
+package com.weighlanka.benchmarks.support;
+
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic fixture: {@code recordCount} service records on one day, spread over
+ * recordCount / 10 customers with two machines each (like a busy day at a few shops).
+ */
+public final class BenchmarkData {
+
+    public static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    private static final String[] LOCATIONS = {
+            "Embilipitiya", "Ratnapura", "Colombo", "Galle", "Matara", "Kandy", "Kurunegala", "Hambantota"
+    };
+    private static final String[] MODELS = {"AND SK-20", "CAS SW-1", "Digi DS-782", "Mettler BC-30"};
+    private static final String[] TECHNICIANS = {"Nimal", "Sunil", "Kamal", "Ruwan"};
+
+    public final Map<String, Customer> customers = new LinkedHashMap<>();
+    public final Map<String, Machine> machines = new LinkedHashMap<>();
+    public final Map<String, ServiceRecord> records = new LinkedHashMap<>();
+
+    public BenchmarkData(int recordCount) {
+        Random random = new Random(42);
+        int customerCount = Math.max(1, recordCount / 10);
+
+        List<Machine> machineList = new ArrayList<>(customerCount * 2);
+        for (int c = 0; c < customerCount; c++) {
+            Customer customer = new Customer();
+            customer.setId(String.format("c%023d", c));
+            customer.setCustomerName("Customer " + c + " Stores");
+            customer.setAddress(c + " Main Street");
+            customer.setPhone(String.format("07%08d", c));
+            customer.setEmail("customer" + c + "@example.com");
+            customer.setLocation(LOCATIONS[c % LOCATIONS.length]);
+            customers.put(customer.getId(), customer);
+
+            for (int m = 0; m < 2; m++) {
+                Machine machine = new Machine();
+                machine.setId(String.format("m%023d", c * 2 + m));
+                machine.setCustomerId(customer.getId());
+                machine.setModel(MODELS[random.nextInt(MODELS.length)]);
+                machine.setSerialNumber("SN" + (100000 + c * 2 + m));
+                machine.setCapacity((m + 1) * 15 + "kg");
+                machine.setRegNo("REG-" + c + "-" + m);
+                machine.setIdNo("ID" + (c * 2 + m));
+                machines.put(machine.getId(), machine);
+                machineList.add(machine);
+            }
+        }
+
+        for (int r = 0; r < recordCount; r++) {
+            Machine machine = machineList.get(random.nextInt(machineList.size()));
+            ServiceRecord record = new ServiceRecord();
+            record.setId(String.format("r%023d", r));
+            record.setCustomerId(machine.getCustomerId());
+            record.setMachineId(machine.getId());
+            record.setServiceDate(DAY);
+            record.setNextServiceDate(DAY.plusYears(1));
+            record.setTechnicianName(TECHNICIANS[r % TECHNICIANS.length]);
+            record.setServiceCost(1500.0 + random.nextInt(5000));
+            record.setVisitNo(r + 1);
+            record.setInvoiceNo("INV-" + (50000 + r));
+            records.put(record.getId(), record);
+        }
+    }
+
+    public List<ServiceRecord> recordList() {
+        return new ArrayList<>(records.values());
+    }
+}
@@ -0,0 +1,75 @@
+package com.weighlanka.benchmarks.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Map-backed stand-ins for Spring Data repository interfaces, so services can be
+ * benchmarked without Mongo. Covers findById / findAllById / findAll / count and
+ * any derived finder registered by name; everything else throws.
+ */
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    public static <R, T> R of(Class<R> repositoryType, Map<String, T> store) {
+        return of(repositoryType, store, Map.of());
+    }
+
+    /**
+     * @param finders derived query methods by name, e.g. {@code "findByServiceDate" -> args -> ...}
+     */
+    public static <R, T> R of(Class<R> repositoryType, Map<String, T> store,
+                              Map<String, Function<Object[], Object>> finders) {
+        InvocationHandler handler = (proxy, method, args) -> invoke(repositoryType, store, finders, method, args);
+        return repositoryType.cast(Proxy.newProxyInstance(
+                repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, handler));
+    }
+
+    private static <T> Object invoke(Class<?> type, Map<String, T> store,
+                                     Map<String, Function<Object[], Object>> finders,
+                                     Method method, Object[] args) {
+        String name = method.getName();
+
+        Function<Object[], Object> finder = finders.get(name);
+        if (finder != null) {
+            return finder.apply(args);
+        }
+
+        switch (name) {
+            case "findById":
+                return Optional.ofNullable(store.get((String) args[0]));
+            case "existsById":
+                return store.containsKey((String) args[0]);
+            case "findAllById": {
+                List<T> found = new ArrayList<>();
+                for (Object id : (Iterable<?>) args[0]) {
+                    T entity = store.get((String) id);
+                    if (entity != null) found.add(entity);
+                }
+                return found;
+            }
+            case "findAll":
+                if (args == null || args.length == 0) return new ArrayList<>(store.values());
+                break;
+            case "count":
+                return (long) store.size();
+            case "toString":
+                return "InMemory" + type.getSimpleName();
+            case "hashCode":
+                return System.identityHashCode(store);
+            case "equals":
+                return false;
+            default:
+                break;
+        }
+        throw new UnsupportedOperationException(type.getSimpleName() + "." + name + " is not faked");
+    }
+}
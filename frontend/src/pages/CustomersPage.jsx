@@ -3,31 +3,67 @@ import axios from "axios";
 
 const API_BASE_URL = "http://localhost:9090/api";
 
+const PAGE_SIZE = 25;
+
 function CustomersPage() {
+  // one page of customers – or of search hits while the search box is filled
   const [customers, setCustomers] = useState([]);
+  const [total, setTotal] = useState(0);
+  const [page, setPage] = useState(0);
+  const [reloadKey, setReloadKey] = useState(0);
   const [form, setForm] = useState({
     customerName: "",
     address: "",
     phone: "",
     email: "",
     location: "",
+    preferredLanguage: "en",
   });
   const [message, setMessage] = useState("");
   const [editingId, setEditingId] = useState(null); // null = create mode
   const [search, setSearch] = useState("");
 
-  const loadCustomers = async () => {
-    try {
-      const res = await axios.get(`${API_BASE_URL}/customers`);
-      setCustomers(res.data);
-    } catch (err) {
-      console.error("Error loading customers:", err);
-    }
-  };
+  const loadCustomers = () => setReloadKey((k) => k + 1);
 
+  // back to the first page whenever the search changes
   useEffect(() => {
-    loadCustomers();
-  }, []);
+    setPage(0);
+  }, [search]);
+
+  // paged list, or ranked search hits rendered as they come; typing is debounced
+  // and a response that arrives after the search/page moved on is dropped
+  useEffect(() => {
+    let cancelled = false;
+    const q = search.trim();
+    const timer = setTimeout(async () => {
+      try {
+        if (q) {
+          const res = await axios.get(`${API_BASE_URL}/search`, {
+            params: { q, type: "customer", page, size: PAGE_SIZE },
+          });
+          if (cancelled) return;
+          setCustomers(
+            res.data.hits.map((h) => ({ id: h.id, customerName: h.label, detail: h.detail, hit: true }))
+          );
+          setTotal(res.data.total);
+        } else {
+          const res = await axios.get(`${API_BASE_URL}/customers`, {
+            params: { page, size: PAGE_SIZE, sort: "customerName" },
+          });
+          if (cancelled) return;
+          setCustomers(res.data);
+          setTotal(Number(res.headers["x-total-count"] || res.data.length));
+        }
+      } catch (err) {
+        if (!cancelled) console.error("Error loading customers:", err);
+      }
+    }, q ? 200 : 0);
+
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [search, page, reloadKey]);
 
   const handleChange = (e) => {
     const { name, value } = e.target;
@@ -55,6 +91,7 @@ function CustomersPage() {
         phone: "",
         email: "",
         location: "",
+        preferredLanguage: "en",
       });
       setEditingId(null);
       loadCustomers();
@@ -64,7 +101,18 @@ function CustomersPage() {
     }
   };
 
-  const handleEdit = (customer) => {
+  const handleEdit = async (row) => {
+    let customer = row;
+    if (row.hit) {
+      // search hits only carry name and detail – load the full customer
+      try {
+        customer = (await axios.get(`${API_BASE_URL}/customers/${row.id}`)).data;
+      } catch (err) {
+        console.error(err);
+        setMessage("Failed to load customer.");
+        return;
+      }
+    }
     setEditingId(customer.id);
     setForm({
       customerName: customer.customerName || "",
@@ -72,6 +120,7 @@ function CustomersPage() {
       phone: customer.phone || "",
       email: customer.email || "",
       location: customer.location || "",
+      preferredLanguage: customer.preferredLanguage || "en",
     });
     setMessage("");
   };
@@ -89,9 +138,12 @@ function CustomersPage() {
           phone: "",
           email: "",
           location: "",
+          preferredLanguage: "en",
         });
       }
-      loadCustomers();
+      // last row of a page gone → show the page before it
+      if (customers.length === 1 && page > 0) setPage(page - 1);
+      else loadCustomers();
     } catch (err) {
       console.error(err);
       setMessage("Failed to delete customer.");
@@ -106,22 +158,11 @@ function CustomersPage() {
       phone: "",
       email: "",
       location: "",
+      preferredLanguage: "en",
     });
     setMessage("");
   };
 
-  // simple search filter
-  const filteredCustomers = customers.filter((c) => {
-    if (!search.trim()) return true;
-    const q = search.toLowerCase();
-    return (
-      (c.customerName || "").toLowerCase().includes(q) ||
-      (c.location || "").toLowerCase().includes(q) ||
-      (c.phone || "").toLowerCase().includes(q) ||
-      (c.email || "").toLowerCase().includes(q)
-    );
-  });
-
   // UI helpers for avatar
   const getInitials = (name) => {
     if (!name) return "?";
@@ -186,7 +227,7 @@ function CustomersPage() {
         @media (min-width:900px){ .customers-form-grid { grid-template-columns: 1fr 1fr; } }
 
         .customers-form-field label { font-size: 13px; color: #0f172a; display:flex; flex-direction:column; gap:6px; }
-        .customers-form-field input, .customers-form-field textarea {
+        .customers-form-field input, .customers-form-field textarea, .customers-form-field select {
           padding: 10px 12px; border-radius: 10px; border: 1px solid rgba(14,20,50,0.06); font-size: 13px; box-shadow: 0 1px 2px rgba(16,24,40,0.03);
         }
         .customers-form-field input:focus, .customers-form-field textarea:focus { outline:none; box-shadow: 0 6px 18px rgba(99,102,241,0.12); border-color: var(--accent-1); }
@@ -216,6 +257,7 @@ function CustomersPage() {
         .customers-table tbody tr:hover { background: rgba(6,182,212,0.04); transform: translateY(-1px); }
 
         .customers-tags { font-size:12px; color:var(--muted); }
+        .customers-pager { display:flex; justify-content:flex-end; gap:8px; margin-top:12px; }
         .customers-actions-cell { display:flex; gap:8px; }
 
         .btn-small { border-radius:999px; padding:6px 12px; font-size:13px; cursor:pointer; border:none; }
@@ -295,6 +337,21 @@ function CustomersPage() {
                 </label>
               </div>
 
+              <div className="customers-form-field">
+                <label>
+                  Reminder Language
+                  <select
+                    name="preferredLanguage"
+                    value={form.preferredLanguage}
+                    onChange={handleChange}
+                  >
+                    <option value="en">English</option>
+                    <option value="si">Sinhala</option>
+                    <option value="ta">Tamil</option>
+                  </select>
+                </label>
+              </div>
+
               <div className="customers-form-field">
                 <label>
                   Full Address
@@ -334,7 +391,7 @@ function CustomersPage() {
             <div className="customers-list-title-wrap">
               <h3 className="customers-list-title">Customer List</h3>
               <span className="customers-count">
-                {filteredCustomers.length} of {customers.length}
+                {total === 0 ? 0 : page * PAGE_SIZE + 1}–{page * PAGE_SIZE + customers.length} of {total}
               </span>
             </div>
 
@@ -365,7 +422,7 @@ function CustomersPage() {
                 </tr>
               </thead>
               <tbody>
-                {filteredCustomers.map((c) => (
+                {customers.map((c) => (
                   <tr key={c.id}>
                     <td>
                       <div style={{display:'flex', alignItems:'center', gap:10}}>
@@ -374,21 +431,27 @@ function CustomersPage() {
                         </div>
                         <div style={{minWidth:0}}>
                           <div style={{fontWeight:600, color:'#071235', whiteSpace:'nowrap', overflow:'hidden', textOverflow:'ellipsis'}}>{c.customerName}</div>
-                          <div className="customers-tags" style={{marginTop:4}}>{c.email || c.location}</div>
+                          {!c.hit && <div className="customers-tags" style={{marginTop:4}}>{c.email || c.location}</div>}
                         </div>
                       </div>
                     </td>
-                    <td>{c.location}</td>
-                    <td>
-                      {c.phone}
-                      {c.email && (
-                        <>
-                          <br />
-                          <span className="customers-tags">{c.email}</span>
-                        </>
-                      )}
-                    </td>
-                    <td>{c.address}</td>
+                    {c.hit ? (
+                      <td colSpan={3} className="customers-tags">{c.detail}</td>
+                    ) : (
+                      <>
+                        <td>{c.location}</td>
+                        <td>
+                          {c.phone}
+                          {c.email && (
+                            <>
+                              <br />
+                              <span className="customers-tags">{c.email}</span>
+                            </>
+                          )}
+                        </td>
+                        <td>{c.address}</td>
+                      </>
+                    )}
                     <td>
                       <div className="customers-actions-cell">
                         <button
@@ -409,7 +472,7 @@ function CustomersPage() {
                     </td>
                   </tr>
                 ))}
-                {filteredCustomers.length === 0 && (
+                {customers.length === 0 && (
                   <tr>
                     <td colSpan={5} style={{ textAlign: "center" }}>
                       No customers found.
@@ -419,6 +482,20 @@ function CustomersPage() {
               </tbody>
             </table>
           </div>
+
+          <div className="customers-pager">
+            <button type="button" className="btn-secondary" disabled={page === 0} onClick={() => setPage(page - 1)}>
+              Prev
+            </button>
+            <button
+              type="button"
+              className="btn-secondary"
+              disabled={(page + 1) * PAGE_SIZE >= total}
+              onClick={() => setPage(page + 1)}
+            >
+              Next
+            </button>
+          </div>
         </div>
       </div>
     </div>
@@ -33,6 +33,7 @@ function DashboardPage() {
 
   const [urgentReminders, setUrgentReminders] = useState([]);
   const [recentRecords, setRecentRecords] = useState([]);
+  const [monthlyCounts, setMonthlyCounts] = useState([]);
   const [search, setSearch] = useState("");
 
   useEffect(() => {
@@ -42,76 +43,37 @@ function DashboardPage() {
       try {
         if (!cancelled) setLoading(true);
 
-        const [customersRes, machinesRes, recordsRes] = await Promise.all([
-          axios.get(`${API_BASE_URL}/customers`),
-          axios.get(`${API_BASE_URL}/machines`),
-          axios.get(`${API_BASE_URL}/service-records`),
-        ]);
+        // one small call – totals and counters are computed on the server
+        const res = await axios.get(`${API_BASE_URL}/dashboard/summary`);
 
         if (cancelled) return;
 
-        const customers = customersRes.data || [];
-        const machines = machinesRes.data || [];
-        const records = recordsRes.data || [];
-
-        if (!cancelled) {
-          setTotalCustomers(customers.length);
-          setTotalMachines(machines.length);
-          setTotalServiceRecords(records.length);
-        }
-
-        const customerMap = {};
-        customers.forEach((c) => (customerMap[c.id] = c.customerName || "Unknown"));
+        const summary = res.data || {};
+        const today = new Date();
 
-        const machineMap = {};
-        machines.forEach(
-          (m) => (machineMap[m.id] = m.model || m.serialNumber || "Unknown")
+        setTotalCustomers(summary.customers || 0);
+        setTotalMachines(summary.machines || 0);
+        setTotalServiceRecords(summary.serviceRecords || 0);
+        setOverdueCount(summary.overdue || 0);
+        setUpcomingCount(summary.upcoming || 0);
+        setMonthlyCounts(summary.servicesPerMonth || []);
+
+        setUrgentReminders(
+          (summary.overdueServices || []).map((r) => ({
+            ...r,
+            daysOverdue: Math.floor((today - new Date(r.nextServiceDate)) / 86400000),
+          }))
+        );
+        setRecentRecords(
+          (summary.recentServices || []).map((r) => ({
+            id: r.id,
+            serviceDate: r.serviceDate?.substring(0, 10),
+            customerName: r.customerName,
+            machineLabel: r.machineLabel,
+            technicianName: r.technicianName,
+            invoiceNo: r.invoiceNo,
+          }))
         );
-
-        const today = new Date();
-        const future = new Date();
-        future.setDate(future.getDate() + 90);
-
-        const overdue = [];
-        let upcoming = 0;
-
-        records.forEach((r) => {
-          if (!r.nextServiceDate) return;
-          const nextDate = new Date(r.nextServiceDate);
-          const diff = Math.floor((nextDate - today) / 86400000);
-
-          if (diff < 0) {
-            overdue.push({
-              ...r,
-              customerName: customerMap[r.customerId],
-              machineLabel: machineMap[r.machineId],
-              daysOverdue: Math.abs(diff),
-            });
-          } else if (diff <= 90) {
-            upcoming++;
-          }
-        });
-
-        if (!cancelled) {
-          setOverdueCount(overdue.length);
-          setUrgentReminders(overdue.slice(0, 5));
-          setUpcomingCount(upcoming);
-
-          const sorted = records.slice().sort((a, b) => new Date(b.serviceDate) - new Date(a.serviceDate));
-
-          setRecentRecords(
-            sorted
-              .slice(0, 6)
-              .map((r) => ({
-                id: r.id,
-                serviceDate: r.serviceDate?.substring(0, 10),
-                customerName: customerMap[r.customerId],
-                machineLabel: machineMap[r.machineId],
-                technicianName: r.technicianName,
-                invoiceNo: r.invoiceNo,
-              }))
-          );
-        }
       } catch (err) {
         if (!cancelled) setError("Failed to load dashboard data.");
         console.error(err);
@@ -131,26 +93,14 @@ function DashboardPage() {
     r.customerName?.toLowerCase().includes(search.toLowerCase())
   );
 
-  const monthlyData = useMemo(() => {
-    const counts = Array(6).fill(0);
-    const labels = [];
-    const now = new Date();
-    for (let i = 5; i >= 0; i--) {
-      const d = new Date(now.getFullYear(), now.getMonth() - i, 1);
-      labels.push(d.toLocaleString(undefined, { month: "short" }));
-    }
-
-    recentRecords.forEach((r) => {
-      if (!r.serviceDate) return;
-      const d = new Date(r.serviceDate);
-      const monthsDiff = (now.getFullYear() - d.getFullYear()) * 12 + (now.getMonth() - d.getMonth());
-      if (monthsDiff >= 0 && monthsDiff < 6) {
-        counts[5 - monthsDiff] += 1;
-      }
-    });
-
-    return { labels, counts };
-  }, [recentRecords]);
+  // services per month for the last six months, counted on the server
+  const monthlyData = useMemo(() => ({
+    labels: monthlyCounts.map((m) => {
+      const [year, month] = m.month.split("-").map(Number);
+      return new Date(year, month - 1, 1).toLocaleString(undefined, { month: "short" });
+    }),
+    counts: monthlyCounts.map((m) => m.count),
+  }), [monthlyCounts]);
 
   const chartData = useMemo(() => ({
     labels: monthlyData.labels,
@@ -1,8 +1,10 @@
-import React, { useEffect, useState } from "react";
+import React, { useEffect, useMemo, useState } from "react";
 import axios from "axios";
 
 const API_BASE_URL = "http://localhost:9090/api";
 
+const PAGE_SIZE = 25;
+
 // helper to keep only YYYY-MM-DD for date inputs / display
 function toDateOnly(value) {
   if (!value) return "";
@@ -11,17 +13,13 @@ function toDateOnly(value) {
   return Number.isNaN(d.getTime()) ? "" : d.toISOString().slice(0, 10);
 }
 
-// add 1 year to a yyyy-mm-dd string
-function addOneYear(dateStr) {
-  if (!dateStr) return "";
-  const d = new Date(dateStr);
-  if (Number.isNaN(d.getTime())) return "";
-  d.setFullYear(d.getFullYear() + 1);
-  return d.toISOString().slice(0, 10);
-}
-
 function MachinesPage() {
+  // one page of machines – or of search hits while the search box is filled
   const [machines, setMachines] = useState([]);
+  const [total, setTotal] = useState(0);
+  const [page, setPage] = useState(0);
+  const [reloadKey, setReloadKey] = useState(0);
+  const [owner, setOwner] = useState(null); // { id, name } – show only this customer's machines
   const [customers, setCustomers] = useState([]);
   const [form, setForm] = useState({
     customerId: "",
@@ -40,18 +38,14 @@ function MachinesPage() {
   const [search, setSearch] = useState("");
   const [expandedId, setExpandedId] = useState(null); // id of row with details open
 
-  const loadMachines = async () => {
-    try {
-      const res = await axios.get(`${API_BASE_URL}/machines`);
-      setMachines(res.data);
-    } catch (err) {
-      console.error("Error loading machines:", err);
-    }
-  };
+  const loadMachines = () => setReloadKey((k) => k + 1);
 
+  // customer picker and name column – only the two fields they show
   const loadCustomers = async () => {
     try {
-      const res = await axios.get(`${API_BASE_URL}/customers`);
+      const res = await axios.get(`${API_BASE_URL}/customers`, {
+        params: { fields: "customerName,location", sort: "customerName" },
+      });
       setCustomers(res.data);
     } catch (err) {
       console.error("Error loading customers:", err);
@@ -59,37 +53,64 @@ function MachinesPage() {
   };
 
   useEffect(() => {
-    loadMachines();
     loadCustomers();
   }, []);
 
+  const customersById = useMemo(() => new Map(customers.map((c) => [c.id, c])), [customers]);
+
+  // back to the first page whenever the search or customer changes
+  useEffect(() => {
+    setPage(0);
+  }, [search, owner]);
+
+  // paged list, one customer's machines, or ranked search hits (machines and customers)
+  // rendered as they come; typing is debounced and stale responses are dropped
+  useEffect(() => {
+    let cancelled = false;
+    const q = (search || "").trim();
+    const timer = setTimeout(async () => {
+      try {
+        if (owner) {
+          const res = await axios.get(`${API_BASE_URL}/machines/customer/${owner.id}`);
+          if (cancelled) return;
+          setMachines(res.data);
+          setTotal(res.data.length);
+        } else if (q) {
+          const res = await axios.get(`${API_BASE_URL}/search`, {
+            params: { q, page, size: PAGE_SIZE },
+          });
+          if (cancelled) return;
+          setMachines(res.data.hits.map((h) => ({ ...h, hit: true })));
+          setTotal(res.data.total);
+        } else {
+          const res = await axios.get(`${API_BASE_URL}/machines`, {
+            params: { page, size: PAGE_SIZE, sort: "serialNumber" },
+          });
+          if (cancelled) return;
+          setMachines(res.data);
+          setTotal(Number(res.headers["x-total-count"] || res.data.length));
+        }
+      } catch (err) {
+        if (!cancelled) console.error("Error loading machines:", err);
+      }
+    }, q && !owner ? 200 : 0);
+
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [search, page, owner, reloadKey]);
+
   const handleChange = (e) => {
     const { name, value } = e.target;
-
-    // when Last Service Date changes, auto-fill Next Service Date = +1 year
-    if (name === "lastServiceDate") {
-      setForm((prev) => ({
-        ...prev,
-        lastServiceDate: value,
-        nextServiceDate: value ? addOneYear(value) : prev.nextServiceDate,
-      }));
-    } else {
-      setForm((prev) => ({ ...prev, [name]: value }));
-    }
+    setForm((prev) => ({ ...prev, [name]: value }));
   };
 
-  // search/filter the machines list
-  const filteredMachines = machines.filter((m) => {
-    const q = (search || "").trim().toLowerCase();
-    if (!q) return true;
-    const cust = customers.find((c) => c.id === m.customerId);
-    return (
-      (m.model || "").toLowerCase().includes(q) ||
-      (m.serialNumber || "").toLowerCase().includes(q) ||
-      (m.regNo || "").toLowerCase().includes(q) ||
-      (cust?.customerName || "").toLowerCase().includes(q)
-    );
-  });
+  // customer hit → list that customer's machines instead of the hits
+  const showOwner = (hit) => {
+    setOwner({ id: hit.id, name: hit.label });
+    setSearch("");
+  };
 
   // UI helpers
   const getInitials = (name) => {
@@ -115,11 +136,11 @@ function MachinesPage() {
     e.preventDefault();
     setMessage("");
 
+    // last / next service date come from the service records – the server ignores them
+    const { lastServiceDate, nextServiceDate, ...fields } = form;
     const payload = {
-      ...form,
+      ...fields,
       installedDate: form.installedDate || null,
-      lastServiceDate: form.lastServiceDate || null,
-      nextServiceDate: form.nextServiceDate || null,
     };
 
     try {
@@ -151,7 +172,18 @@ function MachinesPage() {
     }
   };
 
-  const handleEdit = (machine) => {
+  const handleEdit = async (row) => {
+    let machine = row;
+    if (row.hit) {
+      // search hits only carry label and detail – load the full machine
+      try {
+        machine = (await axios.get(`${API_BASE_URL}/machines/${row.id}`)).data;
+      } catch (err) {
+        console.error(err);
+        setMessage("Failed to load machine.");
+        return;
+      }
+    }
     setEditingId(machine.id);
     setForm({
       customerId: machine.customerId || "",
@@ -191,7 +223,9 @@ function MachinesPage() {
       // close details if the deleted row was expanded
       if (expandedId === id) setExpandedId(null);
 
-      loadMachines();
+      // last row of a page gone → show the page before it
+      if (machines.length === 1 && page > 0) setPage(page - 1);
+      else loadMachines();
     } catch (err) {
       console.error(err);
       setMessage("Failed to delete machine.");
@@ -249,6 +283,7 @@ function MachinesPage() {
         .btn-main { background: linear-gradient(135deg,var(--accent-1),var(--accent-2)); color:#fff; border:none; padding:9px 18px; border-radius:999px; font-weight:700; cursor:pointer; box-shadow:0 8px 20px rgba(124,58,237,0.18); }
         .btn-main:hover{ transform: translateY(-1px); filter:brightness(.98); }
         .btn-secondary{ background:transparent; border:1px solid rgba(14,20,50,0.04); padding:8px 14px; border-radius:999px; color:var(--text); }
+        .machines-pager { display:flex; justify-content:flex-end; gap:8px; margin-top:12px; }
 
         .machines-message{ margin-top:10px; color:#059669; font-weight:600; }
 
@@ -429,7 +464,8 @@ function MachinesPage() {
                     type="date"
                     name="lastServiceDate"
                     value={form.lastServiceDate}
-                    onChange={handleChange}
+                    readOnly
+                    title="Set from the machine's service records"
                   />
                 </label>
               </div>
@@ -441,7 +477,8 @@ function MachinesPage() {
                     type="date"
                     name="nextServiceDate"
                     value={form.nextServiceDate}
-                    onChange={handleChange}
+                    readOnly
+                    title="Set from the machine's service records"
                   />
                 </label>
               </div>
@@ -471,7 +508,14 @@ function MachinesPage() {
           <div className="machines-list-header">
             <div style={{display:'flex', gap:12, alignItems:'center'}}>
               <h3 className="machines-list-title">Machine List</h3>
-              <span className="machines-count">Total: {machines.length}</span>
+              <span className="machines-count">
+                {total === 0 ? 0 : page * PAGE_SIZE + 1}–{page * PAGE_SIZE + machines.length} of {total}
+              </span>
+              {owner && (
+                <button type="button" className="btn-small btn-edit" onClick={() => setOwner(null)}>
+                  {owner.name} ✕
+                </button>
+              )}
             </div>
 
             <div style={{display:'flex', gap:10, alignItems:'center'}}>
@@ -480,7 +524,7 @@ function MachinesPage() {
                   <path d="M21 21l-4.35-4.35" stroke="currentColor" strokeWidth="2" strokeLinecap="round" strokeLinejoin="round"/>
                   <circle cx="11" cy="11" r="6" stroke="currentColor" strokeWidth="2" strokeLinecap="round" strokeLinejoin="round"/>
                 </svg>
-                <input type="search" placeholder="Search model, serial, customer..." value={search} onChange={(e)=> setSearch(e.target.value)} aria-label="Search machines" />
+                <input type="search" placeholder="Search model, serial, customer..." value={search} onChange={(e)=> { setOwner(null); setSearch(e.target.value); }} aria-label="Search machines" />
               </div>
             </div>
           </div> 
@@ -503,8 +547,49 @@ function MachinesPage() {
                 </tr>
               </thead>
               <tbody>
-                {filteredMachines.map((m) => {
-                  const customer = customers.find((c) => c.id === m.customerId);
+                {machines.map((m) => {
+                  const customer = customersById.get(m.customerId);
+                  if (m.hit && m.type === "customer") {
+                    return (
+                      <tr key={`customer-${m.id}`}>
+                        <td>
+                          <div style={{display:'flex', alignItems:'center', gap:10}}>
+                            <div className="avatar" style={{background: avatarColor(m.label)}}>{getInitials(m.label)}</div>
+                            <div style={{fontWeight:600, color:'#071235', overflowWrap:'anywhere', maxWidth:300}}>{m.label}</div>
+                          </div>
+                        </td>
+                        <td colSpan={9} className="customers-tags">Customer · {m.detail}</td>
+                        <td>
+                          <button type="button" className="btn-small btn-edit" onClick={() => showOwner(m)}>
+                            Machines
+                          </button>
+                        </td>
+                      </tr>
+                    );
+                  }
+                  if (m.hit) {
+                    return (
+                      <tr key={m.id}>
+                        <td>
+                          <div style={{fontWeight:600, color:'#071235', overflowWrap:'anywhere', maxWidth:300}}>{customer ? customer.customerName : m.customerId}</div>
+                          <div className="customers-tags" style={{marginTop:4}}>{customer?.location || ''}</div>
+                        </td>
+                        <td colSpan={9}>
+                          <strong>{m.label}</strong> <span className="customers-tags">{m.detail}</span>
+                        </td>
+                        <td>
+                          <div className="machines-actions-cell">
+                            <button type="button" className="btn-small btn-edit" onClick={() => handleEdit(m)}>
+                              Edit
+                            </button>
+                            <button type="button" className="btn-small btn-delete" onClick={() => handleDelete(m.id)}>
+                              Delete
+                            </button>
+                          </div>
+                        </td>
+                      </tr>
+                    );
+                  }
                   return (
                     <tr key={m.id}>
                       <td>
@@ -549,13 +634,29 @@ function MachinesPage() {
                 {machines.length === 0 && (
                   <tr>
                     <td colSpan={11} style={{ textAlign: "center" }}>
-                      No machines yet.
+                      No machines found.
                     </td>
                   </tr>
                 )}
               </tbody>
             </table>
           </div>
+
+          {!owner && (
+            <div className="machines-pager">
+              <button type="button" className="btn-secondary" disabled={page === 0} onClick={() => setPage(page - 1)}>
+                Prev
+              </button>
+              <button
+                type="button"
+                className="btn-secondary"
+                disabled={(page + 1) * PAGE_SIZE >= total}
+                onClick={() => setPage(page + 1)}
+              >
+                Next
+              </button>
+            </div>
+          )}
         </div>
       </div>
     </div>
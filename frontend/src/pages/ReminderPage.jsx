@@ -1,21 +1,16 @@
-import React, { useEffect, useState, useMemo } from "react";
+import React, { useEffect, useState } from "react";
 import axios from "axios";
 
 const API_BASE_URL = "http://localhost:9090/api";
 
-// ---------- DATE UTILITIES ----------
-function toDateOnly(value) {
-  if (!value) return "";
-  if (typeof value === "string") return value.substring(0, 10);
-  const d = new Date(value);
-  return Number.isNaN(d.getTime()) ? "" : d.toISOString().slice(0, 10);
-}
+const PAGE_SIZE = 50;
 
-function daysBetween(fromStr, toStr) {
-  const from = new Date(fromStr);
-  const to = new Date(toStr);
-  if (Number.isNaN(from.getTime()) || Number.isNaN(to.getTime())) return null;
-  return Math.round((to - from) / (1000 * 60 * 60 * 24));
+// ---------- STATUS LABEL ----------
+function statusLabel(row) {
+  const days = Math.abs(row.daysUntilDue);
+  if (row.status === "overdue") return `OVERDUE (${days} days)`;
+  if (row.status === "urgent") return `URGENT (${days} days)`;
+  return `DUE SOON (${days} days)`;
 }
 
 function csvFromRows(rows) {
@@ -23,7 +18,7 @@ function csvFromRows(rows) {
   const lines = [headers.join(",")];
   rows.forEach((r) => {
     lines.push(
-      [r.invoiceNo, r.customerName, r.phone, r.nextServiceDate, r.label].join(",")
+      [r.invoiceNo, r.customerName, r.phone, r.nextServiceDate, statusLabel(r)].join(",")
     );
   });
   return lines.join("\n");
@@ -32,9 +27,10 @@ function csvFromRows(rows) {
 function ReminderPage() {
   const todayStr = new Date().toISOString().slice(0, 10);
 
-  const [customers, setCustomers] = useState([]);
-  const [machines, setMachines] = useState([]);
-  const [records, setRecords] = useState([]);
+  const [rows, setRows] = useState([]);
+  const [counts, setCounts] = useState({ overdue: 0, urgent: 0, dueSoon: 0 });
+  const [total, setTotal] = useState(0);
+  const [page, setPage] = useState(0);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
 
@@ -42,84 +38,46 @@ function ReminderPage() {
   const [query, setQuery] = useState("");
   const [filter, setFilter] = useState("all"); // all | overdue | urgent | dueSoon
 
+  const params = (pageNo, size) => ({
+    status: filter === "all" ? undefined : filter,
+    q: query.trim() || undefined,
+    page: pageNo,
+    size,
+  });
+
+  // back to the first page whenever the filter or search changes
   useEffect(() => {
-    const loadData = async () => {
+    setPage(0);
+  }, [query, filter]);
+
+  // rows are joined, bucketed and paged on the server; typing is debounced
+  useEffect(() => {
+    let cancelled = false;
+    const timer = setTimeout(async () => {
       try {
         setLoading(true);
-        const [cRes, mRes, rRes] = await Promise.all([
-          axios.get(`${API_BASE_URL}/customers`),
-          axios.get(`${API_BASE_URL}/machines`),
-          axios.get(`${API_BASE_URL}/service-records`),
-        ]);
-
-        setCustomers(cRes.data || []);
-        setMachines(mRes.data || []);
-        setRecords(rRes.data || []);
+        const res = await axios.get(`${API_BASE_URL}/reminders/status`, {
+          params: params(page, PAGE_SIZE),
+        });
+        if (cancelled) return;
+        setRows(res.data.rows || []);
+        setCounts(res.data.counts || { overdue: 0, urgent: 0, dueSoon: 0 });
+        setTotal(res.data.total || 0);
+        setError("");
       } catch (err) {
         console.error("Error loading reminders:", err);
-        setError("Failed to load reminders.");
+        if (!cancelled) setError("Failed to load reminders.");
       } finally {
-        setLoading(false);
+        if (!cancelled) setLoading(false);
       }
-    };
+    }, 200);
 
-    loadData();
-  }, []);
-
-  // ---------- COMBINE DATA ----------
-  const rows = useMemo(() => {
-    return (
-      records
-        .map((r) => {
-          const cust = customers.find((c) => c.id === r.customerId);
-          const mach = machines.find((m) => m.id === r.machineId);
-
-          const nextDate = toDateOnly(r.nextServiceDate);
-
-          return {
-            id: r.id,
-            invoiceNo: r.invoiceNo || "N/A",
-            capacity: mach?.capacity || "",
-            customerName: cust?.customerName || "Unknown",
-            phone: cust?.phone || "",
-            nextServiceDate: nextDate,
-          };
-        })
-        .map((row) => {
-          if (!row.nextServiceDate) return null;
-
-          const diff = daysBetween(todayStr, row.nextServiceDate);
-          if (diff === null) return null;
-
-          let status = null;
-          let label = "";
-          const days = Math.abs(diff);
-
-          if (diff < 0) {
-            status = "overdue";
-            label = `OVERDUE (${days} days)`;
-          } else if (diff >= 0 && diff <= 30) {
-            status = "urgent";
-            label = `URGENT (${days} days)`;
-          } else if (diff >= 31 && diff <= 90) {
-            status = "dueSoon";
-            label = `DUE SOON (${days} days)`;
-          } else {
-            return null; // beyond 90 days, ignore
-          }
-
-          return { ...row, status, label, daysDiff: diff };
-        })
-        .filter(Boolean)
-        .sort((a, b) => {
-          const weight = (s) => (s === "overdue" ? 0 : s === "urgent" ? 1 : 2);
-          const wA = weight(a.status);
-          const wB = weight(b.status);
-          if (wA !== wB) return wA - wB;
-          return Math.abs(a.daysDiff) - Math.abs(b.daysDiff);
-        }) || []
-    );
-  }, [records, customers, machines, todayStr]);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [page, query, filter]);
 
   // ---------- WHATSAPP CONTACT ----------
   const handleContact = (row) => {
@@ -138,31 +96,21 @@ function ReminderPage() {
     window.open(url, "_blank");
   };
 
-  const counts = useMemo(() => {
-    return rows.reduce(
-      (acc, r) => {
-        acc[r.status] = (acc[r.status] || 0) + 1;
-        return acc;
-      },
-      { overdue: 0, urgent: 0, dueSoon: 0 }
-    );
-  }, [rows]);
-
-  const filteredRows = useMemo(() => {
-    const q = query.trim().toLowerCase();
-    return rows.filter((r) => {
-      if (filter !== "all" && r.status !== filter) return false;
-      if (!q) return true;
-      return (
-        r.invoiceNo.toLowerCase().includes(q) ||
-        r.customerName.toLowerCase().includes(q) ||
-        (r.phone || "").toLowerCase().includes(q)
-      );
-    });
-  }, [rows, query, filter]);
-
-  const handleExport = () => {
-    const csv = csvFromRows(filteredRows);
+  // export every matching row, not just the page on screen
+  const handleExport = async () => {
+    const all = [];
+    try {
+      for (let p = 0; ; p++) {
+        const res = await axios.get(`${API_BASE_URL}/reminders/status`, { params: params(p, 500) });
+        all.push(...(res.data.rows || []));
+        if (all.length >= res.data.total || (res.data.rows || []).length === 0) break;
+      }
+    } catch (err) {
+      console.error("Error exporting reminders:", err);
+      alert("Export failed.");
+      return;
+    }
+    const csv = csvFromRows(all);
     const blob = new Blob([csv], { type: "text/csv;charset=utf-8;" });
     const url = URL.createObjectURL(blob);
     const a = document.createElement("a");
@@ -346,7 +294,7 @@ function ReminderPage() {
             <div style={{display:'flex', justifyContent:'center', padding:40}}><div className="loader"/></div>
           ) : error ? (
             <div style={{padding:20, color:'#b91c1c'}}>{error}</div>
-          ) : filteredRows.length === 0 ? (
+          ) : rows.length === 0 ? (
             <div className="empty">
               <div style={{fontSize:40}}>🎉</div>
               <div style={{fontSize:18, fontWeight:700, marginTop:8}}>No reminders right now</div>
@@ -354,7 +302,14 @@ function ReminderPage() {
             </div>
           ) : (
             <div>
-              <div style={{marginBottom:10, color:'var(--muted)'}}>{filteredRows.length} reminder(s)</div>
+              <div style={{marginBottom:10, color:'var(--muted)', display:'flex', justifyContent:'space-between', alignItems:'center'}}>
+                <span>{total} reminder(s)</span>
+                <span className="pill-group">
+                  <button className="btn ghost" disabled={page === 0} onClick={()=>setPage(page - 1)}>Prev</button>
+                  <span>Page {page + 1} of {Math.max(1, Math.ceil(total / PAGE_SIZE))}</span>
+                  <button className="btn ghost" disabled={(page + 1) * PAGE_SIZE >= total} onClick={()=>setPage(page + 1)}>Next</button>
+                </span>
+              </div>
 
               <div className="list">
                 {/* Desktop table for wide screens */}
@@ -363,12 +318,12 @@ function ReminderPage() {
                 </div>
 
                 {/* Card list */}
-                {filteredRows.map((row) => (
-                  <div key={row.id} className="row-card">
+                {rows.map((row) => (
+                  <div key={row.machineId} className="row-card">
                     <div className="row-left">
-                      <div className="inv">{row.invoiceNo}{row.capacity?` (${row.capacity})`:''}</div>
+                      <div className="inv">{row.invoiceNo || "N/A"}{row.capacity?` (${row.capacity})`:''}</div>
                       <div style={{minWidth:0}}>
-                        <div className="customer">{row.customerName}</div>
+                        <div className="customer">{row.customerName || "Unknown"}</div>
                         <div className="meta">{row.phone} • Next: {row.nextServiceDate}</div>
                       </div>
                     </div>
@@ -376,7 +331,7 @@ function ReminderPage() {
                     <div style={{display:'flex', gap:12, alignItems:'center'}}>
                       <div>
                         <span className={`status-badge ${row.status==='overdue'? 'status-overdue' : row.status==='urgent' ? 'status-urgent' : 'status-duesoon'}`}>
-                          {row.label}
+                          {statusLabel(row)}
                         </span>
                       </div>
                       <div>
@@ -0,0 +1,54 @@
+package com.weighlanka.loadtest;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servlet filter (or WebFlux filter, for the reactive stack) registered into the
+ * backend under test: counts requests that are inside the application right now and
+ * remembers the peak. Requests still waiting in Tomcat's accept queue (no free worker
+ * thread) are not counted – that gap is what the platform vs virtual thread comparison shows.
+ */
+public class InFlightCounter implements Filter, WebFilter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        enter();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return Mono.defer(() -> {
+            enter();
+            return chain.filter(exchange);
+        }).doFinally(signal -> inFlight.decrementAndGet());
+    }
+
+    /** Peak since the last call. */
+    public int takePeak() {
+        return peak.getAndSet(inFlight.get());
+    }
+
+    private void enter() {
+        peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    }
+}
@@ -0,0 +1,136 @@
+package com.weighlanka.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load: {@code concurrency} workers each send the next request as soon as
+ * the previous response body has been read. Latencies of the measured period go into
+ * an HdrHistogram; non-2xx responses and I/O errors are counted separately.
+ */
+public class LoadRunner {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final String baseUrl;
+    private final String threads;
+    private final InFlightCounter inFlight;
+    private final HttpClient client;
+
+    public LoadRunner(String baseUrl, String threads, InFlightCounter inFlight) {
+        this.baseUrl = baseUrl;
+        this.threads = threads;
+        this.inFlight = inFlight;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public Result run(Scenario scenario, int concurrency, Duration warmup, Duration duration) throws Exception {
+        Recorder recorder = new Recorder(3);
+        LongAdder errors = new LongAdder();
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+
+        inFlight.takePeak();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int w = 0; w < concurrency; w++) {
+                Random random = new Random(31L * w + scenario.getName().hashCode());
+                futures.add(workers.submit(() -> {
+                    while (true) {
+                        long start = System.nanoTime();
+                        if (start >= end) {
+                            return null;
+                        }
+                        boolean ok = send(scenario.nextPath(random));
+                        long finished = System.nanoTime();
+
+                        if (start >= warmupEnd) {
+                            if (ok) {
+                                recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(finished - start));
+                            } else {
+                                errors.increment();
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        Histogram histogram = recorder.getIntervalHistogram();
+        double seconds = duration.toNanos() / 1e9;
+        return new Result(
+                scenario.getName(),
+                threads,
+                concurrency,
+                inFlight.takePeak(),
+                histogram.getTotalCount(),
+                errors.sum(),
+                histogram.getTotalCount() / seconds,
+                histogram.getMean() / 1000.0,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private boolean send(String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        try {
+            // discarding() still reads the whole body, so streamed reports are fully measured
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /** One scenario at one concurrency level. Latencies are in milliseconds. */
+    @Data
+    @AllArgsConstructor
+    public static class Result {
+        private String scenario;
+        private String threads;          // request threads of the backend: platform | virtual
+        private int concurrency;
+        private int maxInFlight;         // peak requests inside the backend at once
+        private long requests;
+        private long errors;
+        private double throughputPerSecond;
+        private double meanMs;
+        private double p50Ms;
+        private double p90Ms;
+        private double p99Ms;
+        private double maxMs;
+    }
+}
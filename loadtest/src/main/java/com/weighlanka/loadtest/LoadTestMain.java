@@ -0,0 +1,245 @@
+package com.weighlanka.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mongodb.ConnectionString;
+import com.weighlanka.backend.BackendApplication;
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import com.weighlanka.backend.service.ServiceReportProjection;
+import com.weighlanka.loadtest.SyntheticDataGenerator.Dataset;
+import com.weighlanka.reactive.ReactiveBackendApplication;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline load test of the backend: starts the application in-process against an
+ * in-memory Mongo server (or a local one via --mongo-uri), generates a synthetic data
+ * set, then runs every scenario at every concurrency level and writes throughput and
+ * latency percentiles to a JSON file.
+ *
+ * <p>With {@code --threads=platform,virtual} (Java 21+) the backend is started once per
+ * request-thread mode on the same data, and each result also records the peak number
+ * of requests in flight inside the backend, to compare the two modes.
+ *
+ * <p>With {@code --stacks=mvc,reactive} the WebFlux variant (backend-reactive) is
+ * started afterwards on the same data and runs the service-record scenarios, with
+ * "reactive" in the threads column.
+ *
+ * <p>The in-memory server does not use indexes and shares the CPU with the backend,
+ * so absolute numbers are pessimistic; compare runs made the same way.
+ */
+public class LoadTestMain {
+
+    private static final String DEFAULT_DATABASE = "weighlanka-loadtest";
+
+    // Both Mongo drivers are on this classpath; each app gets only its own client, otherwise
+    // Boot's Netty transport customizer is applied to both clients and leaks an event loop group
+    private static final String EXCLUDE_REACTIVE_MONGO = "--spring.autoconfigure.exclude="
+            + "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration";
+    private static final String EXCLUDE_BLOCKING_MONGO = "--spring.autoconfigure.exclude="
+            + "org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        MongoServer mongoServer = null;
+        String uri = options.getMongoUri();
+        if (uri.isEmpty()) {
+            mongoServer = new MongoServer(new MemoryBackend());
+            InetSocketAddress address = mongoServer.bind();
+            uri = "mongodb://" + address.getHostString() + ":" + address.getPort() + "/" + DEFAULT_DATABASE;
+        }
+        String database = new ConnectionString(uri).getDatabase();
+
+        try {
+            Dataset dataset = null;
+            List<LoadRunner.Result> results = new ArrayList<>();
+            for (String stack : options.getStacks()) {
+                if (!"mvc".equals(stack) && !"reactive".equals(stack)) {
+                    throw new IllegalArgumentException("--stacks takes mvc and/or reactive, not " + stack);
+                }
+            }
+            System.out.printf("%-30s %-8s %5s %8s %9s %7s %10s %9s %9s %9s%n",
+                    "scenario", "threads", "conc", "inflight", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+
+            // one backend per thread mode, all on the same data
+            List<String> threadModes = options.getStacks().contains("mvc") ? options.getThreads() : List.of();
+            for (String threads : threadModes) {
+                if (!"platform".equals(threads) && !"virtual".equals(threads)) {
+                    throw new IllegalArgumentException("--threads takes platform and/or virtual, not " + threads);
+                }
+                if ("virtual".equals(threads) && Runtime.version().feature() < 21) {
+                    System.out.println("Skipping --threads=virtual: needs Java 21, running on " + Runtime.version());
+                    continue;
+                }
+
+                InFlightCounter inFlight = new InFlightCounter();
+                try (ConfigurableApplicationContext app = startBackend(uri, database, threads, inFlight)) {
+                    if (dataset == null) {
+                        dataset = generate(app, options);
+                    }
+                    LoadRunner runner = new LoadRunner(baseUrl(app), threads, inFlight);
+                    runScenarios(runner, Scenario.standard(dataset), options, results);
+                }
+            }
+
+            // the WebFlux variant serves the service-record reads only; the data is written
+            // through a (blocking) backend first when it is the only stack under test
+            if (options.getStacks().contains("reactive")) {
+                if (dataset == null) {
+                    try (ConfigurableApplicationContext app = startBackend(uri, database, "platform", new InFlightCounter())) {
+                        dataset = generate(app, options);
+                    }
+                }
+                InFlightCounter inFlight = new InFlightCounter();
+                try (ConfigurableApplicationContext app = startReactiveBackend(uri, database, inFlight)) {
+                    LoadRunner runner = new LoadRunner(baseUrl(app), "reactive", inFlight);
+                    List<Scenario> supported = Scenario.standard(dataset).stream()
+                            .filter(LoadTestMain::servedByReactive)
+                            .toList();
+                    runScenarios(runner, supported, options, results);
+                }
+            }
+
+            if (dataset != null) {
+                writeReport(options, mongoServer != null, dataset, results);
+            }
+        } finally {
+            if (mongoServer != null) {
+                mongoServer.shutdownNow();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startBackend(String uri, String database, String threads,
+                                                               InFlightCounter inFlight) {
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .initializers(context -> context.getBeanFactory().registerSingleton("loadTestInFlightCounter", inFlight))
+                .run(
+                        "--spring.data.mongodb.uri=" + uri,
+                        "--spring.data.mongodb.database=" + (database == null ? DEFAULT_DATABASE : database),
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.weighlanka.loadtest=INFO",
+                        "--logging.level.de.bwaldvogel=ERROR",
+                        "--weighlanka.reminders.enabled=false",
+                        "--weighlanka.mongo.query-plan-check=off",
+                        "--management.health.mail.enabled=false",
+                        EXCLUDE_REACTIVE_MONGO);
+    }
+
+    private static ConfigurableApplicationContext startReactiveBackend(String uri, String database,
+                                                                       InFlightCounter inFlight) {
+        return new SpringApplicationBuilder(ReactiveBackendApplication.class)
+                .profiles(ReactiveBackendApplication.PROFILE)
+                .initializers(context -> context.getBeanFactory().registerSingleton("loadTestInFlightCounter", inFlight))
+                .run(
+                        "--spring.data.mongodb.uri=" + uri,
+                        "--spring.data.mongodb.database=" + (database == null ? DEFAULT_DATABASE : database),
+                        "--spring.main.web-application-type=reactive",
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.de.bwaldvogel=ERROR",
+                        "--management.health.mail.enabled=false",
+                        EXCLUDE_BLOCKING_MONGO);
+    }
+
+    private static Dataset generate(ConfigurableApplicationContext app, LoadTestOptions options) {
+        MongoTemplate mongoTemplate = app.getBean(MongoTemplate.class);
+        checkEmpty(mongoTemplate);
+        Dataset dataset = new SyntheticDataGenerator(mongoTemplate, options.getSeed())
+                .generate(options.getCustomers(), options.getMaxMachinesPerCustomer(), options.getYears());
+        // the generator writes straight to the collections, so the report rows are built afterwards
+        app.getBean(ServiceReportProjection.class).rebuild();
+        return dataset;
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext app) {
+        return "http://127.0.0.1:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+    }
+
+    private static void runScenarios(LoadRunner runner, List<Scenario> scenarios, LoadTestOptions options,
+                                     List<LoadRunner.Result> results) throws Exception {
+        for (Scenario scenario : scenarios) {
+            if (!options.getScenarios().isEmpty() && !options.getScenarios().contains(scenario.getName())) {
+                continue;
+            }
+            for (int concurrency : options.getConcurrency()) {
+                LoadRunner.Result result = runner.run(
+                        scenario, concurrency, options.getWarmup(), options.getDuration());
+                results.add(result);
+                System.out.printf("%-30s %-8s %5d %8d %9d %7d %10.1f %9.2f %9.2f %9.2f%n",
+                        result.getScenario(), result.getThreads(), result.getConcurrency(),
+                        result.getMaxInFlight(), result.getRequests(),
+                        result.getErrors(), result.getThroughputPerSecond(),
+                        result.getP50Ms(), result.getP99Ms(), result.getMaxMs());
+            }
+        }
+    }
+
+    // The reactive module serves /api/service-records reads only
+    private static boolean servedByReactive(Scenario scenario) {
+        return scenario.getName().startsWith("service-records") || scenario.getName().startsWith("report-");
+    }
+
+    // Generated data would mix with real data – only run against an empty database
+    private static void checkEmpty(MongoTemplate mongoTemplate) {
+        for (Class<?> type : List.of(Customer.class, Machine.class, ServiceRecord.class)) {
+            if (mongoTemplate.estimatedCount(type) > 0) {
+                throw new IllegalStateException("Database " + mongoTemplate.getDb().getName()
+                        + " is not empty – point --mongo-uri at a dedicated, empty database");
+            }
+        }
+    }
+
+    private static void writeReport(LoadTestOptions options, boolean embedded, Dataset dataset,
+                                    List<LoadRunner.Result> results) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now());
+        report.put("mongo", embedded ? "in-memory" : options.getMongoUri());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("options", options);
+        report.put("dataset", Map.of(
+                "customers", dataset.getCustomerIds().size(),
+                "machines", dataset.getMachineIds().size(),
+                "serviceRecords", dataset.getRecordCount()));
+        report.put("results", results);
+
+        ObjectMapper mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .build();
+
+        Path file = Path.of(options.getOut());
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        mapper.writeValue(file.toFile(), report);
+        System.out.println("Load test results written to " + file.toAbsolutePath());
+    }
+}
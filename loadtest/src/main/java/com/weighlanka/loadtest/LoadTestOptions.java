@@ -0,0 +1,73 @@
+package com.weighlanka.loadtest;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options ({@code --name=value}). Every option has a default, so
+ * {@code java -jar loadtest.jar} on its own runs the standard baseline.
+ */
+@Data
+public class LoadTestOptions {
+
+    /** Empty = start the in-memory Mongo server; otherwise e.g. mongodb://localhost:27017/weighlanka-loadtest */
+    private String mongoUri = "";
+
+    // ----- Data set -----
+    private int customers = 2000;
+    private int maxMachinesPerCustomer = 3;
+    private int years = 5;
+    private long seed = 42;
+
+    // ----- Load -----
+    private List<Integer> concurrency = List.of(1, 8, 32);
+    private Duration warmup = Duration.ofSeconds(5);
+    private Duration duration = Duration.ofSeconds(15);
+    private List<String> scenarios = List.of();   // empty = all
+    private List<String> threads = List.of("platform");   // platform and/or virtual (Java 21+)
+    private List<String> stacks = List.of("mvc");          // mvc and/or reactive (read endpoints only)
+    private String out = "results/loadtest-"
+            + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json";
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions();
+        values.forEach((name, value) -> {
+            switch (name) {
+                case "mongo-uri" -> options.setMongoUri(value);
+                case "customers" -> options.setCustomers(Integer.parseInt(value));
+                case "max-machines-per-customer" -> options.setMaxMachinesPerCustomer(Integer.parseInt(value));
+                case "years" -> options.setYears(Integer.parseInt(value));
+                case "seed" -> options.setSeed(Long.parseLong(value));
+                case "concurrency" -> options.setConcurrency(Arrays.stream(value.split(","))
+                        .map(String::trim).map(Integer::valueOf).toList());
+                case "warmup" -> options.setWarmup(Duration.ofSeconds(Long.parseLong(value)));
+                case "duration" -> options.setDuration(Duration.ofSeconds(Long.parseLong(value)));
+                case "scenarios" -> options.setScenarios(Arrays.stream(value.split(","))
+                        .map(String::trim).filter(s -> !s.isEmpty()).toList());
+                case "threads" -> options.setThreads(Arrays.stream(value.split(","))
+                        .map(String::trim).filter(s -> !s.isEmpty()).toList());
+                case "stacks" -> options.setStacks(Arrays.stream(value.split(","))
+                        .map(String::trim).filter(s -> !s.isEmpty()).toList());
+                case "out" -> options.setOut(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        });
+        return options;
+    }
+}
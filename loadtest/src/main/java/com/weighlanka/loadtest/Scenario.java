@@ -0,0 +1,63 @@
+package com.weighlanka.loadtest;
+
+import com.weighlanka.loadtest.SyntheticDataGenerator.Dataset;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * One endpoint under load: a name for the report and a generator for the request
+ * path, so every request can hit a different page / customer / day.
+ */
+public class Scenario {
+
+    private final String name;
+    private final Function<Random, String> path;
+
+    public Scenario(String name, Function<Random, String> path) {
+        this.name = name;
+        this.path = path;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String nextPath(Random random) {
+        return path.apply(random);
+    }
+
+    /** The endpoints the UI uses most, plus the reports. */
+    public static List<Scenario> standard(Dataset dataset) {
+        int customerPages = Math.max(1, dataset.getCustomerIds().size() / 50);
+        int machinePages = Math.max(1, dataset.getMachineIds().size() / 50);
+        int recordPages = Math.max(1, dataset.getRecordCount() / 50);
+
+        return List.of(
+                new Scenario("customers-all", r -> "/api/customers"),
+                new Scenario("customers-page", r -> "/api/customers?page=" + r.nextInt(customerPages) + "&size=50"),
+                new Scenario("machines-page", r -> "/api/machines?page=" + r.nextInt(machinePages) + "&size=50"),
+                new Scenario("service-records-all", r -> "/api/service-records"),
+                new Scenario("service-records-page",
+                        r -> "/api/service-records?page=" + r.nextInt(recordPages) + "&size=50"),
+                new Scenario("service-records-by-customer",
+                        r -> "/api/service-records/customer/" + pick(r, dataset.getCustomerIds())),
+                new Scenario("report-daily", r -> "/api/service-records/report?date=" + day(r, dataset)),
+                new Scenario("report-range-30d", r -> {
+                    LocalDate from = day(r, dataset);
+                    return "/api/service-records/report/range?from=" + from + "&to=" + from.plusDays(30);
+                })
+        );
+    }
+
+    private static String pick(Random random, List<String> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static LocalDate day(Random random, Dataset dataset) {
+        long span = dataset.getLastDay().toEpochDay() - dataset.getFirstDay().toEpochDay();
+        return dataset.getFirstDay().plusDays(random.nextLong(span + 1));
+    }
+}
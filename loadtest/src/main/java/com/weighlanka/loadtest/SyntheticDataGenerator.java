@@ -0,0 +1,180 @@
+package com.weighlanka.loadtest;
+
+import com.weighlanka.backend.model.Customer;
+import com.weighlanka.backend.model.Machine;
+import com.weighlanka.backend.model.ServiceRecord;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills customers, machines and service_records with a realistic, reproducible
+ * (seeded) data set: 1..n machines per customer, a yearly service per machine since
+ * installation with some extra repair visits, and machine last/next service dates
+ * matching the history. Ids are assigned here so everything is inserted in bulk.
+ */
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final int CHUNK = 5000;
+
+    private static final String[] LOCATIONS = {
+            "Embilipitiya", "Ratnapura", "Colombo", "Galle", "Matara", "Kandy", "Kurunegala",
+            "Hambantota", "Badulla", "Anuradhapura", "Negombo", "Jaffna"
+    };
+    private static final String[] SHOP_TYPES = {"Stores", "Traders", "Grocery", "Pharmacy", "Hardware", "Bakery"};
+    private static final String[] FAMILY_NAMES = {
+            "Perera", "Fernando", "Silva", "Jayasinghe", "Bandara", "Wickramasinghe", "Dissanayake", "Kumara"
+    };
+    private static final String[] MODELS = {"AND SK-20", "CAS SW-1", "Digi DS-782", "Mettler BC-30", "Avery 6702"};
+    private static final String[] CAPACITIES = {"3kg", "6kg", "15kg", "30kg", "60kg", "150kg"};
+    private static final String[] TECHNICIANS = {"Nimal", "Sunil", "Kamal", "Ruwan", "Chaminda"};
+    private static final String[] LANGUAGES = {"en", "si", "si", "ta"};
+
+    private final MongoTemplate mongoTemplate;
+    private final Random random;
+
+    public SyntheticDataGenerator(MongoTemplate mongoTemplate, long seed) {
+        this.mongoTemplate = mongoTemplate;
+        this.random = new Random(seed);
+    }
+
+    public Dataset generate(int customerCount, int maxMachinesPerCustomer, int years) {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusYears(years);
+
+        List<Customer> customers = new ArrayList<>(customerCount);
+        List<Machine> machines = new ArrayList<>();
+        List<ServiceRecord> records = new ArrayList<>();
+        Map<LocalDate, Integer> visitsPerDay = new HashMap<>();
+
+        for (int c = 0; c < customerCount; c++) {
+            Customer customer = customer(c);
+            customers.add(customer);
+
+            int machineCount = 1 + random.nextInt(maxMachinesPerCustomer);
+            for (int m = 0; m < machineCount; m++) {
+                Machine machine = machine(customer, firstDay, today);
+                machines.add(machine);
+                history(customer, machine, today, visitsPerDay, records);
+            }
+        }
+
+        insert(customers, Customer.class);
+        insert(machines, Machine.class);
+        insert(records, ServiceRecord.class);
+
+        log.info("Generated customers={} machines={} records={} in {} ms",
+                customers.size(), machines.size(), records.size(), (System.nanoTime() - start) / 1_000_000);
+
+        return new Dataset(
+                customers.stream().map(Customer::getId).toList(),
+                machines.stream().map(Machine::getId).toList(),
+                records.size(),
+                firstDay,
+                today);
+    }
+
+    private Customer customer(int index) {
+        String family = FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)];
+        Customer customer = new Customer();
+        customer.setId(new ObjectId().toHexString());
+        customer.setCustomerName(family + " " + SHOP_TYPES[random.nextInt(SHOP_TYPES.length)] + " " + index);
+        customer.setAddress((1 + random.nextInt(400)) + " Main Street");
+        customer.setLocation(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+        customer.setPhone(String.format("07%d%07d", random.nextInt(9), index));
+        customer.setEmail(family.toLowerCase() + index + "@example.com");
+        customer.setPreferredLanguage(LANGUAGES[random.nextInt(LANGUAGES.length)]);
+        return customer;
+    }
+
+    private Machine machine(Customer customer, LocalDate firstDay, LocalDate today) {
+        long span = today.toEpochDay() - firstDay.toEpochDay();
+        Machine machine = new Machine();
+        machine.setId(new ObjectId().toHexString());
+        machine.setCustomerId(customer.getId());
+        machine.setModel(MODELS[random.nextInt(MODELS.length)]);
+        machine.setSerialNumber("SN" + machine.getId().substring(16).toUpperCase());
+        machine.setInstalledDate(firstDay.plusDays(random.nextInt((int) Math.max(1, span / 2))));
+        machine.setWarranty(random.nextBoolean() ? "1 year" : "2 years");
+        machine.setCapacity(CAPACITIES[random.nextInt(CAPACITIES.length)]);
+        machine.setRegNo("REG/" + (10000 + random.nextInt(90000)));
+        machine.setIdNo("ID" + (100000 + random.nextInt(900000)));
+        return machine;
+    }
+
+    /** Yearly services since installation (± 3 weeks), plus a repair visit now and then. */
+    private void history(Customer customer, Machine machine, LocalDate today,
+                         Map<LocalDate, Integer> visitsPerDay, List<ServiceRecord> records) {
+        LocalDate date = machine.getInstalledDate().plusYears(1).plusDays(random.nextInt(43) - 21);
+        ServiceRecord last = null;
+
+        while (!date.isAfter(today)) {
+            last = record(customer, machine, date, visitsPerDay);
+            records.add(last);
+
+            if (random.nextInt(10) == 0) {
+                LocalDate repair = date.plusDays(30 + random.nextInt(200));
+                if (!repair.isAfter(today)) {
+                    records.add(record(customer, machine, repair, visitsPerDay));
+                }
+            }
+            date = date.plusYears(1).plusDays(random.nextInt(43) - 21);
+        }
+
+        if (last != null) {
+            machine.setLastServiceDate(last.getServiceDate());
+            machine.setNextServiceDate(last.getNextServiceDate());
+        } else {
+            machine.setNextServiceDate(machine.getInstalledDate().plusYears(1));
+        }
+    }
+
+    private ServiceRecord record(Customer customer, Machine machine, LocalDate date,
+                                 Map<LocalDate, Integer> visitsPerDay) {
+        ServiceRecord record = new ServiceRecord();
+        record.setId(new ObjectId().toHexString());
+        record.setCustomerId(customer.getId());
+        record.setMachineId(machine.getId());
+        record.setServiceDate(date);
+        record.setNextServiceDate(date.plusYears(1));
+        record.setTechnicianName(TECHNICIANS[random.nextInt(TECHNICIANS.length)]);
+        record.setServiceCost(1500.0 + random.nextInt(60) * 100);
+        record.setRemarks(random.nextInt(4) == 0 ? "Calibrated and sealed" : "");
+        record.setVisitNo(visitsPerDay.merge(date, 1, Integer::sum));
+        record.setInvoiceNo("INV-" + date.getYear() + "-" + record.getId().substring(18).toUpperCase());
+        return record;
+    }
+
+    private <T> void insert(List<T> documents, Class<T> type) {
+        for (int start = 0; start < documents.size(); start += CHUNK) {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type)
+                    .insert(documents.subList(start, Math.min(start + CHUNK, documents.size())))
+                    .execute();
+        }
+    }
+
+    /** What was generated – the load scenarios pick ids and dates from here. */
+    @Data
+    @AllArgsConstructor
+    public static class Dataset {
+        private List<String> customerIds;
+        private List<String> machineIds;
+        private int recordCount;
+        private LocalDate firstDay;
+        private LocalDate lastDay;
+    }
+}